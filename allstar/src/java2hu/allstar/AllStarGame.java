@@ -8,6 +8,7 @@ import java2hu.allstar.menu.LoadScreen;
 import java2hu.allstar.menu.MainMenu;
 import java2hu.allstar.util.AllStarUtil;
 import java2hu.object.StageObject;
+import java2hu.replay.Replay;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
@@ -192,7 +193,19 @@ public class AllStarGame extends J2hGame
 			{
 				if(Game.getGame().getScheme() != null)
 				{
+					Replay recording = Game.getGame().getRecording();
+					
 					Game.getGame().setScheme(Game.getGame().getScheme().getRestartInstance());
+					
+					// Start recording the new try from the same fight.
+					if(recording != null)
+					{
+						Replay replay = new Replay(System.nanoTime());
+						replay.getScenario().putAll(recording.getScenario());
+						
+						Game.getGame().startRecording(replay);
+					}
+					
 					Game.getGame().getScheme().start();
 				}
 			}
@@ -207,14 +207,8 @@ public class AllStarStageScheme extends GameFlowScheme
 	@Override
 	public void runScheme()
 	{
-		try
-		{
-			Thread.sleep(100);
-		}
-		catch (InterruptedException e)
-		{
-			e.printStackTrace();
-		}
+		// Give the game a few ticks to settle before setting up the stage.
+		waitTicks(J2hGame.LOGIC_TPS / 10);
 		
 		final J2hGame game = Game.getGame();
 		final AllStarStageScheme scheme = this;
@@ -230,7 +230,7 @@ public class Cirno extends AllStarBoss
 //										float y = (float) (boss.getY() + (Math.sin(rad) * 0.5f * distance));
 //										
 //										Bullet bullet = new Bullet(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), x, y);//, 0.001f, 5f);
-//										bullet.setDirectionDeg((float) ((180f - finalAngle) - (((Math.random() < 0.5f) ? -1f : 1f) * Math.random() * 90f)), 300f);
+//										bullet.setDirectionDeg((float) ((180f - finalAngle) - (((MathUtil.random() < 0.5f) ? -1f : 1f) * MathUtil.random() * 90f)), 300f);
 //										
 //										game.spawn(bullet);
 //										
@@ -308,16 +308,16 @@ public class Cirno extends AllStarBoss
 					if(tick % 2 != 0)
 						return;
 					
-					for(double i = -(60 + Math.random() * 10); i < 60 + Math.random() * 10; i += Math.random() * 30f)
+					for(double i = -(60 + MathUtil.random() * 10); i < 60 + MathUtil.random() * 10; i += MathUtil.random() * 30f)
 					{
-						Bullet bullet = new Bullet(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), boss.getX(), boss.getY());
+						Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), boss.getX(), boss.getY());
 						
 						double modifier = Math.min(0.75f, (float)tick / (float)getPhaseInterval());
 						
 						float speed = (float) (200f + 600f * modifier);
 						
 						bullet.setDirectionDeg((float) (MathUtil.getAngle(bullet, player) + i), speed);
-						bullet.setRotationFromVelocity(-90f + (float) ((Math.random() < 0.5f ? -1 : 1) * Math.random() * 10));
+						bullet.setRotationFromVelocity(-90f + (float) ((MathUtil.random() < 0.5f ? -1 : 1) * MathUtil.random() * 10));
 						
 						game.spawn(bullet);
 					}
@@ -399,7 +399,7 @@ public class Cirno extends AllStarBoss
 						
 						for(int i = 0; i < 360; i += 360 / 6f)
 						{
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.BLUE), boss.getX(), boss.getY());
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.BLUE), boss.getX(), boss.getY());
 							
 							bullet.setDirectionDeg(i + angle, 600f);
 							
@@ -488,9 +488,9 @@ public class Cirno extends AllStarBoss
 					if(tick == 0)
 					{
 						for(int i = 0; i < 2; i++)
-						for(final boolean bool : i == 0 ? new boolean[]{ true, false } : new boolean[] { Math.random() < 0.5f ? false : true })
+						for(final boolean bool : i == 0 ? new boolean[]{ true, false } : new boolean[] { MathUtil.random() < 0.5f ? false : true })
 						{
-							int pos = (int) (game.getWidth() * Math.random());
+							int pos = (int) (game.getWidth() * MathUtil.random());
 
 							final int maxTime = 60;
 
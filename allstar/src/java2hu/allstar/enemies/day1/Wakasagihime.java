@@ -452,7 +452,7 @@ public class Wakasagihime extends AllStarBoss
 							
 							if(!changed && getVelocityYTick() >= 0)
 							{
-								setVelocityXTick((float) (Math.random() * 10f - 5f));
+								setVelocityXTick((float) (MathUtil.random() * 10f - 5f));
 								
 								changed = true;
 							}
@@ -499,7 +499,7 @@ public class Wakasagihime extends AllStarBoss
 						@Override
 						public void run()
 						{
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.POINTER, ThBulletColor.BLUE_DARK), (float) (boss.getX() + Math.cos(Math.toRadians(rotation)) * 50), (float) (boss.getY() + Math.sin(Math.toRadians(rotation)) * 50));
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.POINTER, ThBulletColor.BLUE_DARK), (float) (boss.getX() + Math.cos(Math.toRadians(rotation)) * 50), (float) (boss.getY() + Math.sin(Math.toRadians(rotation)) * 50));
 							bullet.setDirectionRadsTick((float) Math.toRadians(rotation - 90), 5f);
 							bullet.setRotationFromVelocity(270f);
 							Game.getGame().spawn(bullet);
@@ -527,7 +527,7 @@ public class Wakasagihime extends AllStarBoss
 							@Override
 							public void run()
 							{
-								Bullet bullet = new Bullet(new ThBullet(ThBulletType.POINTER, last ? ThBulletColor.BLUE_DARK : ThBulletColor.BLUE), (float) (boss.getX() + Math.cos(Math.toRadians(rotation)) * 50), (float) (boss.getY() + Math.sin(Math.toRadians(rotation)) * 50));
+								Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.POINTER, last ? ThBulletColor.BLUE_DARK : ThBulletColor.BLUE), (float) (boss.getX() + Math.cos(Math.toRadians(rotation)) * 50), (float) (boss.getY() + Math.sin(Math.toRadians(rotation)) * 50));
 								bullet.setDirectionRadsTick((float) Math.toRadians(rotation - (90 + finalAddTime / 3f)), 5f);
 								bullet.setRotationFromVelocity(270f);
 								Game.getGame().spawn(bullet);
@@ -580,15 +580,15 @@ public class Wakasagihime extends AllStarBoss
 					}
 				};
 				
-				fish.setDirectionRadsTick((float) Math.toRadians(180 * Math.random()), 2f);
+				fish.setDirectionRadsTick((float) Math.toRadians(180 * MathUtil.random()), 2f);
 				fish.useSpawnAnimation(false);
 				fish.setRotationFromVelocity(-90f);
 				
 				game.spawn(fish);
 			}
 			
-			float y = (float) (player.getY() + (Math.random() > 0.5 ? -1 : 1) * (Math.random() * 260 + 200));
-			float x = (float) (player.getX() + Math.cos(Math.toRadians(Math.random() * 360)) * 500);
+			float y = (float) (player.getY() + (MathUtil.random() > 0.5 ? -1 : 1) * (MathUtil.random() * 260 + 200));
+			float x = (float) (player.getX() + Math.cos(Math.toRadians(MathUtil.random() * 360)) * 500);
 			
 			float rotation = MathUtil.getAngle(x, y, player.getX(), player.getY());
 			boolean firstFish = tick == 150;
@@ -616,7 +616,7 @@ public class Wakasagihime extends AllStarBoss
 				if(!firstFish)
 				for(int i = 0; i < 360; i += waveOffset)
 				{
-					Bullet bubble = new Bullet(new ThBullet(ThBulletType.BULLET, ThBulletColor.BLUE), posX, posY);
+					Bullet bubble = Bullet.obtain(new ThBullet(ThBulletType.BULLET, ThBulletColor.BLUE), posX, posY);
 					bubble.setDirectionRadsTick((float) Math.toRadians(i), 2f);
 					bubble.setRotationFromVelocity(-90f);
 					game.spawn(bubble);
@@ -666,7 +666,7 @@ public class Wakasagihime extends AllStarBoss
 									
 									for(int i = 0; i < 360; i += waveOffset)
 									{
-										Bullet bubble = new Bullet(new ThBullet(ThBulletType.BULLET, ThBulletColor.BLUE), getX(), getY());
+										Bullet bubble = Bullet.obtain(new ThBullet(ThBulletType.BULLET, ThBulletColor.BLUE), getX(), getY());
 										bubble.setDirectionRadsTick((float) Math.toRadians(i), 2f);
 										bubble.setRotationFromVelocity(-90f);
 										game.spawn(bubble);
@@ -451,7 +451,7 @@ public class Kagerou extends AllStarBoss
 								{
 									Bullet bullet = new Bullet(new ThBullet(ThBulletType.RICE_LARGE, ThBulletColor.RED), getX(), getY())
 									{
-										float rot = (float) (360 * Math.random());
+										float rot = (float) (360 * MathUtil.random());
 										
 										@Override
 										public void onUpdate(long tick)
@@ -474,10 +474,10 @@ public class Kagerou extends AllStarBoss
 									bullet.setDirectionRadsTick(dir, 4f);
 									
 									float maxX = 1.5f;
-									float addX = (float) (Math.random() * (maxX * 2) - maxX);
+									float addX = (float) (MathUtil.random() * (maxX * 2) - maxX);
 									
 									float maxY = 0.7f;
-									float addY = (float) (Math.random() * (maxY * 2) - maxY);
+									float addY = (float) (MathUtil.random() * (maxY * 2) - maxY);
 									
 									bullet.setVelocityXTick(bullet.getVelocityXTick() + addX);
 									bullet.setVelocityYTick(bullet.getVelocityYTick() + addY);
@@ -689,15 +689,15 @@ public class Kagerou extends AllStarBoss
 								if(container)
 									for(int i = 0; i < 5; i++)
 									{
-										Bullet bullet = new Bullet(new ThBullet(ThBulletType.DOT_SMALL_MOON, Math.random() > 0.5f ? ThBulletColor.WHITE : ThBulletColor.RED), getX(), getY());
+										Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.DOT_SMALL_MOON, MathUtil.random() > 0.5f ? ThBulletColor.WHITE : ThBulletColor.RED), getX(), getY());
 
-										bullet.setDirectionRadsTick((float) Math.toRadians(Math.random() * 360), 1f);
+										bullet.setDirectionRadsTick((float) Math.toRadians(MathUtil.random() * 360), 1f);
 										game.spawn(bullet);
 									}
 								
 								for(int i = 0; i < 1; i++)
 								{
-									Bullet bullet = new Bullet(new ThBullet(ThBulletType.DOT_SMALL_MOON, Math.random() > 0.5f ? ThBulletColor.WHITE : ThBulletColor.RED), getX(), getY());
+									Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.DOT_SMALL_MOON, MathUtil.random() > 0.5f ? ThBulletColor.WHITE : ThBulletColor.RED), getX(), getY());
 								
 									bullet.setDirectionRadsTick((float) Math.toRadians(MathUtil.getAngle(this, player)), 10f);
 									game.spawn(bullet);
@@ -849,10 +849,10 @@ public class Kagerou extends AllStarBoss
 							bullet.setShader(ShaderLibrary.GLOW.getProgram());
 
 							float maxX = 100f;
-							float addX = (float) (Math.random() * (maxX * 2) - maxX);
+							float addX = (float) (MathUtil.random() * (maxX * 2) - maxX);
 
 							float maxY = 100f;
-							float addY = (float) (Math.random() * (maxY * 2) - maxY);
+							float addY = (float) (MathUtil.random() * (maxY * 2) - maxY);
 
 							bullet.setX(bullet.getX() + addX);
 							bullet.setY(bullet.getY() + addY);
@@ -867,7 +867,7 @@ public class Kagerou extends AllStarBoss
 			
 //			for(int i = 0; i < 4; i++)
 //			{
-////				x = (float) (x + ((500 * Math.random()) - 250));
+////				x = (float) (x + ((500 * MathUtil.random()) - 250));
 //				
 //				GravityBullet bullet = new GravityBullet(TouhouBulletMaker.getSchematic(TouhouBulletType.HEART, TouhouBulletColor.RED), x, y, 0.01f, 10f)
 //				{
@@ -897,7 +897,7 @@ public class Kagerou extends AllStarBoss
 //						}
 //						else
 //						{
-//							if(Math.random() > 0.6)
+//							if(MathUtil.random() > 0.6)
 //								setVelocityXTick((float) ((getVelocityXTick() < 0 ? 0.3 : -0.3) + getVelocityXTick()));
 //							else
 //								setVelocityXTick((float) ((getVelocityXTick() > 0 ? 0.3 : -0.3) + getVelocityXTick()));
@@ -694,14 +694,14 @@ public class Mokou extends AllStarBoss
 					else
 					{
 						if(getVelocityXTick() == 0)
-							setVelocityXTick((float) (Math.random() * 1F - 0.5F));
+							setVelocityXTick((float) (MathUtil.random() * 1F - 0.5F));
 
 						if(getVelocityYTick() < getTerminalVelocity() && !randomized)
 						{
 							float randomizationX = 2F;
 							float randomizationY = 0F;
-							setVelocityYTick((float) (getVelocityYTick() + (Math.random() > 0.5 ? -(randomizationX * Math.random()) : randomizationX * Math.random())));
-							setVelocityXTick((float) (getVelocityXTick() + (Math.random() > 0.5 ? -(randomizationY * Math.random()) : randomizationY * Math.random())));
+							setVelocityYTick((float) (getVelocityYTick() + (MathUtil.random() > 0.5 ? -(randomizationX * MathUtil.random()) : randomizationX * MathUtil.random())));
+							setVelocityXTick((float) (getVelocityXTick() + (MathUtil.random() > 0.5 ? -(randomizationY * MathUtil.random()) : randomizationY * MathUtil.random())));
 							randomized = true;
 						}
 					}
@@ -568,7 +568,7 @@ public class Sekibanki extends AllStarBoss
 		
 		public void update()
 		{
-			startRotation += (Math.random() > 0.5f ? -1 : 1) * 10f;
+			startRotation += (MathUtil.random() > 0.5f ? -1 : 1) * 10f;
 			
 			float min = 1f;
 			float max = 30f;
@@ -367,7 +367,7 @@ public class Raiko extends AllStarBoss
 				for(int i = 0; i <= 360; i += 20)
 					try
 					{
-						Bullet rain = new Bullet(new ThBullet(ThBulletType.NOTE_QUARTER_REST, ThBulletColor.BLUE), getOwner().getX(), getOwner().getY());
+						Bullet rain = Bullet.obtain(new ThBullet(ThBulletType.NOTE_QUARTER_REST, ThBulletColor.BLUE), getOwner().getX(), getOwner().getY());
 						rain.setDirectionRadsTick((float) Math.toRadians(i), 4F);
 						rain.setRotationFromVelocity(90F);
 						
@@ -734,7 +734,7 @@ public class Raiko extends AllStarBoss
 											
 											try
 											{
-												Bullet seeker = new Bullet(new ThBullet(ThBulletType.BALL_2, ThBulletColor.RED), (float) (getX() + (Math.random() > 0.5 ? -(Math.random() * 10) : Math.random() * 10)), (float) (getY()  + (Math.random() > 0.5 ? -(Math.random() * 10) : Math.random() * 10)))
+												Bullet seeker = new Bullet(new ThBullet(ThBulletType.BALL_2, ThBulletColor.RED), (float) (getX() + (MathUtil.random() > 0.5 ? -(MathUtil.random() * 10) : MathUtil.random() * 10)), (float) (getY()  + (MathUtil.random() > 0.5 ? -(MathUtil.random() * 10) : MathUtil.random() * 10)))
 												{
 													boolean set = false;
 													
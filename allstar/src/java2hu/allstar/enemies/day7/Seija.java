@@ -110,7 +110,7 @@ public class Seija extends AllStarBoss
 	{
 		super.onUpdate(tick);
 		
-		this.setColor(new Color((float)Math.random(), (float)Math.random(), (float)Math.random(), 1));
+		this.setColor(new Color((float)MathUtil.random(), (float)MathUtil.random(), (float)MathUtil.random(), 1));
 		Game.getGame().batch.setColor(getColor());
 	}
 	
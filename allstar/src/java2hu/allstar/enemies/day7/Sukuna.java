@@ -1091,13 +1091,13 @@ public class Sukuna extends AllStarBoss
 					}
 					
 					if(game.getTick() % 20 == 0)
-						for(int i = -120; i < 120; i += 60 * Math.random())
+						for(int i = -120; i < 120; i += 60 * MathUtil.random())
 						{
 							final int finalI = i;
 							
 							DrawObject particle = new DrawObject()
 							{
-								private float yStart = (float) (sukuna.getY() - 170 - Math.random() * 80);
+								private float yStart = (float) (sukuna.getY() - 170 - MathUtil.random() * 80);
 								private float xStart = sukuna.getX() + finalI;
 								private Sprite sprite = new Sprite(dummy);
 								
@@ -1112,7 +1112,7 @@ public class Sukuna extends AllStarBoss
 								{
 									sprite.setPosition(xStart, yStart);
 									sprite.setSize(30, 30);
-									sprite.rotate((float) Math.random() * 5);
+									sprite.rotate((float) MathUtil.random() * 5);
 									yStart -= 4F;
 
 									sprite.setAlpha(Math.max(0, sprite.getColor().a - 0.02f));
@@ -1217,11 +1217,11 @@ public class Sukuna extends AllStarBoss
 				{
 					TouhouSounds.Enemy.ACTIVATE_3.play(1f);
 					
-					int offset = (int) (Math.random() * 20);
+					int offset = (int) (MathUtil.random() * 20);
 					
 					for(int i = offset; i < 360 + offset; i += 15)
 					{
-						Bullet bullet = new Bullet(new ThBullet(ThBulletType.ORB_LARGE, ThBulletColor.GREEN), boss.getX(), boss.getY());
+						Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.ORB_LARGE, ThBulletColor.GREEN), boss.getX(), boss.getY());
 						bullet.setDirectionRadsTick((float) Math.toRadians(i), 2f);
 						bullet.setScale(Math.max(bulletScale - 0.3f, 0.5f));
 						game.spawn(bullet);
@@ -297,7 +297,7 @@ public class TsukumoGeneral implements SpecialFlowScheme<AllStarStageScheme>
 			
 			if(tick % 30 == 0)
 			{
-				offset = (float) (Math.random() * 60);
+				offset = (float) (MathUtil.random() * 60);
 			}
 			
 			if(tick % 5 == 0)
@@ -484,7 +484,7 @@ public class TsukumoGeneral implements SpecialFlowScheme<AllStarStageScheme>
 						
 							if(getTicksAlive() == 120)
 							{
-								setDirectionDegTick((float) (getVelocityRotationDeg() + Math.random() * 50 - 25), 7f);
+								setDirectionDegTick((float) (getVelocityRotationDeg() + MathUtil.random() * 50 - 25), 7f);
 								setRotationFromVelocity(-90);
 								
 								if(!Scheduler.isTracked("release1", "release1"))
@@ -548,9 +548,9 @@ public class TsukumoGeneral implements SpecialFlowScheme<AllStarStageScheme>
 					Scheduler.track("laser1", "laser1", (long) 10);
 				}
 				
-				float angle = (float) (180 + Math.random() * 180);
+				float angle = (float) (180 + MathUtil.random() * 180);
 				
-				Laser laser = new Laser(new ThLaser(ThLaserType.NORMAL, Math.random() > 0.5f ? ThLaserColor.BLUE_LIGHT : ThLaserColor.PURPLE), yatsuhashi.getX(), yatsuhashi.getY(), 400f);
+				Laser laser = new Laser(new ThLaser(ThLaserType.NORMAL, MathUtil.random() > 0.5f ? ThLaserColor.BLUE_LIGHT : ThLaserColor.PURPLE), yatsuhashi.getX(), yatsuhashi.getY(), 400f);
 			
 				laser.setDirectionDegTick(angle, 30f);
 				
@@ -565,7 +565,7 @@ public class TsukumoGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				
 				for(int i = -10; i <= 10; i += 2)
 				{
-					Bullet bullet = new Bullet(new ThBullet(ThBulletType.NOTE_EIGHT, ThBulletColor.GREEN), yatsuhashi.getX(), yatsuhashi.getY());
+					Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.NOTE_EIGHT, ThBulletColor.GREEN), yatsuhashi.getX(), yatsuhashi.getY());
 					bullet.setDirectionDegTick(angle + i, 5f);
 					bullet.setZIndex(bullet.getZIndex() + i);
 					
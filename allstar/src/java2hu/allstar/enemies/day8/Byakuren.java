@@ -323,7 +323,7 @@ public class Byakuren extends AllStarBoss
 			{
 				boolean[] bools = {true, false};
 				
-				float offset = (float) (game.getTick() * Math.random() % 360f);
+				float offset = (float) (game.getTick() * MathUtil.random() % 360f);
 				
 				for(boolean left : bools)
 				for(float angle = 0; angle <= 360; angle += 360 / 14f)
@@ -613,7 +613,7 @@ public class Shinki extends AllStarBoss
 						float x = pos[i];
 						float y = pos[i + 1];
 						
-						Bullet bullet = new Bullet(new ThBullet(ThBulletType.ARROW, ThBulletColor.RED), boss.getX() + x, boss.getY() + y);
+						Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.ARROW, ThBulletColor.RED), boss.getX() + x, boss.getY() + y);
 						bullet.setDirectionDegTick((pTick % 40 - 20) * (360 / 20f), 10f);
 						bullet.setRotationFromVelocity(-90f);
 						
@@ -639,7 +639,7 @@ public class Shinki extends AllStarBoss
 									
 									for(float angle : addAngle)
 									{
-										Bullet bullet = new Bullet(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.RED), boss.getX(), boss.getY());
+										Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.RED), boss.getX(), boss.getY());
 										bullet.setDirectionDegTick(MathUtil.getAngle(bullet, player) + angle, 2f + i * 3f);
 										game.spawn(bullet);
 									}
@@ -668,7 +668,7 @@ public class Shinki extends AllStarBoss
 						
 						for(int degree = min; degree < max; degree += 4)
 						{
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.KNIFE, ThBulletColor.RED), boss.getX(), boss.getY());
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.KNIFE, ThBulletColor.RED), boss.getX(), boss.getY());
 							bullet.setDirectionDegTick(degree, 10f);
 							bullet.setRotationFromVelocity(-90f);
 							game.spawn(bullet);
@@ -683,7 +683,7 @@ public class Shinki extends AllStarBoss
 				{
 					TouhouSounds.Enemy.LAZER_1.play(0.5f);
 					
-					CheetosLaser laser = new CheetosLaser(boss.idle.getKeyFrames()[0].getTexture(), (float) (boss.getX() + (Math.random() * 500 - 250)), boss.getY(), 15)
+					CheetosLaser laser = new CheetosLaser(boss.idle.getKeyFrames()[0].getTexture(), (float) (boss.getX() + (MathUtil.random() * 500 - 250)), boss.getY(), 15)
 					{
 						boolean done = false;
 						
@@ -883,7 +883,7 @@ public class Shinki extends AllStarBoss
 				
 				for(float x : xPos)
 				{
-					Bullet bullet = new Bullet(new ThBullet(ThBulletType.BULLET, ThBulletColor.PURPLE), x, 0);
+					Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BULLET, ThBulletColor.PURPLE), x, 0);
 					bullet.setDirectionRadsTick((float) Math.toRadians(MathUtil.getAngle(bullet, player)), 2f);
 					bullet.setRotationFromVelocity(-90f);
 					
@@ -944,11 +944,11 @@ public class Shinki extends AllStarBoss
 				
 				for(int i = 0; i < 30; i++)
 				{
-					Bullet ball = new Bullet(new ThBullet(ThBulletType.ORB_LARGE, ThBulletColor.PURPLE), (float) (boss.getX() + (Math.random() * 100 - 50)), (float) (boss.getY() + Math.random() * 100));
+					Bullet ball = Bullet.obtain(new ThBullet(ThBulletType.ORB_LARGE, ThBulletColor.PURPLE), (float) (boss.getX() + (MathUtil.random() * 100 - 50)), (float) (boss.getY() + MathUtil.random() * 100));
 					ball.setZIndex(ball.getZIndex() + 10);
 					
-					ball.setVelocityXTick((float) (Math.random() * 20 - 10f));
-					ball.setVelocityYTick((float) (4f + Math.random() * 8f));
+					ball.setVelocityXTick((float) (MathUtil.random() * 20 - 10f));
+					ball.setVelocityYTick((float) (4f + MathUtil.random() * 8f));
 					ball.useSpawnAnimation(false);
 					
 					game.spawn(ball);
@@ -957,7 +957,7 @@ public class Shinki extends AllStarBoss
 			
 			if(tick > 200 && tick % 30 == 0)
 			{
-				Bullet ball = new Bullet(new ThBullet(ThBulletType.ORB_LARGE, ThBulletColor.RED), (float) (boss.getX() + (Math.random() * 500 - 250)), (float) (boss.getY() + Math.random() * 100));
+				Bullet ball = Bullet.obtain(new ThBullet(ThBulletType.ORB_LARGE, ThBulletColor.RED), (float) (boss.getX() + (MathUtil.random() * 500 - 250)), (float) (boss.getY() + MathUtil.random() * 100));
 				ball.setZIndex(ball.getZIndex() + 10);
 				
 				ball.setDirectionRadsTick((float) Math.toRadians(MathUtil.getAngle(ball, player)), 15f);
@@ -1023,10 +1023,10 @@ public class Shinki extends AllStarBoss
 
 					for(int i = 0; i < 2; i++)
 					{
-						Bullet small = new Bullet(new ThBullet(ThBulletType.DOT_SMALL_MOON, ThBulletColor.RED), boss.getX() + xAdd, boss.getY());
-						small.setVelocityXTick((float) (Math.random() * 20 - 10f));
+						Bullet small = Bullet.obtain(new ThBullet(ThBulletType.DOT_SMALL_MOON, ThBulletColor.RED), boss.getX() + xAdd, boss.getY());
+						small.setVelocityXTick((float) (MathUtil.random() * 20 - 10f));
 
-						small.setVelocityYTick((float) -(1f + Math.random() * 2f));
+						small.setVelocityYTick((float) -(1f + MathUtil.random() * 2f));
 
 						game.spawn(small);
 					}
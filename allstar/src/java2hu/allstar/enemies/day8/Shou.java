@@ -370,7 +370,7 @@ public class Shou extends AllStarBoss
 				TouhouSounds.Enemy.RELEASE_1.play();
 				
 				float increase = 8;
-				float offset = (float) (Math.random() * increase);
+				float offset = (float) (MathUtil.random() * increase);
 				
 				for(float angle = offset; angle < 360 + offset; angle += increase)
 				{
@@ -384,7 +384,7 @@ public class Shou extends AllStarBoss
 							@Override
 							public void run()
 							{
-								Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.PURPLE), boss.getX(), boss.getY());
+								Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.PURPLE), boss.getX(), boss.getY());
 								bullet.setDirectionRadsTick((float) Math.toRadians(finalAngle), 3f + pos * 1.6f);
 								bullet.setZIndex(bullet.getZIndex() + pos);
 								bullet.useSpawnAnimation(false);
@@ -473,7 +473,7 @@ public class Shou extends AllStarBoss
 				boolean[] bools = { true, false };
 				
 				float increment = 40;
-				float offset = (float) (Math.random() * increment);
+				float offset = (float) (MathUtil.random() * increment);
 
 				for(final boolean left : bools)
 				for(float i = offset; i < 360 + offset; i += increment)
@@ -539,8 +539,8 @@ public class Shou extends AllStarBoss
 
 									for(int amount = 0; amount < 2; amount++)
 									{
-										final float xDest = (float) (x + (Math.random() * 400 - 200));
-										final float yDest = (float) (y + (Math.random() * 400 - 200));
+										final float xDest = (float) (x + (MathUtil.random() * 400 - 200));
+										final float yDest = (float) (y + (MathUtil.random() * 400 - 200));
 
 										Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_2, ThBulletColor.WHITE), x, y)
 										{
@@ -562,7 +562,7 @@ public class Shou extends AllStarBoss
 														ThBulletColor[] colors = {ThBulletColor.YELLOW, ThBulletColor.ORANGE, ThBulletColor.WHITE };
 
 														clearShader();
-														setBullet(new ThBullet(ThBulletType.DISK, colors[(int) (Math.random() * colors.length)]));
+														setBullet(new ThBullet(ThBulletType.DISK, colors[(int) (MathUtil.random() * colors.length)]));
 														setDirectionDegTick(MathUtil.getAngle(this, boss), 4f);
 													}
 												}
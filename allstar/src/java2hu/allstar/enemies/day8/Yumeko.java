@@ -618,9 +618,9 @@ public class Yumeko extends AllStarBoss
 			{
 				float maxPosSize = size + 100;
 				float minPosSize = size - 50;
-				float sizeX = (float) (minSize + Math.random() * (maxPosSize - minPosSize));
-				float sizeY = (float) (minSize + Math.random() * (maxPosSize - minPosSize));
-				float angle = lastAngle + (float) ((Math.random() * 2 - 1) * 40f);
+				float sizeX = (float) (minSize + MathUtil.random() * (maxPosSize - minPosSize));
+				float sizeY = (float) (minSize + MathUtil.random() * (maxPosSize - minPosSize));
+				float angle = lastAngle + (float) ((MathUtil.random() * 2 - 1) * 40f);
 				angle = Math.min(120, angle);
 				angle = Math.max(60, angle);
 				float rad = (float) Math.toRadians(angle);
@@ -647,7 +647,7 @@ public class Yumeko extends AllStarBoss
 						@Override
 						public void run() 
 						{
-							Bullet laser = new Bullet(new ThBullet(ThBulletType.KNIFE, ThBulletColor.RED), boss.getX(), boss.getY());
+							Bullet laser = Bullet.obtain(new ThBullet(ThBulletType.KNIFE, ThBulletColor.RED), boss.getX(), boss.getY());
 							laser.setScale(2f, 2f);
 							laser.setDirectionDegTick(angle, finalTick < 100 ? 10f : 15f);
 							laser.setRotationFromVelocity(-90);
@@ -666,7 +666,7 @@ public class Yumeko extends AllStarBoss
 			{
 				TouhouSounds.Enemy.BULLET_3.play(0.6f);
 				boolean opposite = false;
-				float offset = (float) (Math.random() * 20f);
+				float offset = (float) (MathUtil.random() * 20f);
 				
 				float add = 15;
 				add += (1 - (size - 300) / 200f) * 15;
@@ -336,7 +336,7 @@ public class AliceGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 								if(tick % 2 == 0)
 								{
-									Bullet bullet = new Bullet(new ThBullet(ThBulletType.POINTER, ThBulletColor.RED), getX(), getY());
+									Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.POINTER, ThBulletColor.RED), getX(), getY());
 									bullet.setDirectionDegTick(MathUtil.getAngle(boss, bullet), 6f);
 									bullet.setRotationFromVelocity(-90);
 									game.spawn(bullet);
@@ -396,7 +396,7 @@ public class AliceGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 							if(tick % 6 == 0)
 							{
-								Bullet bullet = new Bullet(new ThBullet(ThBulletType.POINTER, ThBulletColor.GREEN), getX(), getY());
+								Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.POINTER, ThBulletColor.GREEN), getX(), getY());
 								bullet.setDirectionDegTick(MathUtil.getAngle(boss, bullet) + 2, 6f);
 								bullet.setRotationFromVelocity(-90);
 								game.spawn(bullet);
@@ -566,7 +566,7 @@ public class AliceGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 					for(int i = -20; i < 20; i += lessDense ? 5 : 2)
 					{
-						Bullet bullet = new Bullet(new ThBullet(ThBulletType.ORB, ThBulletColor.RED), boss.getX(), boss.getY());
+						Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.ORB, ThBulletColor.RED), boss.getX(), boss.getY());
 						bullet.setDirectionDegTick(MathUtil.getAngle(bullet, saved) + i, 5f);
 						bullet.setRotationFromVelocity(-90);
 						bullet.setZIndex(bullet.getZIndex() + i + 20);
@@ -590,7 +590,7 @@ public class AliceGeneral implements SpecialFlowScheme<AllStarStageScheme>
 						if(i > -value && i < value)
 							continue;
 
-						Bullet bullet = new Bullet(new ThBullet(ThBulletType.RICE_LARGE, ThBulletColor.RED), boss.getX(), boss.getY());
+						Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.RICE_LARGE, ThBulletColor.RED), boss.getX(), boss.getY());
 						bullet.setDirectionDegTick(MathUtil.getAngle(bullet, saved) + i, 20f);
 						bullet.setRotationFromVelocity(-90);
 						bullet.setZIndex((int) (bullet.getZIndex() + i + 180));
@@ -748,7 +748,7 @@ public class AliceGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				{
 					TouhouSounds.Enemy.HUM_1.play(0.8f);
 					
-					float offset = (float) Math.random() * 10f;
+					float offset = (float) MathUtil.random() * 10f;
 					
 					for(int i = -20; i <= 180; i += 10)
 					{
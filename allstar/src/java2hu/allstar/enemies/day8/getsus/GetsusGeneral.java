@@ -561,13 +561,13 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 					
 					for(int i = 0; i < amount; i++)
 					{
-						final float rad = (float) Math.toRadians(Math.random() * 360);
+						final float rad = (float) Math.toRadians(MathUtil.random() * 360);
 
 						float handX = gengetsu.getX() - 50;
 						float handY = gengetsu.getY() + 50;
 
-						final float bulX = (float) (x + Math.cos(rad) * (Math.random() * radius));
-						final float bulY = (float) (y + Math.sin(rad) * (Math.random() * radius));
+						final float bulX = (float) (x + Math.cos(rad) * (MathUtil.random() * radius));
+						final float bulY = (float) (y + Math.sin(rad) * (MathUtil.random() * radius));
 
 						final float distance = MathUtil.getDistance(x, y, bulX, bulY);
 
@@ -678,7 +678,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 									if(getTicksAlive() == 250)
 									{
-										deg = (float) (60 + Math.random() * 45);
+										deg = (float) (60 + MathUtil.random() * 45);
 										setDirectionDegTick(deg, speed);
 										setRotationFromVelocity(-90f);
 										speed += 6f;
@@ -926,7 +926,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				if(tick % 4 == 0 && tick % 100 < 90)
 				{
 					float step = 15f;
-					float offset = (float) (Math.random() * step);
+					float offset = (float) (MathUtil.random() * step);
 
 					for(float i = offset; i < 360 + offset; i += step)
 					{
@@ -981,7 +981,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 	{
 		Mugetsu mugetsu;
 		Gengetsu gengetsu;
-		Random rand = new Random();
+		Random rand = Game.getGame().getRandom();
 		ArrayList<Position> marks = new ArrayList<Position>();
 		
 		public GetsusSpellOld(Mugetsu mugetsu, Gengetsu gengetsu)
@@ -1203,7 +1203,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 								@Override
 								public void run()
 								{
-									Bullet bullet = new Bullet(new ThBullet(ThBulletType.HEART, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
+									Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.HEART, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
 
 									bullet.setDirectionDegTick(MathUtil.getAngle(mugetsu, pos) + offsets[finalI], 20f);
 									bullet.setRotationFromVelocity(-90f);
@@ -1230,7 +1230,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				if(tick % 1 == 0)
 					if(player.getY() > 500)
 					{
-						Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_LARGE_HOLLOW, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
+						Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_LARGE_HOLLOW, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
 
 						bullet.setDirectionDegTick(MathUtil.getAngle(mugetsu, player), 40f);
 						bullet.setRotationFromVelocity(-90f);
@@ -1238,7 +1238,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 						Game.getGame().spawn(bullet);
 
-						bullet = new Bullet(new ThBullet(ThBulletType.BALL_LARGE_HOLLOW, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
+						bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_LARGE_HOLLOW, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
 
 						bullet.setDirectionDegTick(MathUtil.getAngle(mugetsu, player) - 5, 40f);
 						bullet.setRotationFromVelocity(-90f);
@@ -1246,7 +1246,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 						Game.getGame().spawn(bullet);
 
-						bullet = new Bullet(new ThBullet(ThBulletType.BALL_LARGE_HOLLOW, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
+						bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_LARGE_HOLLOW, ThBulletColor.RED), mugetsu.getX(), mugetsu.getY());
 
 						bullet.setDirectionDegTick(MathUtil.getAngle(mugetsu, player) + 5, 40f);
 						bullet.setRotationFromVelocity(-90f);
@@ -1276,7 +1276,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 						final HashMap<Float, Double> randoms = new HashMap<Float, Double>();
 						
 						final float finalOffset = offset;
-						final float offsetAngle = (float) (Math.random() * 12f);
+						final float offsetAngle = (float) (MathUtil.random() * 12f);
 						
 						for(float i = offsetAngle; i < 2 * 360 + offsetAngle; i += 11)
 						{
@@ -1315,7 +1315,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 										final float finalOffset = offset;
 
 										if(!randoms.containsKey(angle))
-											randoms.put(angle, Math.random());
+											randoms.put(angle, MathUtil.random());
 
 										double random = randoms.get(angle);
 
@@ -1398,14 +1398,14 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 							//
 							//						{
 							//							final float step = 2f;
-							//							final float offset = (float) (Math.random() * (float) (step));
+							//							final float offset = (float) (MathUtil.random() * (float) (step));
 							//
 							//							boolean cut = false;
 							//							
 							//							for(float angle = offset; angle < 360 + offset; angle += (cut ? (8 * step) : step))
 							//							{
 							//								if(angle % (8 * step) < step)
-							//									cut = Math.random() > (!cut ? 0f : 0.2f);
+							//									cut = MathUtil.random() > (!cut ? 0f : 0.2f);
 							//									
 							//								if(cut)
 							//									continue;
@@ -1467,7 +1467,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 							//						else
 							//						{
 							//							float step = 30;
-							//							float offset = (float) (Math.random() * step);
+							//							float offset = (float) (MathUtil.random() * step);
 							//
 							//							for(float angle = offset; angle < 360 + offset; angle += step)
 							//							{
@@ -1579,7 +1579,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 	{
 		Mugetsu mugetsu;
 		Gengetsu gengetsu;
-		Random rand = new Random();
+		Random rand = Game.getGame().getRandom();
 		ArrayList<Position> marks = new ArrayList<Position>();
 		
 		public GetsusSpell(Mugetsu mugetsu, Gengetsu gengetsu)
@@ -1915,7 +1915,7 @@ public class GetsusGeneral implements SpecialFlowScheme<AllStarStageScheme>
 						final Position finalEdge = edge;
 						final Border finalBorder = border;
 						final float playerY = game.getPlayer().getY();
-						final boolean tryToAimAtPlayer = Math.random() > 0.6f;
+						final boolean tryToAimAtPlayer = MathUtil.random() > 0.6f;
 						
 						Runnable run = new Runnable()
 						{
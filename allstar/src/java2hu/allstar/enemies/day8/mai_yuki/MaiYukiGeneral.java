@@ -432,9 +432,9 @@ public class MaiYukiGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				if(directionX == 0 || directionY == 0)
 				{
 					size = minSize;
-					directionX = (float) ((Math.random() > 0.5 ? -Math.random() : Math.random()) * spread);
-					directionY = (float) ((Math.random() > 0.5 ? -Math.random() : Math.random()) * spread);
-					size += (Math.random() > 0.5 ? -Math.random() : Math.random()) * (maxSize - minSize);
+					directionX = (float) ((MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * spread);
+					directionY = (float) ((MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * spread);
+					size += (MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * (maxSize - minSize);
 					directionX *= size;
 					directionY *= size;
 				}
@@ -444,7 +444,7 @@ public class MaiYukiGeneral implements SpecialFlowScheme<AllStarStageScheme>
 					alpha -= 0.03F;
 				}
 				
-				rotation += 1F + 1F * Math.random();
+				rotation += 1F + 1F * MathUtil.random();
 				
 				setX(getX() + directionX);
 				setY(getY() + directionY);
@@ -729,7 +729,7 @@ public class MaiYukiGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				for(boolean bool : bools)
 				for(float angle = min; angle < max; angle += step)
 				{
-					Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_1, ThBulletColor.BLUE), boss.getX(), boss.getY());
+					Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_1, ThBulletColor.BLUE), boss.getX(), boss.getY());
 					bullet.setDirectionDegTick(bool ? angle : 180 - angle, 14f - angle / max * 6f);
 					
 					game.spawn(bullet);
@@ -766,7 +766,7 @@ public class MaiYukiGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				for(int i = 0; i < 5; i++)
 				{
 					GravityBullet gb = new GravityBullet(new ThBullet(ThBulletType.DOT_SMALL_MOON, ThBulletColor.BLUE).getAnimation(), boss.getX(), boss.getY(), 0.01f, 4f);
-					gb.setDirectionDegTick((float) (270 + (60 * Math.random() - 30)), 10f);
+					gb.setDirectionDegTick((float) (270 + (60 * MathUtil.random() - 30)), 10f);
 					game.spawn(gb);
 				}
 			}
@@ -226,9 +226,9 @@ public class Yumemi extends AllStarBoss
 			{
 				for(int i = 0; i < 5; i++)
 				{
-					Bullet bullet = new Bullet(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.RED), boss.getX(), boss.getY());
+					Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.RED), boss.getX(), boss.getY());
 
-					bullet.setDirectionDeg((float) (MathUtil.getAngle(bullet, player) + (Math.random() * 80 - 40)), (float) (300f + 300f * Math.random()));
+					bullet.setDirectionDeg((float) (MathUtil.getAngle(bullet, player) + (MathUtil.random() * 80 - 40)), (float) (300f + 300f * MathUtil.random()));
 
 					game.spawn(bullet);
 				}
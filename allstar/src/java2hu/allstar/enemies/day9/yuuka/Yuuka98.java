@@ -18,6 +18,7 @@ import java2hu.util.AnimationUtil;
 import java2hu.util.BossUtil.BackgroundAura;
 import java2hu.util.ImageSplitter;
 import java2hu.util.ImageUtil;
+import java2hu.util.MathUtil;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
@@ -210,7 +211,7 @@ public class Yuuka98 extends AllStarBoss
 				super.onUpdate(tick);
 				
 				if(getTicksAlive() == 5)
-					for(int i = 0; i < 360; i += 3 + 3 * Math.random())
+					for(int i = 0; i < 360; i += 3 + 3 * MathUtil.random())
 					{
 						final int finalI = i;
 						
@@ -220,12 +221,12 @@ public class Yuuka98 extends AllStarBoss
 							double centerX = Game.getGame().getWidth()/2f + Math.cos(Math.toRadians(finalI)) * offset;
 							double centerY = Game.getGame().getHeight()/2f + Math.sin(Math.toRadians(finalI)) * offset;
 							double timer = 0;
-							double timerIncrease = 1f + 1 * Math.random();
-							int size = (int) offset;// + (200 * Math.random()));
+							double timerIncrease = 1f + 1 * MathUtil.random();
+							int size = (int) offset;// + (200 * MathUtil.random()));
 							
 							{
 								setFrameBuffer(aura.getBackgroundBuffer());
-								timer = finalI + 180f + (90 * Math.random() - 45);
+								timer = finalI + 180f + (90 * MathUtil.random() - 45);
 							}
 							
 							@Override
@@ -352,25 +353,25 @@ public class Yuuka98 extends AllStarBoss
 			}
 		}
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_1))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_1))
 			closeUmbrella();
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_2))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_2))
 			openUmbrella();
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_3))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_3))
 			windUp();
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_4))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_4))
 			swirl();
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_5))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_5))
 			downOpenUmbrella();
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_6))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_6))
 			forwardsOpenUmbrella();
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.NUM_7))
+		if(Game.getGame().isKeyPressed(Input.Keys.NUM_7))
 			invis();
 	}
 	
@@ -444,7 +444,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 					
 					for(float f : offsets)
 					{
-						Bullet gib = new Bullet(new ThBullet(ThBulletType.HEART, ThBulletColor.RED), tip.getX(), tip.getY());
+						Bullet gib = Bullet.obtain(new ThBullet(ThBulletType.HEART, ThBulletColor.RED), tip.getX(), tip.getY());
 						gib.useSpawnAnimation(false);
 						gib.setDirectionDegTick(MathUtil.getAngle(tip, player) + f, 20f);
 						gib.setRotationFromVelocity();
@@ -490,7 +490,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 						Game.getGame().spawn(laser);
 					}
 					
-					offset = (float) (Math.random() * (2 * interval));
+					offset = (float) (MathUtil.random() * (2 * interval));
 					
 					for(float i = offset; i < 360 + offset; i += interval)
 					{
@@ -529,7 +529,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 
 							bullet.getCurrentSprite().setColor(Color.GRAY);
 							bullet.getCurrentSprite().setAlpha(alphaMax);
-							bullet.setDirectionDegTick(i, (float) (1f + 1f * Math.random()));
+							bullet.setDirectionDegTick(i, (float) (1f + 1f * MathUtil.random()));
 
 							Game.getGame().spawn(bullet);
 						}
@@ -547,15 +547,15 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 					
 					for(int i = 1; i <= max; i++)
 					{
-						final boolean icicle = Math.random() > 0.8f;
+						final boolean icicle = MathUtil.random() > 0.8f;
 						
 						final int finalI = i;
 						
-						float offset = (float) (Game.getGame().getWidth() / max + 50 * Math.random());
-						offset = (float) (offset * 0.8f + Math.random() * (offset * 0.2f));
+						float offset = (float) (Game.getGame().getWidth() / max + 50 * MathUtil.random());
+						offset = (float) (offset * 0.8f + MathUtil.random() * (offset * 0.2f));
 						offset = offset * finalI - 25;
 
-						Bullet bullet = new GravityBullet(icicle ? new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.WHITE) : new ThBullet(ThBulletType.BALL_2, ThBulletColor.WHITE), offset, Game.getGame().getHeight() + 100, (float) (0.04f + Math.random() * 0.04f), (float) (4f + 4f * Math.random()))
+						Bullet bullet = new GravityBullet(icicle ? new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.WHITE) : new ThBullet(ThBulletType.BALL_2, ThBulletColor.WHITE), offset, Game.getGame().getHeight() + 100, (float) (0.04f + MathUtil.random() * 0.04f), (float) (4f + 4f * MathUtil.random()))
 						{
 							@Override
 							public void onUpdate(long tick)
@@ -566,7 +566,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 									setRotationFromVelocity();
 							}
 						};
-						bullet.setVelocityXTick((float) (Math.random() * 2f - 1f));
+						bullet.setVelocityXTick((float) (MathUtil.random() * 2f - 1f));
 						
 						Game.getGame().spawn(bullet);
 					}
@@ -647,7 +647,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 					if(pTick % 4 == 0 && pTick < spring + 120)
 						for(float i = offset; i < 360 + offset; i += 5)
 						{
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.DOT_MEDIUM, ThBulletColor.BLUE), umbrellaPoint.getX(), umbrellaPoint.getY());
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.DOT_MEDIUM, ThBulletColor.BLUE), umbrellaPoint.getX(), umbrellaPoint.getY());
 							bullet.setDirectionDegTick(MathUtil.getAngle(bullet.getX(), bullet.getY(), saved.getX(), saved.getY()) + i, 11f);
 							bullet.setRotationFromVelocity();
 
@@ -660,7 +660,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 						for(float i = offset; i < 360 + offset; i += 3)
 						{
 							ThBulletColor color = pTick == spring + 85 ? ThBulletColor.YELLOW : ThBulletColor.BLUE;
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.DOT_MEDIUM, color), umbrellaPoint.getX(), umbrellaPoint.getY());
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.DOT_MEDIUM, color), umbrellaPoint.getX(), umbrellaPoint.getY());
 							bullet.setDirectionDegTick(MathUtil.getAngle(bullet.getX(), bullet.getY(), saved.getX(), saved.getY()) + i, 6f - (pTick - spring - 80 + 1) / 20f);
 							bullet.setRotationFromVelocity();
 
@@ -686,7 +686,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 							public void run()
 							{
 								float offset = Game.getGame().getWidth() / max;
-								offset = (float) (offset * 0.8f + Math.random() * (offset * 0.2f));
+								offset = (float) (offset * 0.8f + MathUtil.random() * (offset * 0.2f));
 								offset = offset * finalI;
 								
 								YuukaBulletWorm worm = new YuukaBulletWorm(offset, 0);
@@ -849,7 +849,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 			
 			float multiplier = getTicksAlive() / 60f;
 			
-			float velX = (float) Math.cos(Math.toRadians(20f + 10f * multiplier + 5 * Math.random()) * 20f);
+			float velX = (float) Math.cos(Math.toRadians(20f + 10f * multiplier + 5 * MathUtil.random()) * 20f);
 			float velY = 15f;//((float) (Math.sin(Math.toRadians(20f + (10f * multiplier)) * 20f)));
 			
 			if(getTicksAlive() >= 65 && getTicksAlive() <= 70)
@@ -874,7 +874,7 @@ public class YuukaGeneral implements SpecialFlowScheme<AllStarStageScheme>
 				velX = (float) (Math.cos(radians) * speed);
 				velY = (float) (Math.sin(radians) * speed);
 				
-				rotation += 18f + 2f * Math.random();
+				rotation += 18f + 2f * MathUtil.random();
 				size *= 1.01f;
 			}
 			
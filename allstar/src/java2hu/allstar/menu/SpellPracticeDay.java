@@ -15,6 +15,7 @@ import java2hu.background.bg3d.Background3D;
 import java2hu.gameflow.GameFlowScheme;
 import java2hu.gameflow.SpecialFlowScheme;
 import java2hu.menu.Menu;
+import java2hu.replay.Replay;
 import java2hu.system.SaveableObject;
 import java2hu.touhou.sounds.TouhouSounds;
 import java2hu.util.Getter;
@@ -87,7 +88,7 @@ public class SpellPracticeDay extends AllStarMenu
 	final BitmapFont largeFont = getFont(FontType.LARGE);
 	final BitmapFont medFont = getFont(FontType.MEDIUM);
 	
-	public void addSpecialBossMatch(String name, final EnvironmentType type, final Getter<SpecialFlowScheme> create)
+	public void addSpecialBossMatch(final String name, final EnvironmentType type, final Getter<SpecialFlowScheme> create)
 	{
 		final Runnable startPractise = new Runnable()
 		{
@@ -95,6 +96,7 @@ public class SpellPracticeDay extends AllStarMenu
 			public void run()
 			{
 				Game.getGame().setScheme(getSpecialSpellPractiseScheme(create, type));
+				startRecording(name);
 				Game.getGame().getScheme().start();
 			}
 		};
@@ -102,7 +104,7 @@ public class SpellPracticeDay extends AllStarMenu
 		addButton(name, startPractise);
 	}
 	
-	public void addBossMatch(String name, final EnvironmentType type, final Getter<AllStarBoss> create)
+	public void addBossMatch(final String name, final EnvironmentType type, final Getter<AllStarBoss> create)
 	{
 		final Runnable startPractise = new Runnable()
 		{
@@ -110,6 +112,7 @@ public class SpellPracticeDay extends AllStarMenu
 			public void run()
 			{
 				Game.getGame().setScheme(getSpellPractiseScheme(create, type));
+				startRecording(name);
 				Game.getGame().getScheme().start();
 			}
 		};
@@ -117,6 +120,18 @@ public class SpellPracticeDay extends AllStarMenu
 		addButton(name, startPractise);
 	}
 	
+	/**
+	 * Records the practice, it can be saved from the pause menu and played back with the headless runner.
+	 */
+	private void startRecording(String name)
+	{
+		Replay replay = new Replay(System.nanoTime());
+		replay.setScenario("day", "" + day);
+		replay.setScenario("boss", name);
+		
+		Game.getGame().startRecording(replay);
+	}
+	
 	private void addButton(String name, final Runnable startPractise)
 	{
 		final SpellPracticeDay screen = this;
@@ -1,7 +1,6 @@
 
 package java2hu.allstar.spellcards;
 
-import java.util.Random;
 import java2hu.Game;
 import java2hu.J2hGame;
 import java2hu.object.StageObject;
@@ -18,6 +17,7 @@ import java2hu.touhou.bullet.ThLaserColor;
 import java2hu.touhou.bullet.ThLaserType;
 import java2hu.touhou.sounds.TouhouSounds;
 import java2hu.util.BossUtil;
+import java2hu.util.MathUtil;
 
 import shaders.ShaderLibrary;
 
@@ -50,10 +50,10 @@ public class ShouCurvingNonSpell extends Spellcard
 		
 		float chance = 1f / (ThLaserColor.values().length + 1);
 		
-		boolean lightning = Math.random() < chance;
+		boolean lightning = MathUtil.random() < chance;
 		
 		ThLaserType type = lightning ? ThLaserType.LIGHTNING : ThLaserType.NORMAL;
-		ThLaserColor sub = lightning ? ThLaserColor.LIGHTNING : ThLaserColor.values()[new Random().nextInt(ThLaserColor.values().length)];
+		ThLaserColor sub = lightning ? ThLaserColor.LIGHTNING : ThLaserColor.values()[Game.getGame().getRandom().nextInt(ThLaserColor.values().length)];
 		
 		float total = 200;
 		
@@ -203,7 +203,7 @@ public class ShouCurvingNonSpell extends Spellcard
 						}
 						else if(done)
 						{
-							angle = (float) (angle + (Math.random() > 0.5f ? -1 : 1) * (1f + Math.random() * 1f));
+							angle = (float) (angle + (MathUtil.random() > 0.5f ? -1 : 1) * (1f + MathUtil.random() * 1f));
 						}
 
 						setDirectionRadsTick((float) Math.toRadians(angle), slowTicks > 0 ? 2f : speed);
@@ -254,7 +254,7 @@ public class ShouCurvingNonSpell extends Spellcard
 						}
 						else if(done)
 						{
-							angle = (float) (angle + (Math.random() > 0.5f ? -1 : 1) * (1f + Math.random() * 1f));
+							angle = (float) (angle + (MathUtil.random() > 0.5f ? -1 : 1) * (1f + MathUtil.random() * 1f));
 						}
 
 						setDirectionRadsTick((float) Math.toRadians(angle), slowTicks > 0 ? 2f : speed);
@@ -272,7 +272,7 @@ public class ShouCurvingNonSpell extends Spellcard
 			TouhouSounds.Enemy.RELEASE_1.play();
 			
 			float increase = 6;
-			float offset = (float) (Math.random() * increase);
+			float offset = (float) (MathUtil.random() * increase);
 			
 			for(float angle = offset; angle < 360 + offset; angle += angle <= 140 && angle > 40 ? increase : increase / 2)
 			{
@@ -286,7 +286,7 @@ public class ShouCurvingNonSpell extends Spellcard
 						@Override
 						public void run()
 						{
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.BLUE), boss.getX(), boss.getY());
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.BLUE), boss.getX(), boss.getY());
 							bullet.setDirectionRadsTick((float) Math.toRadians(finalAngle), 3f + pos * 1.6f);
 							bullet.setZIndex(bullet.getZIndex() + pos);
 							bullet.setShader(ShaderLibrary.GLOW.getProgram());
@@ -265,15 +265,15 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 							
 							float minAngle = 10;
 							float maxAngle = 40;
-							float angle = minAngle + (float)(Math.random() * (maxAngle - minAngle));
+							float angle = minAngle + (float)(MathUtil.random() * (maxAngle - minAngle));
 							
-							float startAngle = (float) (Math.random() * 360f);
+							float startAngle = (float) (MathUtil.random() * 360f);
 							
 							for(float f = 0; f < angle; f += 6)
 							{
 								final float shootAngle = startAngle + f;
 								
-								Bullet bullet = new Bullet(new ThBullet(ThBulletType.POINTER, ThBulletColor.BLUE), enemy.getX(), enemy.getY());
+								Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.POINTER, ThBulletColor.BLUE), enemy.getX(), enemy.getY());
 								bullet.setDirectionDegTick(shootAngle, 5f + (50 - getHealth()) / 50f * 4f);
 								bullet.setRotationFromVelocity(-90);
 								game.spawn(bullet);
@@ -384,14 +384,14 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 
 									float size = 70;
 
-									float sizeX = (float) (size * Math.random());
-									float sizeY = (float) (size * Math.random());
+									float sizeX = (float) (size * MathUtil.random());
+									float sizeY = (float) (size * MathUtil.random());
 									float averageSize = (sizeX + sizeY) / 2f;
 
-									cos *= size * Math.random();
-									sin *= size * Math.random();
+									cos *= size * MathUtil.random();
+									sin *= size * MathUtil.random();
 
-									Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.BLUE), enemy.getX() + cos, enemy.getY() + sin);
+									Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_BIG, ThBulletColor.BLUE), enemy.getX() + cos, enemy.getY() + sin);
 									bullet.useSpawnAnimation(false);
 									
 									bullet.setDirectionDegTick(angle, 2f + averageSize / 6f);
@@ -449,7 +449,7 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 									if(getTicksAlive() % 3 == 0 && getTicksAlive() % 45 <= 30)
 									{
 										SoundUtil.playSoundSingle(TouhouSounds.Enemy.BULLET_3, 0.5f, "bullet", 10);
-										Bullet bullet = new Bullet(new ThBullet(ThBulletType.RAIN, ThBulletColor.BLUE), enemy.getX(), enemy.getY());
+										Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.RAIN, ThBulletColor.BLUE), enemy.getX(), enemy.getY());
 										bullet.setDirectionDegTick(90, 7f);
 										game.spawn(bullet);
 									}
@@ -656,11 +656,11 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 							
 							angle += 5f;
 							
-							Bullet bullet = new Bullet(new ThBullet(ThBulletType.BALL_1, ThBulletColor.BLUE), getX(), getY());
+							Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_1, ThBulletColor.BLUE), getX(), getY());
 							bullet.setDirectionDegTick(angle, 10f);
 							game.spawn(bullet);
 							
-							bullet = new Bullet(new ThBullet(ThBulletType.BALL_1, ThBulletColor.BLUE), getX(), getY());
+							bullet = Bullet.obtain(new ThBullet(ThBulletType.BALL_1, ThBulletColor.BLUE), getX(), getY());
 							bullet.setDirectionDegTick(angle + 180, 10f);
 							game.spawn(bullet);
 						}
@@ -718,12 +718,12 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 										
 										float angle = MathUtil.getAngle(this, player);
 										
-										Bullet bullet = new Bullet(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.BLUE), getX(), getY());
+										Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.BLUE), getX(), getY());
 										bullet.setDirectionDegTick(angle, 4f);
 										bullet.setRotationFromVelocity(-90);
 										game.spawn(bullet);
 
-										bullet = new Bullet(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.BLUE), getX(), getY());
+										bullet = Bullet.obtain(new ThBullet(ThBulletType.BUTTERFLY, ThBulletColor.BLUE), getX(), getY());
 										bullet.setDirectionDegTick(angle + 180, 4f);
 										bullet.setRotationFromVelocity(-90);
 										game.spawn(bullet);
@@ -899,7 +899,7 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 										@Override
 										public void run()
 										{
-											Bullet bullet = new Bullet(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), x, y);
+											Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), x, y);
 											
 											bullet.setDirectionDegTick(finalAngle, speed);
 											bullet.setRotationFromVelocity(-90);
@@ -910,7 +910,7 @@ public class MakaiStage implements SpecialFlowScheme<AllStarStageScheme>
 									
 									if(add)
 									{
-										Bullet bullet = new Bullet(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), x, y);
+										Bullet bullet = Bullet.obtain(new ThBullet(ThBulletType.CRYSTAL, ThBulletColor.BLUE), x, y);
 										
 										bullet.setDirectionDegTick(angle, speed);
 										bullet.setRotationFromVelocity(-90);
@@ -12,5 +12,6 @@ public class Settings extends J2hObject
 	public boolean fullScreen = false;
 	public boolean showAtStartup = true;
 	public boolean vsync = true;
+	public boolean gl30 = false;
 	public int fps;
 }
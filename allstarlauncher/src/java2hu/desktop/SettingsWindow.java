@@ -335,6 +335,10 @@ public class SettingsWindow extends JFrame
 		showOnStartCheckBox.setSelected(true);
 		panel_3.add(showOnStartCheckBox);
 		
+		gl30CheckBox = new JCheckBox("OpenGL 3");
+		gl30CheckBox.setFont(new Font("Calibri", Font.PLAIN, 12));
+		panel_3.add(gl30CheckBox);
+		
 		JPanel panel_4 = new JPanel();
 		panel_4.setBounds(0, 117, 495, 36);
 		getContentPane().add(panel_4);
@@ -494,6 +498,7 @@ public class SettingsWindow extends JFrame
 	final File settingsFile = new File("settings.json");
 	final Gson gson = new GsonBuilder().serializeNulls().serializeSpecialFloatingPointValues().setPrettyPrinting().create();
 	private JCheckBox showOnStartCheckBox;
+	private JCheckBox gl30CheckBox;
 	private JTextField viewportWidth;
 	private JTextField viewportHeight;
 	private JTextField fpsField;
@@ -529,6 +534,7 @@ public class SettingsWindow extends JFrame
 			samplesField.setText(removeUselessDecimals(String.valueOf(settings.samples)));
 			fullScreenCheckBox.setSelected(settings.fullScreen);
 			showOnStartCheckBox.setSelected(settings.showAtStartup);
+			gl30CheckBox.setSelected(settings.gl30);
 			fpsField.setText(String.valueOf(settings.fps));
 			
 			Timer timer = new Timer();
@@ -562,6 +568,7 @@ public class SettingsWindow extends JFrame
 		settings.samples = 0;//Integer.parseInt(samplesField.getText());
 		settings.fullScreen = fullScreenCheckBox.isSelected();
 		settings.showAtStartup = showOnStartCheckBox.isSelected();
+		settings.gl30 = gl30CheckBox.isSelected();
 		settings.fps = Integer.parseInt(fpsField.getText());
 		
 		String json = gson.toJson(settings);
@@ -591,6 +598,7 @@ public class SettingsWindow extends JFrame
 		config.height = Integer.parseInt(heightField.getText());
 		config.samples = Integer.parseInt(samplesField.getText());
 		config.fullscreen = fullScreenCheckBox.isSelected();
+		config.useGL30 = gl30CheckBox.isSelected(); // Needed for instanced bullets, without it they're drawn with the sprite batch.
 		config.vSyncEnabled = false;
 		config.backgroundFPS = 60;
 		config.foregroundFPS = Integer.parseInt(fpsField.getText());
@@ -0,0 +1,60 @@
+package java2hu.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java2hu.touhou.bullet.ThBullet;
+import java2hu.touhou.bullet.ThBulletColor;
+import java2hu.touhou.bullet.ThBulletType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+
+/**
+ * {@link ThBullet#getAnimation()}, which copies the frames of the bullet type, against just looking up the shared frames.
+ * Uses the real bullet files (run from the core assets), loaded once in the setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnimationCopyBenchmark
+{
+	/**
+	 * Type and color, the ones used the most in the allstar bosses.
+	 */
+	@Param({ "KNIFE RED", "POINTER GREEN", "RAIN CYAN" })
+	public String bullet;
+
+	private ThBullet type;
+
+	@Setup
+	public void setup()
+	{
+		Fixture.getGame();
+
+		String[] split = bullet.split(" ");
+
+		type = new ThBullet(ThBulletType.valueOf(split[0]), ThBulletColor.valueOf(split[1]));
+
+		if(type.getSharedAnimation() == null)
+			throw new IllegalStateException("Can't load " + bullet + ", run from the core assets.");
+	}
+
+	@Benchmark
+	public Animation getAnimation()
+	{
+		return type.getAnimation();
+	}
+
+	@Benchmark
+	public Animation getSharedAnimation()
+	{
+		return type.getSharedAnimation();
+	}
+}
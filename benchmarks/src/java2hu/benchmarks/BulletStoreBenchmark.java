@@ -0,0 +1,70 @@
+package java2hu.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java2hu.object.bullet.Bullet;
+import java2hu.object.bullet.BulletStore;
+import java2hu.util.ParallelUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+
+/**
+ * The loops of the {@link BulletStore}, on one thread and split over the cores (see {@link ParallelUtil}).
+ * The bullets move slowly in random directions and stay on the stage, so nothing gets deleted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulletStoreBenchmark
+{
+	@Param({ "1000", "10000", "50000" })
+	public int bullets;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private BulletStore store;
+	private long tick = 0;
+
+	@Setup
+	public void setup()
+	{
+		Fixture.getGame();
+
+		ParallelUtil.setEnabled(parallel);
+
+		Animation animation = Fixture.animation(1, 16, 6);
+		Random random = new Random(0);
+
+		store = new BulletStore(bullets);
+
+		for(int i = 0; i < bullets; i++)
+		{
+			Bullet bullet = new Bullet(animation, 200 + random.nextFloat() * 880, 200 + random.nextFloat() * 560);
+			bullet.setDirectionDeg(random.nextFloat() * 360, 0.01f);
+
+			store.add(bullet);
+		}
+	}
+
+	@Benchmark
+	public void updateDelta()
+	{
+		store.updateDelta(1f / 60f);
+	}
+
+	@Benchmark
+	public void updateLogic()
+	{
+		store.updateLogic(tick++);
+	}
+}
@@ -0,0 +1,61 @@
+package java2hu.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java2hu.object.bullet.Bullet;
+import java2hu.util.AnimationUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+
+/**
+ * {@link Bullet#checkCollision()} for every bullet on the stage, with none of them hitting the player (the usual case).
+ * The bullets are spread over the stage above the player, at the same spots every run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark
+{
+	@Param({ "100", "1000", "5000" })
+	public int bullets;
+
+	private Bullet[] list;
+
+	@Setup
+	public void setup()
+	{
+		Fixture.getGame();
+		Fixture.player(640, 100);
+
+		Animation animation = Fixture.animation(1, 16, 6);
+		Random random = new Random(0);
+
+		list = new Bullet[bullets];
+
+		for(int i = 0; i < bullets; i++)
+		{
+			Bullet bullet = new Bullet(AnimationUtil.copyAnimation(animation), random.nextFloat() * 1280, 300 + random.nextFloat() * 660);
+			bullet.setRotationDeg(random.nextFloat() * 360);
+
+			list[i] = bullet;
+		}
+	}
+
+	@Benchmark
+	public void checkCollision()
+	{
+		for(Bullet bullet : list)
+		{
+			bullet.checkCollision();
+		}
+	}
+}
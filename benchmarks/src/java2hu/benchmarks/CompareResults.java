@@ -0,0 +1,143 @@
+package java2hu.benchmarks;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares two JMH result files (-rf json), a baseline and a new run, and exits with 1 if any benchmark got slower than the threshold.
+ * A benchmark only counts as slower if the difference is also bigger than the error margins of both runs together.
+ *
+ * Arguments: baseline.json results.json [threshold in percent, 10 by default]
+ */
+public class CompareResults
+{
+	private static class Score
+	{
+		String mode;
+		double score;
+		double error;
+		String unit;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if(args.length < 2)
+		{
+			System.out.println("Usage: CompareResults baseline.json results.json [threshold %]");
+			System.exit(2);
+		}
+
+		Map<String, Score> baseline = read(args[0]);
+		Map<String, Score> results = read(args[1]);
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+		int regressions = 0;
+
+		for(Entry<String, Score> entry : results.entrySet())
+		{
+			Score now = entry.getValue();
+			Score before = baseline.get(entry.getKey());
+
+			if(before == null || !before.mode.equals(now.mode) || !before.unit.equals(now.unit))
+			{
+				System.out.println(String.format("%-80s %12.3f %s (new)", entry.getKey(), now.score, now.unit));
+				continue;
+			}
+
+			// Throughput is better when higher, everything else (time per op) when lower.
+			boolean higherIsBetter = now.mode.equals("thrpt");
+
+			double change = (now.score - before.score) / before.score * 100;
+			double worse = higherIsBetter ? -change : change;
+			boolean significant = Math.abs(now.score - before.score) > now.error + before.error;
+
+			String verdict = "";
+
+			if(significant && worse > threshold)
+			{
+				verdict = "  REGRESSION";
+				regressions++;
+			}
+			else if(significant && worse < -threshold)
+			{
+				verdict = "  improved";
+			}
+
+			System.out.println(String.format("%-80s %12.3f -> %12.3f %s (%+.1f%%)%s", entry.getKey(), before.score, now.score, now.unit, change, verdict));
+		}
+
+		for(String key : baseline.keySet())
+		{
+			if(!results.containsKey(key))
+				System.out.println(String.format("%-80s (missing)", key));
+		}
+
+		System.out.println(regressions + " regression(s) over " + threshold + "%.");
+
+		System.exit(regressions > 0 ? 1 : 0);
+	}
+
+	/**
+	 * Reads the scores by benchmark name and parameters.
+	 */
+	private static Map<String, Score> read(String file) throws IOException
+	{
+		Map<String, Score> scores = new LinkedHashMap<String, Score>();
+
+		try(Reader reader = new FileReader(file))
+		{
+			JsonArray array = new JsonParser().parse(reader).getAsJsonArray();
+
+			for(JsonElement element : array)
+			{
+				JsonObject result = element.getAsJsonObject();
+				JsonObject metric = result.getAsJsonObject("primaryMetric");
+
+				Score score = new Score();
+				score.mode = result.get("mode").getAsString();
+				score.score = metric.get("score").getAsDouble();
+				score.unit = metric.get("scoreUnit").getAsString();
+
+				// NaN (written as a string) if there weren't enough iterations to tell.
+				JsonElement error = metric.get("scoreError");
+				score.error = error.isJsonPrimitive() && error.getAsJsonPrimitive().isNumber() ? error.getAsDouble() : 0;
+
+				scores.put(getKey(result), score);
+			}
+		}
+
+		return scores;
+	}
+
+	private static String getKey(JsonObject result)
+	{
+		String key = result.get("benchmark").getAsString();
+
+		if(result.has("params"))
+		{
+			ArrayList<String> params = new ArrayList<String>();
+
+			for(Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet())
+			{
+				params.add(param.getKey() + "=" + param.getValue().getAsString());
+			}
+
+			Collections.sort(params);
+
+			key += " " + params;
+		}
+
+		return key;
+	}
+}
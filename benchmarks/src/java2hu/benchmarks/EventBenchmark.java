@@ -0,0 +1,98 @@
+package java2hu.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java2hu.J2hGame;
+import java2hu.events.Event;
+import java2hu.events.EventHandler;
+import java2hu.events.EventHandler.EventPriority;
+import java2hu.events.EventListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * {@link J2hGame#callEvent(Event)} with N listeners of mixed priority, plus one listener for another event that shouldn't be called.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventBenchmark
+{
+	public static class BenchmarkEvent extends Event
+	{
+
+	}
+
+	public static class OtherEvent extends Event
+	{
+
+	}
+
+	public static class Listener implements EventListener
+	{
+		public int calls = 0;
+
+		@EventHandler(priority = EventPriority.LOW)
+		public void onLow(BenchmarkEvent event)
+		{
+			calls++;
+		}
+
+		@EventHandler(priority = EventPriority.HIGH)
+		public void onHigh(BenchmarkEvent event)
+		{
+			calls++;
+		}
+
+		@EventHandler
+		public void onOther(OtherEvent event)
+		{
+			calls--;
+		}
+	}
+
+	@Param({ "1", "10", "50" })
+	public int listeners;
+
+	private J2hGame game;
+	private Listener[] registered;
+	private BenchmarkEvent event = new BenchmarkEvent();
+
+	@Setup
+	public void setup()
+	{
+		game = Fixture.getGame();
+
+		registered = new Listener[listeners];
+
+		for(int i = 0; i < listeners; i++)
+		{
+			registered[i] = new Listener();
+			game.registerEvents(registered[i]);
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		for(Listener listener : registered)
+		{
+			game.unregisterEvents(listener);
+		}
+	}
+
+	@Benchmark
+	public int callEvent()
+	{
+		game.callEvent(event);
+
+		return registered[0].calls;
+	}
+}
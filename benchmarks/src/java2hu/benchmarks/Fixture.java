@@ -0,0 +1,111 @@
+package java2hu.benchmarks;
+
+import java.lang.reflect.Field;
+import java2hu.Game;
+import java2hu.HitboxSprite;
+import java2hu.J2hGame;
+import java2hu.headless.HeadlessGL;
+import java2hu.object.player.Player;
+import java2hu.overwrite.J2hObject;
+import java2hu.util.HitboxUtil;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * What the benchmarks need to make game objects: a headless libGDX with the GL stub of the headless runner, and a game that isn't running.
+ * Nothing ticks or draws, the benchmarks call the code they measure themselves.
+ */
+public class Fixture
+{
+	private static J2hGame game;
+
+	/**
+	 * Sets up libGDX and the game singleton the first time it's called, and returns the game.
+	 */
+	public static synchronized J2hGame getGame()
+	{
+		if(game != null)
+			return game;
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 1f;
+
+		// Only for Gdx.app, Gdx.files and the natives, the render loop does nothing.
+		new HeadlessApplication(new ApplicationAdapter()
+		{
+
+		}, config);
+
+		Gdx.gl = Gdx.gl20 = HeadlessGL.create();
+
+		game = new J2hGame();
+
+		// Normally done by create(), which loads the whole game.
+		try
+		{
+			Field singleton = Game.class.getDeclaredField("singleton");
+			singleton.setAccessible(true);
+			singleton.set(null, game);
+		}
+		catch(ReflectiveOperationException e)
+		{
+			throw new RuntimeException(e);
+		}
+
+		J2hObject.game = game;
+
+		return game;
+	}
+
+	/**
+	 * An animation with square frames and square hitboxes, without any files.
+	 */
+	public static Animation animation(int frames, int size, float hitboxSize)
+	{
+		Pixmap pixmap = new Pixmap(size, size, Format.RGBA8888);
+		Texture texture = new Texture(pixmap);
+		pixmap.dispose();
+
+		Array<HitboxSprite> sprites = new Array<HitboxSprite>();
+
+		for(int i = 0; i < frames; i++)
+		{
+			HitboxSprite sprite = new HitboxSprite(new TextureRegion(texture));
+			sprite.setHitbox(HitboxUtil.rectangleHitbox(hitboxSize));
+
+			sprites.add(sprite);
+		}
+
+		return new Animation(1, sprites);
+	}
+
+	/**
+	 * A player that does nothing, loads sprites/hitbox.png like any player (so run from the core assets).
+	 */
+	public static Player player(float x, float y)
+	{
+		Animation animation = animation(1, 32, 3);
+
+		Player player = new Player(animation, animation, animation, 3, x, y)
+		{
+			@Override
+			public void shoot()
+			{
+
+			}
+		};
+
+		getGame().spawn(player);
+
+		return player;
+	}
+}
@@ -0,0 +1,68 @@
+package java2hu.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java2hu.Position;
+import java2hu.object.bullet.LaserDrawer;
+import java2hu.object.bullet.LaserDrawer.LaserData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link LaserDrawer#makeLaserMeshVertices()}, which every laser runs every tick, for a curved laser of N points.
+ * Once for a laser that stays the same, and once for one that moves (a new point at the head, the last one dropped, like a {@link java2hu.object.bullet.Laser}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LaserMeshBenchmark
+{
+	@Param({ "16", "128", "1024" })
+	public int points;
+
+	private LaserDrawer laser;
+	private int next;
+
+	@Setup
+	public void setup()
+	{
+		Fixture.getGame();
+
+		laser = new LaserDrawer(null, 20, 8);
+
+		for(int i = 0; i < points; i++)
+		{
+			laser.getPoints().add(0, getPoint(i));
+		}
+
+		next = points;
+	}
+
+	private Position getPoint(int i)
+	{
+		float progress = i / (float) points;
+
+		return new Position(100 + progress * 1000, 480 + (float) Math.sin(progress * Math.PI * 4) * 200);
+	}
+
+	@Benchmark
+	public LaserData makeLaserMeshVertices()
+	{
+		return laser.makeLaserMeshVertices();
+	}
+
+	@Benchmark
+	public LaserData moveAndMakeLaserMeshVertices()
+	{
+		laser.getPoints().remove(laser.getPoints().size() - 1);
+		laser.getPoints().add(0, getPoint(next++));
+
+		return laser.makeLaserMeshVertices();
+	}
+}
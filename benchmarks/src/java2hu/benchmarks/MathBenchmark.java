@@ -0,0 +1,61 @@
+package java2hu.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java2hu.util.MathUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link MathUtil#fastSin(double)} against Math.sin, over the same 1024 angles (in degrees, like the game uses them).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MathBenchmark
+{
+	private double[] angles = new double[1024];
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(0);
+
+		for(int i = 0; i < angles.length; i++)
+		{
+			angles[i] = random.nextDouble() * 720 - 360;
+		}
+	}
+
+	@Benchmark
+	public double fastSin()
+	{
+		double sum = 0;
+
+		for(double angle : angles)
+		{
+			sum += MathUtil.fastSin(angle);
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public double mathSin()
+	{
+		double sum = 0;
+
+		for(double angle : angles)
+		{
+			sum += Math.sin(Math.toRadians(angle));
+		}
+
+		return sum;
+	}
+}
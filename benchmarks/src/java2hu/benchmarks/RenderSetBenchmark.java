@@ -0,0 +1,124 @@
+package java2hu.benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java2hu.RenderSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The game loop walking over a {@link RenderSet}, like it does for the stage objects and bullets every tick.
+ *
+ * iterate: Nothing changes.
+ * iterateRemoving: Every 10th object removes itself while iterating (like bullets that get deleted), and is added back afterwards.
+ * concurrent: One thread iterates as the owner, another adds and removes objects at the same time (like a game flow scheme spawning things).
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderSetBenchmark
+{
+	@Param({ "1000", "10000" })
+	public int size;
+
+	private RenderSet<Object> set;
+	private Object[] objects;
+	private Object[] removed;
+
+	@Setup
+	public void setup()
+	{
+		set = new RenderSet<Object>();
+		objects = new Object[size];
+		removed = new Object[size / 10];
+
+		for(int i = 0; i < size; i++)
+		{
+			objects[i] = new Object();
+			set.add(objects[i]);
+		}
+
+		// Whoever reads first owns the set, same as the game loop.
+		set.renderIterator();
+		set.startReading();
+		set.endReading();
+	}
+
+	@Benchmark
+	@Group("iterate")
+	public void iterate(Blackhole hole)
+	{
+		Iterator<Object> it = set.renderIterator();
+
+		set.startReading();
+
+		while(it.hasNext())
+		{
+			hole.consume(it.next());
+		}
+
+		set.endReading();
+	}
+
+	@Benchmark
+	@Group("iterateRemoving")
+	public void iterateRemoving(Blackhole hole)
+	{
+		Iterator<Object> it = set.renderIterator();
+
+		set.startReading();
+
+		int index = 0;
+		int count = 0;
+
+		while(it.hasNext())
+		{
+			Object object = it.next();
+
+			hole.consume(object);
+
+			if(index++ % 10 == 0 && count < removed.length)
+			{
+				set.remove(object);
+				removed[count++] = object;
+			}
+		}
+
+		set.endReading();
+
+		for(int i = 0; i < count; i++)
+		{
+			set.add(removed[i]);
+		}
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(1)
+	public void concurrentIterate(Blackhole hole)
+	{
+		iterate(hole);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(1)
+	public void concurrentChange()
+	{
+		Object object = objects[ThreadLocalRandom.current().nextInt(objects.length)];
+
+		if(!set.remove(object))
+			set.add(object);
+	}
+}
@@ -1,8 +0,0 @@
-package java2hu;
-
-import java.util.concurrent.ConcurrentHashMap;
-
-public class ConcurrentMap<K, V> extends ConcurrentHashMap<K, V>
-{
-	
-}
@@ -1,17 +1,25 @@
 
 package java2hu;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java2hu.Profiler.Phase;
 import java2hu.events.Event;
 import java2hu.events.EventHandler;
 import java2hu.events.EventListener;
@@ -22,15 +30,23 @@ import java2hu.events.sound.SoundModifierChangeEvent;
 import java2hu.gameflow.GameFlowScheme;
 import java2hu.menu.PauseMenu;
 import java2hu.object.LivingObject;
+import java2hu.object.ObjectPool;
+import java2hu.object.RenderQueue;
 import java2hu.object.StageObject;
 import java2hu.object.bullet.Bullet;
+import java2hu.object.bullet.BulletGrid;
+import java2hu.object.bullet.BulletInstanceBatch;
+import java2hu.object.bullet.BulletStore;
+import java2hu.object.bullet.LaserBatch;
 import java2hu.object.bullet.LaserDrawer;
 import java2hu.object.enemy.Enemy;
 import java2hu.object.enemy.greater.Boss;
 import java2hu.object.player.Player;
 import java2hu.overwrite.J2hObject;
 import java2hu.plugin.Plugin;
+import java2hu.replay.Replay;
 import java2hu.spellcard.Spellcard;
+import java2hu.spellcard.SpellcardMetrics;
 import java2hu.touhou.font.TouhouFont;
 import java2hu.touhou.sounds.TouhouSounds;
 import java2hu.util.HitboxUtil;
@@ -46,6 +62,7 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -57,7 +74,7 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.google.common.collect.Sets;
 
 /**
@@ -192,6 +209,184 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	public void setScheme(GameFlowScheme scheme)
 	{
 		this.scheme = scheme;
+		
+		// A replay is only good for the scheme it started with.
+		stopRecording();
+		stopPlayback();
+	}
+	
+	private long seed = System.nanoTime();
+	private Random random = new Random(seed);
+	
+	/**
+	 * The random for everything that changes how the game goes (bullet patterns, boss movement...), use it instead of Math.random() (see {@link MathUtil#random()}).
+	 * It's seeded again every tick from the seed and the tick, so with the same seed and input the game goes exactly the same way (see {@link Replay}).
+	 * Things that are only for show, like menus and backgrounds, shouldn't use it, they might not run the same way every time.
+	 */
+	public Random getRandom()
+	{
+		return random;
+	}
+	
+	public long getSeed()
+	{
+		return seed;
+	}
+	
+	public void setSeed(long seed)
+	{
+		this.seed = seed;
+		random.setSeed(seed);
+	}
+	
+	private Replay recording;
+	private Replay playback;
+	private long replayStartTick;
+	private int replayTick = -1;
+	private int nextPress;
+	
+	/**
+	 * Starts recording the input into this (empty) replay from the next tick on, using it's seed.
+	 * Call it right before starting the scheme the replay is for, setting another scheme stops it.
+	 */
+	public void startRecording(Replay replay)
+	{
+		stopPlayback();
+		
+		setSeed(replay.getSeed());
+		
+		recording = replay;
+		replayStartTick = tick;
+		replayTick = -1;
+	}
+	
+	/**
+	 * @return The replay that was being recorded, null if none.
+	 */
+	public Replay stopRecording()
+	{
+		Replay replay = recording;
+		recording = null;
+		
+		return replay;
+	}
+	
+	public Replay getRecording()
+	{
+		return recording;
+	}
+	
+	/**
+	 * Saves what has been recorded so far to a new file in replays/, the recording goes on.
+	 */
+	public void saveRecording()
+	{
+		if(recording == null)
+		{
+			System.out.println("Nothing is being recorded.");
+			return;
+		}
+		
+		FileHandle file = Gdx.files.local("replays/" + System.currentTimeMillis() + ".replay");
+		
+		try
+		{
+			recording.save(file);
+			System.out.println("Saved " + recording + " to " + file.path());
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Plays the replay from the next tick on, it's input is used instead of the keyboard until it's over.
+	 * Should be started the same way as the replay was recorded, with the same scheme right after.
+	 */
+	public void startPlayback(Replay replay)
+	{
+		stopRecording();
+		
+		setSeed(replay.getSeed());
+		
+		playback = replay;
+		replayStartTick = tick;
+		replayTick = -1;
+		nextPress = 0;
+	}
+	
+	public void stopPlayback()
+	{
+		playback = null;
+	}
+	
+	public Replay getPlayback()
+	{
+		return playback;
+	}
+	
+	public boolean isPlayingBack()
+	{
+		return playback != null;
+	}
+	
+	/**
+	 * Whether the key is held down, from the replay if one is playing.
+	 * Game logic should use this instead of Gdx.input, so replays can play it back.
+	 */
+	public boolean isKeyPressed(int keycode)
+	{
+		if(!isPaused() && replayTick >= 0)
+		{
+			if(playback != null)
+				return replayTick < playback.getTicks() && playback.isKeyPressed(replayTick, keycode);
+			
+			if(recording != null)
+				return recording.isKeyPressed(replayTick, keycode);
+		}
+		
+		return Gdx.input.isKeyPressed(keycode);
+	}
+	
+	/**
+	 * Records or plays back the input for the tick that's about to run.
+	 */
+	private void updateReplay()
+	{
+		if(playback != null)
+		{
+			int pressTick = (int) (tick - replayStartTick);
+			
+			// Presses happened between ticks.
+			while(nextPress < playback.getPressCount() && playback.getPressTick(nextPress) <= pressTick)
+			{
+				callEvent(new KeyDownEvent(playback.getPressKey(nextPress)));
+				nextPress++;
+			}
+			
+			if(pressTick >= playback.getTicks())
+			{
+				System.out.println("Finished playing " + playback);
+				stopPlayback();
+				return;
+			}
+		}
+		
+		replayTick = (int) (tick - replayStartTick);
+		
+		if(recording != null)
+		{
+			int mask = 0;
+			
+			for(int i = 0; i < Replay.KEYS.length; i++)
+			{
+				if(Gdx.input.isKeyPressed(Replay.KEYS[i]))
+					mask |= 1 << i;
+			}
+			
+			recording.addTick(mask);
+		}
 	}
 	
 	private Player player;
@@ -206,6 +401,7 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		this.player = player;
 		
 		stageObjects.add(player);
+		renderQueue.update(player);
 		player.onSpawn();
 		player.update(getActiveTick());
 	}
@@ -220,10 +416,37 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		player = null;
 	}
 	
-	private RenderSet<Spellcard> spellcards = new RenderSet<Spellcard>();
+	/**
+	 * Ends the metrics of every card that's taken out, however that's done (most bosses clear this set directly).
+	 */
+	private RenderSet<Spellcard> spellcards = new RenderSet<Spellcard>()
+	{
+		@Override
+		public boolean remove(Object object)
+		{
+			if(!super.remove(object))
+				return false;
+			
+			endSpellcardMetrics((Spellcard) object);
+			
+			return true;
+		}
+		
+		@Override
+		public void clear()
+		{
+			for(Spellcard card : this)
+			{
+				endSpellcardMetrics(card);
+			}
+			
+			super.clear();
+		}
+	};
 	
 	public void startSpellCard(Spellcard card)
 	{
+		card.getMetrics().start(getTick(), bulletsSpawned.get());
 		spellcards.add(card);
 	}
 	
@@ -260,8 +483,110 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		return spellcards;
 	}
 	
+	/**
+	 * Amount of bullets spawned since the game started, for the spell card metrics (bullets are spawned from the flow scheme threads too).
+	 * Counts every bullet on the stage, not just the ones of a card.
+	 */
+	private AtomicLong bulletsSpawned = new AtomicLong();
+	private long lastAllocated = -1;
+	
+	private FileHandle spellcardReport = null;
+	
+	/**
+	 * Appends the metrics of every spell card that ends to this file as CSV (see {@link SpellcardMetrics#CSV_HEADER}), null to stop.
+	 * With profiling on they're printed to the console as well.
+	 */
+	public void setSpellcardReport(FileHandle spellcardReport)
+	{
+		this.spellcardReport = spellcardReport;
+	}
+	
+	public FileHandle getSpellcardReport()
+	{
+		return spellcardReport;
+	}
+	
+	/**
+	 * Records the logic tick that just ran for all running spell cards.
+	 */
+	private void updateSpellcardMetrics(long nanos)
+	{
+		long allocated = SpellcardMetrics.getAllocatedBytes();
+		long allocatedTick = allocated >= 0 && lastAllocated >= 0 ? allocated - lastAllocated : -1;
+		lastAllocated = allocated;
+		
+		if(spellcards.isEmpty())
+			return;
+		
+		int bullets = allBullets.size();
+		int collisionChecks = bulletGrid.getCandidatesTested();
+		
+		for(Spellcard card : spellcards)
+		{
+			card.getMetrics().tick(nanos, bullets, collisionChecks, allocatedTick);
+		}
+	}
+	
+	private void endSpellcardMetrics(Spellcard card)
+	{
+		SpellcardMetrics metrics = card.getMetrics();
+		
+		if(!metrics.isRunning())
+			return;
+		
+		metrics.end(bulletsSpawned.get());
+		
+		if(isProfiling())
+			System.out.println(metrics);
+		
+		if(spellcardReport == null)
+			return;
+		
+		try
+		{
+			if(!spellcardReport.exists() || spellcardReport.length() == 0)
+				spellcardReport.writeString(SpellcardMetrics.CSV_HEADER + "\n", false);
+			
+			spellcardReport.writeString(metrics.toCsv() + "\n", true);
+		}
+		catch(GdxRuntimeException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
 	private RenderSet<StageObject> stageObjects = new RenderSet<StageObject>();
 	
+	/**
+	 * Draw order of the stage objects and bullets, see {@link RenderQueue}.
+	 */
+	private RenderQueue renderQueue = new RenderQueue();
+	
+	public RenderQueue getRenderQueue()
+	{
+		return renderQueue;
+	}
+	
+	/**
+	 * Where the {@link LaserDrawer}s queue their meshes, flushed by the {@link RenderQueue} after every group.
+	 */
+	private LaserBatch laserBatch = new LaserBatch();
+	
+	public LaserBatch getLaserBatch()
+	{
+		return laserBatch;
+	}
+	
+	/**
+	 * Where plain bullets are drawn when there's OpenGL 3, flushed by the {@link RenderQueue} after every group.
+	 */
+	private BulletInstanceBatch bulletInstances = new BulletInstanceBatch();
+	
+	public BulletInstanceBatch getBulletInstances()
+	{
+		return bulletInstances;
+	}
+	
 	public void spawn(StageObject object)
 	{
 		if(object instanceof Bullet)
@@ -276,7 +601,14 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			return;
 		}
 		
+		if(object.isReleased())
+		{
+			System.err.println("Tried to spawn " + object + ", which was already handed back to it's pool.");
+			return;
+		}
+		
 		stageObjects.add(object);
+		renderQueue.update(object);
 		object.onSpawn();
 		object.update(getActiveTick());
 	}
@@ -284,7 +616,8 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	public void delete(StageObject object)
 	{
 		stageObjects.remove(object);
-		bullets.remove(object);
+		allBullets.remove(object);
+		renderQueue.update(object);
 		
 		object.onDelete();
 	}
@@ -312,19 +645,136 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	
 	private RenderSet<Bullet> bullets = new RenderSet<Bullet>();
 	
+	/**
+	 * Plain bullets are kept in here instead of the bullets set, see {@link BulletStore}.
+	 */
+	private BulletStore bulletStore = new BulletStore();
+	
+	/**
+	 * Broadphase for bullet vs player collision, rebuilt every logic tick.
+	 */
+	private BulletGrid bulletGrid = new BulletGrid();
+	
+	/**
+	 * Set containing both the bullets updated as objects and the bullets in the {@link BulletStore}.
+	 */
+	private Set<Bullet> allBullets = new AbstractSet<Bullet>()
+	{
+		@Override
+		public Iterator<Bullet> iterator()
+		{
+			return new Iterator<Bullet>()
+			{
+				private Iterator<Bullet> objects = bullets.iterator();
+				private Iterator<Bullet> stored = bulletStore.iterator();
+				private Bullet current;
+				
+				@Override
+				public boolean hasNext()
+				{
+					return objects.hasNext() || stored.hasNext();
+				}
+				
+				@Override
+				public Bullet next()
+				{
+					current = objects.hasNext() ? objects.next() : stored.next();
+					return current;
+				}
+				
+				@Override
+				public void remove()
+				{
+					allBullets.remove(current);
+				}
+			};
+		}
+		
+		@Override
+		public int size()
+		{
+			return bullets.size() + bulletStore.size();
+		}
+		
+		@Override
+		public boolean contains(Object o)
+		{
+			return bulletStore.contains(o) || bullets.contains(o);
+		}
+		
+		@Override
+		public boolean add(Bullet bullet)
+		{
+			if(bulletStore.accepts(bullet))
+			{
+				bulletStore.add(bullet);
+				return true;
+			}
+			
+			return bullets.add(bullet);
+		}
+		
+		@Override
+		public boolean remove(Object o)
+		{
+			if(bulletStore.contains(o))
+				return bulletStore.remove((Bullet) o);
+			
+			return bullets.remove(o);
+		}
+		
+		@Override
+		public void clear()
+		{
+			bullets.clear();
+			bulletStore.clear();
+		}
+	};
+	
+	/**
+	 * Plain bullets (see {@link BulletStore#accepts(Bullet)}) go into the bullet store, everything else gets updated as an object.
+	 */
 	public void spawn(Bullet object)
 	{
-		bullets.add(object);
+		if(object.isReleased())
+		{
+			System.err.println("Tried to spawn " + object + ", which was already handed back to it's pool.");
+			return;
+		}
+		
+		allBullets.add(object);
+		bulletsSpawned.incrementAndGet();
+		renderQueue.update(object);
 		object.onSpawn();
 		object.update(getActiveTick());
 	}
 	
 	public void delete(Bullet object)
 	{
-		bullets.remove(object);
+		allBullets.remove(object);
+		renderQueue.update(object);
 		object.onDelete();
 	}
 	
+	/**
+	 * Moves a bullet out of the {@link BulletStore} so it gets updated as a normal object, for instance because it got a plugin.
+	 */
+	public void moveToObjectPath(Bullet bullet)
+	{
+		if(bulletStore.remove(bullet))
+			bullets.add(bullet);
+	}
+	
+	public BulletStore getBulletStore()
+	{
+		return bulletStore;
+	}
+	
+	public BulletGrid getBulletGrid()
+	{
+		return bulletGrid;
+	}
+	
 	public static enum ClearType
 	{
 		ALL,
@@ -548,20 +998,14 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	
 	public Set<Bullet> getBullets()
 	{
-		return bullets;
+		return allBullets;
 	}
 	
-	private RenderSet<Task> delayedGameTasks = new RenderSet<Task>();
-	private RenderSet<Task> delayedPauseTasks = new RenderSet<Task>();
-	private RenderSet<Task> delayedTasks = new RenderSet<Task>();
+	private TaskQueue delayedGameTasks = new TaskQueue();
+	private TaskQueue delayedPauseTasks = new TaskQueue();
+	private TaskQueue delayedTasks = new TaskQueue();
 	private RenderSet<Runnable> runAfterRender = new RenderSet<Runnable>();
 	
-	private class Task
-	{
-		private Runnable runnable;
-		private long tick;
-	}
-	
 	private long tick = 0; // Game ticker
 	private long pauseTick = 0; // Pause ticker
 	
@@ -691,48 +1135,33 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	 * Run a task delayed while the game ticker is enabled.
 	 * @param run
 	 * @param ticks
+	 * @return Handle to cancel the task with.
 	 */
-	public void addTaskGame(Runnable run, int ticks)
+	public TaskQueue.Handle addTaskGame(Runnable run, int ticks)
 	{
-		long tick = getTick() + ticks;
-		
-		Task task = new Task();
-		task.tick = tick;
-		task.runnable = run;
-		
-		delayedGameTasks.add(task);
+		return delayedGameTasks.add(run, getTick() + ticks);
 	}
 	
 	/**
 	 * Run a task delayed while the pause ticker is enabled.
 	 * @param run
 	 * @param ticks
+	 * @return Handle to cancel the task with.
 	 */
-	public void addTaskPause(Runnable run, int ticks)
+	public TaskQueue.Handle addTaskPause(Runnable run, int ticks)
 	{
-		long tick = getPauseTick() + ticks;
-		
-		Task task = new Task();
-		task.tick = tick;
-		task.runnable = run;
-		
-		delayedPauseTasks.add(task);
+		return delayedPauseTasks.add(run, getPauseTick() + ticks);
 	}
 	
 	/**
 	 * Run a task delayed
 	 * @param run
 	 * @param ticks
+	 * @return Handle to cancel the task with.
 	 */
-	public void addTask(Runnable run, int ticks)
+	public TaskQueue.Handle addTask(Runnable run, int ticks)
 	{
-		long tick = internalTick + ticks;
-		
-		Task task = new Task();
-		task.tick = tick;
-		task.runnable = run;
-		
-		delayedTasks.add(task);
+		return delayedTasks.add(run, internalTick + ticks);
 	}
 	
 	private void addAfterRenderTask(Runnable run)
@@ -843,6 +1272,14 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	 * While not paused: Returns game ticks
 	 * @return
 	 */
+	/**
+	 * Ticks that have passed, paused or not.
+	 */
+	public long getInternalTick()
+	{
+		return internalTick;
+	}
+	
 	public long getActiveTick()
 	{
 		if(isPaused())
@@ -928,19 +1365,51 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		this.outOfGame = outOfGame;
 	}
 	
-	private boolean profiling = false;
+	private Profiler profiler = new Profiler();
+	
+	/**
+	 * Times every phase of a frame, and every object if profiling is on.
+	 */
+	public Profiler getProfiler()
+	{
+		return profiler;
+	}
 	
 	public boolean isProfiling()
 	{
-		return profiling;
+		return profiler.isSampling();
 	}
 	
+	/**
+	 * Turns timing every object on or off, the results are shown on screen.
+	 */
 	public void setProfiling(boolean profiling)
 	{
-		this.profiling = profiling;
+		profiler.setSampling(profiling);
 		System.out.println("Profiling " + (profiling ? "ENABLED" : "DISABLED"));
 	}
 	
+	/**
+	 * Starts writing the profiler results of every frame to a new file in traces/, or stops if it already is.
+	 */
+	public void toggleTrace()
+	{
+		if(profiler.isTracing())
+		{
+			profiler.stopTrace();
+			return;
+		}
+		
+		try
+		{
+			profiler.startTrace(Gdx.files.local("traces/" + System.currentTimeMillis() + ".trace").file());
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
 	private boolean created = false;
 
 	@Override
@@ -984,8 +1453,6 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	
 	public Matrix4 standardProjectionMatrix = null;
 
-	private ArrayList<String> profilingOutput;
-	
 	/**
 	 * Draw items such as hitboxes.
 	 */
@@ -993,7 +1460,7 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	{
 		shape.begin(ShapeType.Line);
 
-		for(Bullet bullet : bullets)
+		for(Bullet bullet : allBullets)
 		{
 			Polygon current = bullet.getHitbox();
 
@@ -1044,16 +1511,15 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	 */
 	public void updateStageDelta()
 	{
-		final HashMap<Object, Long> updateTimes;
-
-		if(profiling)
-		{
-			updateTimes = new HashMap<Object, Long>();
-		}
-		else
-		{
-			updateTimes = null;
-		}
+		updateStageDelta(Gdx.graphics.getDeltaTime());
+	}
+	
+	/**
+	 * Same as {@link #updateStageDelta()}, with a given delta time (in seconds).
+	 */
+	public void updateStageDelta(float delta)
+	{
+		long phaseStart = profiler.start();
 
 		{
 			Iterator<StageObject> it = stageObjects.renderIterator();
@@ -1064,16 +1530,12 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			{
 				StageObject object = it.next();
 
-				long startTime = 0;
-
-				if(profiling)
-					startTime = System.nanoTime();
+				long startTime = profiler.startSample();
 
 				if(!isPaused() || object.isActiveDuringPause())
-					object.update(Gdx.graphics.getDeltaTime());
+					object.update(delta);
 
-				if(profiling)
-					updateTimes.put(object, System.nanoTime() - startTime);
+				profiler.sample(Phase.DELTA, object, startTime);
 			}
 			
 			stageObjects.endReading();
@@ -1088,73 +1550,83 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			{
 				Bullet bullet = it.next();
 
-				long startTime = 0;
-
-				if(profiling)
-					startTime = System.nanoTime();
+				long startTime = profiler.startSample();
 
 				if(!isPaused() || bullet.isActiveDuringPause())
-					bullet.update(Gdx.graphics.getDeltaTime());
+					bullet.update(delta);
 
-				if(profiling)
-					updateTimes.put(bullet, System.nanoTime() - startTime);
+				profiler.sample(Phase.DELTA, bullet, startTime);
 			}
 			
 			bullets.endReading();
 		}
-
-		if(profiling)
+		
+		if(!isPaused())
 		{
-			ArrayList<Object> sortedList = new ArrayList<Object>(updateTimes.keySet());
-
-			Collections.sort(sortedList, new Comparator<Object>()
-					{
-				@Override
-				public int compare(Object o1, Object o2)
-				{
-					if(o1 == null && o2 == null)
-						return 0;
-
-					if(o1 == null)
-						return -1;
-
-					if(o2 == null)
-						return 1;
-
-					return (int) (updateTimes.get(o2) - updateTimes.get(o1));
-				}
-					});
-
-			profilingOutput.add("Update (delta loop) lag sources:");
-
-			for(int i = 0; i < 10 && i < sortedList.size(); i++)
-			{
-				Object obj = sortedList.get(i);
-				float ms = (float)updateTimes.get(obj) / 1000000;
-
-				if(ms > 2)
-					profilingOutput.add(obj + " - " + ms + "ms.");
-			}
+			long startTime = profiler.startSample();
+			
+			bulletStore.updateDelta(delta);
+			
+			profiler.sample(Phase.DELTA, bulletStore, startTime);
 		}
+		
+		profiler.end(Phase.DELTA, phaseStart);
 	}
 
 	/**
-	 * This method runs through all stage objects and updates them.
-	 * You should generally NOT extends this method unless you know what you're doing.
+	 * Advances the tickers by one and updates the stage logic once, without any frame pacing or movement (see {@link #step()}).
 	 */
-	public void updateStageLogic()
+	public void stepLogic()
 	{
-		final HashMap<Object, Long> updateTimes;
-
-		if(profiling)
+		if(!isPaused())
 		{
-			updateTimes = new HashMap<Object, Long>();
+			if(recording != null || playback != null)
+				updateReplay();
+			
+			tick++;
+			
+			// Same random for the same tick, however much was used before.
+			// Counted from the start of the replay, the game has been running for a different amount of ticks when it's played back.
+			random.setSeed(seed ^ (tick - replayStartTick) * 0x9E3779B97F4A7C15L);
+			
+			ObjectPool.updateAll();
+			
+			// Counted in steps, so it stays in line with the tick when frames are dropped.
+			elapsedTime += 1f / LOGIC_TPS;
+			
+			bulletStore.startStep();
 		}
 		else
 		{
-			updateTimes = null;
+			pauseTick++;
 		}
 
+		internalTick++;
+		
+		profiler.tick();
+		
+		updateStageLogic();
+	}
+
+	/**
+	 * One fixed step of the whole game: a logic tick, and a delta update exactly one tick long.
+	 * {@link #render()} runs as many as fit in the frame, and it can be called directly to run the game without drawing.
+	 */
+	public void step()
+	{
+		stepLogic();
+		updateStageDelta(1f / LOGIC_TPS);
+	}
+
+	/**
+	 * This method runs through all stage objects and updates them.
+	 * You should generally NOT extends this method unless you know what you're doing.
+	 */
+	public void updateStageLogic()
+	{
+		long logicStart = System.nanoTime();
+		long phaseStart = profiler.start();
+
 		{
 			Iterator<StageObject> it = stageObjects.renderIterator();
 			
@@ -1164,20 +1636,19 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			{
 				StageObject object = it.next();
 
-				long startTime = 0;
-
-				if(profiling)
-					startTime = System.nanoTime();
+				long startTime = profiler.startSample();
 
 				if(!isPaused() || object.isActiveDuringPause())
 					object.update(tick);
 
-				if(profiling)
-					updateTimes.put(object, System.nanoTime() - startTime);
+				profiler.sample(Phase.LOGIC, object, startTime);
 			}
 			
 			stageObjects.endReading();
 		}
+		
+		profiler.end(Phase.LOGIC, phaseStart);
+		phaseStart = profiler.start();
 
 		if(!isPaused())
 		{
@@ -1189,19 +1660,18 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			{
 				Spellcard card = it.next();
 				
-				long startTime = 0;
-
-				if(profiling)
-					startTime = System.nanoTime();
+				long startTime = profiler.startSample();
 
 				card.run();
 
-				if(profiling)
-					updateTimes.put(card, System.nanoTime() - startTime);
+				profiler.sample(Phase.SPELLCARDS, card, startTime);
 			}
 			
 			spellcards.endReading();
 		}
+		
+		profiler.end(Phase.SPELLCARDS, phaseStart);
+		phaseStart = profiler.start();
 
 		{
 			Iterator<Bullet> it = bullets.renderIterator();
@@ -1212,123 +1682,58 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			{
 				Bullet bullet = it.next();
 
-				long startTime = 0;
-
-				if(profiling)
-					startTime = System.nanoTime();
+				long startTime = profiler.startSample();
 
 				if(!isPaused() || bullet.isActiveDuringPause())
 					bullet.update(tick);
 
-				if(profiling)
-					updateTimes.put(bullet, System.nanoTime() - startTime);
+				profiler.sample(Phase.BULLETS, bullet, startTime);
 			}
 			
 			bullets.endReading();
 		}
-//
-//		{
-//			long startTime = 0;
-//
-//			if(profiling)
-//				startTime = System.nanoTime();
-//
-//			if(player != null && (!isPaused() || player.isActiveDuringPause()))
-//				player.update(tick);
-//
-//			if(profiling)
-//				updateTimes.put(player, System.nanoTime() - startTime);
-//		}
-
-		if(profiling)
-		{
-			ArrayList<Object> sortedList = new ArrayList<Object>(updateTimes.keySet());
-
-			Collections.sort(sortedList, new Comparator<Object>()
-					{
-				@Override
-				public int compare(Object o1, Object o2)
-				{
-					if(o1 == null && o2 == null)
-						return 0;
-
-					if(o1 == null)
-						return -1;
-
-					if(o2 == null)
-						return 1;
-
-					return (int) (updateTimes.get(o2) - updateTimes.get(o1));
-				}
-					});
-
-			profilingOutput.add("Update (logic loop) lag sources:");
-
-			for(int i = 0; i < 10 && i < sortedList.size(); i++)
-			{
-				Object obj = sortedList.get(i);
-				float ms = (float)updateTimes.get(obj) / 1000000;
-
-				if(ms > 2)
-					profilingOutput.add(obj + " - " + ms + "ms.");
-			}
-		}
-
+		
 		if(!isPaused())
 		{
-			Iterator<Task> it = delayedGameTasks.renderIterator();
+			long startTime = profiler.startSample();
 			
-			delayedGameTasks.startReading();
+			bulletStore.updateLogic(tick);
 			
-			while(it.hasNext())
-			{
-				Task t = it.next();
-				
-				if(t != null && t.tick <= getTick())
-				{
-					t.runnable.run();
-					it.remove();
-				}
-			}
-			
-			delayedGameTasks.endReading();
+			profiler.sample(Phase.BULLETS, bulletStore, startTime);
 		}
-		else
+		
 		{
-			Iterator<Task> it = delayedPauseTasks.renderIterator();
+			long startTime = profiler.startSample();
 			
-			delayedPauseTasks.startReading();
+			// Store bullets aren't updated during pause, so they don't check collision either.
+			bulletGrid.rebuild(bullets, isPaused() ? null : bulletStore);
+			bulletGrid.collide(player);
+			bulletGrid.clearEntries();
 			
-			while(it.hasNext())
-			{
-				Task t = it.next();
-				
-				if(t != null && t.tick <= getPauseTick())
-				{
-					t.runnable.run();
-					it.remove();
-				}
-			}
-			
-			delayedPauseTasks.endReading();
+			profiler.sample(Phase.BULLETS, bulletGrid, startTime);
 		}
 		
-		Iterator<Task> it = delayedTasks.renderIterator();
-		
-		while(it.hasNext())
+		profiler.end(Phase.BULLETS, phaseStart);
+		phaseStart = profiler.start();
+
+		if(!isPaused())
 		{
-			delayedTasks.startReading();
-			
-			Task t = it.next();
-			
-			if(t != null && t.tick <= internalTick)
-			{
-				t.runnable.run();
-				it.remove();
-			}
-			
-			delayedTasks.endReading();
+			delayedGameTasks.runDue(getTick());
+		}
+		else
+		{
+			delayedPauseTasks.runDue(getPauseTick());
 		}
+		
+		delayedTasks.runDue(internalTick);
+		
+		// Resume the flow scheme on the tick it's done waiting.
+		if(scheme != null)
+			scheme.tick();
+		
+		profiler.end(Phase.TASKS, phaseStart);
+		
+		updateSpellcardMetrics(System.nanoTime() - logicStart);
 //		
 //		Iterator<Runnable> afterIt = runAfterRender.iterator();
 //		
@@ -1353,155 +1758,17 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		if(transformation != null)
 			transformation.set(Gdx.graphics.getDeltaTime());
 
-		ArrayList<StageObject> objects = new ArrayList<StageObject>();
-		objects.addAll(stageObjects);
-		objects.addAll(bullets);
-//		objects.add(player);
-
-		Collections.sort(objects, new Comparator<StageObject>()
-				{
-			@Override
-			public int compare(StageObject o1, StageObject o2)
-			{
-				if(o1 == null && o2 == null)
-					return 0;
-
-				if(o1 == null)
-					return -1;
-
-				if(o2 == null)
-					return 1;
-
-				return o1.getZIndex() - o2.getZIndex();
-			}
-				});
-
-		final HashMap<Object, Long> drawTimes;
-
-		if(profiling)
-		{
-			drawTimes = new HashMap<Object, Long>();
-		}
-		else
-		{
-			drawTimes = null;
-		}
+		long phaseStart = profiler.start();
 
 		batch.begin();
 
-		ShaderProgram shader = null;
-		FrameBuffer buffer = null;
-		
 		FrameBuffer.unbind();
 		
-		for(StageObject object : objects)
-		{
-			if(object != null)
-			{
-				long startTime = 0;
-
-				if(profiling)
-					startTime = System.nanoTime();
-				
-				boolean swapBuffer = object.getFrameBuffer() != buffer;
-				
-				// Switch out buffer with next one.
-				if(swapBuffer)
-				{
-					batch.flush();
-					
-					if(buffer != null)
-						buffer.end();
-					
-					buffer = object.getFrameBuffer();
-					
-					if(buffer != null)
-						buffer.begin();
-				}
-
-				boolean swapShader = object.getShader() != shader;
-
-				// Switch out shader with next one.
-				if(swapShader)
-				{
-					ShaderProgram newShader = object.getShader();
-					batch.setShader(newShader);
-					shader = newShader;
-				}
-				
-				object.draw();
-
-				if(profiling)
-					drawTimes.put(object, System.nanoTime() - startTime);
-			}
-		}
+		ShaderProgram shader = renderQueue.draw(batch, bulletInstances, laserBatch, profiler);
 		
 		batch.flush();
 		
-		if(profiling)
-		{
-			ArrayList<Object> sortedList = new ArrayList<Object>(drawTimes.keySet());
-
-			profilingOutput.add("Draw lag sources:");
-
-			class Info
-			{
-				public String name;
-				public int amount;
-				public double timeTaken;
-			}
-
-			HashMap<Class, Info> map = new HashMap<>();
-
-			for(int i = 0; i < sortedList.size(); i++)
-			{
-				Object obj = sortedList.get(i);
-				double ms = (float)drawTimes.get(obj) / 1000000d;
-
-				if(!map.containsKey(obj.getClass()))
-				{
-					map.put(obj.getClass(), new Info());
-				}
-
-				Info info = map.get(obj.getClass());
-
-				if(info.name == null)
-					info.name = obj.toString();
-
-				info.amount++;
-				info.timeTaken += ms;
-			}
-
-			ArrayList<Info> infos = new ArrayList<Info>(map.values());
-
-			Collections.sort(infos, new Comparator<Info>()
-					{
-				@Override
-				public int compare(Info o1, Info o2)
-				{
-					if(o1 == null && o2 == null)
-						return 0;
-
-					if(o1 == null)
-						return -1;
-
-					if(o2 == null)
-						return 1;
-
-					return (int) (o2.timeTaken - o1.timeTaken);
-				}
-					});
-
-			for(int i = 0; i < 10 && i < infos.size(); i++)
-			{
-				Info info = infos.get(i);
-
-				if(info.timeTaken > 2)
-				{
-					profilingOutput.add(info.name + " - " + info.amount + "x - " + info.timeTaken);
-				}
-			}
-		}
+		profiler.end(Phase.DRAW, phaseStart);
 
 		if(shader != null)
 			batch.setShader(null);
@@ -1521,24 +1788,38 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		TextBounds bounds = font.getBounds(fps);
 		font.draw(batch, fps, Game.getGame().getWidth() - bounds.width, Game.getGame().getHeight()); // Draws downwards.
 
-		String bc = "BC: " + bullets.size();
+		String bc = "BC: " + allBullets.size();
 		bounds = font.getBounds(bc);
 		font.draw(batch, bc, Game.getGame().getWidth() - bounds.width, Game.getGame().getHeight() - bounds.height);
+		
+		if(isDebugMode())
+		{
+			String cc = "CC: " + bulletGrid.getCandidatesTested() + "/" + bulletGrid.getIndexed();
+			bounds = font.getBounds(cc);
+			font.draw(batch, cc, Game.getGame().getWidth() - bounds.width, Game.getGame().getHeight() - bounds.height * 2);
+		}
+		
+		if(isProfiling())
+		{
+			profiler.drawOverlay(batch, font, 10, Game.getGame().getHeight() - 10);
+		}
 	}
 	
 	/**
-	 * This library runs 2 loops.
-	 * The first is the render() method, a loop at (FPS) tps, this loop connects to StageObjects in .onUpdate(float delta)
-	 * This means, you can make movement at pixels per second, which will look really cool on higher frequency monitors,
-	 * object velocities and position movement should always be done through this (And default classes do).
+	 * This library runs 2 loops, both from the render() method (so on the GL thread), in fixed steps of 1/{@value #LOGIC_TPS} seconds (see {@link #step()}).
+	 * Every frame runs as many steps as fit in the time that passed since the last one, and then draws.
 	 * 
-	 * The second is a loop within the render() method (so on the GL thread)
-	 * This loop is called at the {@value #LOGIC_TPS} ticks per second, and will only update if the delta time has passed 1/{@value #LOGIC_TPS}
+	 * The first is the logic loop, which connects to StageObjects in .onUpdate(long tick), at {@value #LOGIC_TPS} ticks per second.
 	 * This loop is used for logic, mostly stuff you need to know your times for, when you for instance want to make a wave
 	 * of bullets spawn over 1 second (With a {@link #LOGIC_TPS} of 60), you'll want to make it spawn 60 times, if you use delta time for this, you can't.
 	 * Because delta time can't ensure it won't miss one of your logic gates (or it could call it twice!), because if the user's FPS is 2x the {@value #LOGIC_TPS}
 	 * It's guaranteed to call most of your logic TWICE, unless it's extremely strict, which pushes up the chance it might miss it completely!
 	 * So for this we have this loop, which only updates at certain intervals, which you count by as ticks, and they make a great way to make timed intervals.
+	 * 
+	 * The second connects to StageObjects in .onUpdateDelta(float delta), right after every tick, with the delta of one tick.
+	 * This means, you can make movement at pixels per second, object velocities and position movement should always be done through this (And default classes do).
+	 * On monitors faster than {@value #LOGIC_TPS}hz objects are drawn between where they were on the last tick and where they are now (see {@link StageObject#draw()}),
+	 * so movement still looks smooth, while the game goes exactly the same at any frame rate.
 	 */
 	
 	/**
@@ -1546,44 +1827,68 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	 */
 	public static final int LOGIC_TPS = 60;
 	
-	private float nextTick = 0; 
-	private float deltaSkip = 0;
+	/**
+	 * Most steps ran in one frame. If a frame took longer than this (a hitch, or a computer that can't keep up) the rest of the time is dropped and the game slows down,
+	 * instead of trying to catch up with more and more steps every frame.
+	 */
+	public static final int MAX_STEPS_PER_FRAME = 5;
+	
+	/**
+	 * Time that has passed, but not enough for another step.
+	 */
+	private float accumulator = 0;
+	private float interpolation = 1;
+	
+	/**
+	 * How far the frame being drawn is between the last step and the next one, 0 to 1.
+	 * Objects are drawn this far between their last and current position, 1 while paused.
+	 */
+	public float getInterpolation()
+	{
+		return interpolation;
+	}
 
 	@Override
 	public void render()
 	{
-		if(profiling)
-		{
-			profilingOutput = new ArrayList<String>();
-		}
-		else
-		{
-			profilingOutput = null;
-		}
+		profiler.beginFrame();
 
-		long start = 0;
-
-		if(profiling)
-		{
-			start = System.nanoTime();
-		}
+		float delta = Gdx.graphics.getDeltaTime();
 
 		camera.applyAspectRatio();
 
 		batch.setProjectionMatrix(camera.camera.combined);
 		shape.setProjectionMatrix(camera.camera.combined);
 
-		if(!isPaused())
+		if(isPaused())
 		{
-			elapsedTime += Gdx.graphics.getDeltaTime();
+			pauseElapsedTime += delta;
 		}
-		else
+
+		internalElapsedTime += delta;
+		
 		{
-			pauseElapsedTime += Gdx.graphics.getDeltaTime();
+			float secondsPerTick = 1f / LOGIC_TPS;
+			
+			accumulator += delta;
+			
+			int steps = 0;
+			
+			while(accumulator >= secondsPerTick && steps < MAX_STEPS_PER_FRAME)
+			{
+				step();
+				
+				accumulator -= secondsPerTick;
+				steps++;
+			}
+			
+			// Spiral of death, drop what's left rather than catching up.
+			if(accumulator >= secondsPerTick)
+				accumulator %= secondsPerTick;
+			
+			interpolation = isPaused() ? 1 : accumulator / secondsPerTick;
 		}
 
-		internalElapsedTime += Gdx.graphics.getDeltaTime();
-
 		{
 			if(standardProjectionMatrix == null)
 			{
@@ -1596,84 +1901,25 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			
 			batch.flush();
 			
+			long uiStart = profiler.start();
+			
 			drawUI();
 			
 			batch.end();
 			
-			if(debugMode)
-			{
-				drawDebugData();
-			}
+			profiler.end(Phase.UI, uiStart);
 			
-			float secondsPerTick = 1f/LOGIC_TPS;
-			boolean updateLogic = false;
+			int renderCalls = batch.renderCalls + laserBatch.getRenderCalls() + bulletInstances.getRenderCalls();
 			
-			if(internalElapsedTime > nextTick)
-			{
-				updateLogic = true;
-			}
-			else
-			{
-				double diff = MathUtil.getDifference(internalElapsedTime, nextTick);
-				double diffNext = MathUtil.getDifference(nextTick, internalElapsedTime + Gdx.graphics.getDeltaTime());
-				
-				if(diff < diffNext)
-				{
-					updateLogic = true;
-				}
-			}
-			
-			if(updateLogic)
-			{
-				nextTick = nextTick + secondsPerTick;
-				
-				while(nextTick <= internalElapsedTime)
-				{
-					
-//					System.out.println("Frame skip!");
-					nextTick += secondsPerTick; // Skip frame
-					deltaSkip += secondsPerTick;
-				}
-				
-				if(deltaSkip <= 0)
-				{
-					if(!isPaused())
-					{
-						tick++;
-					}
-					else
-					{
-						pauseTick++;
-					}
-
-					internalTick++;
-					
-					updateStageLogic();
-				}
-			}
+			laserBatch.resetRenderCalls();
+			bulletInstances.resetRenderCalls();
 			
-			if(deltaSkip > 0)
+			if(debugMode)
 			{
-				deltaSkip -= Gdx.graphics.getDeltaTime();
-				deltaSkip = Math.max(0, deltaSkip);
+				drawDebugData();
 			}
-			else
-				updateStageDelta();
 
-			if(profiling && !isOutOfGame() && !isPaused())
-			{
-				float ms = (System.nanoTime() - start) / 1000000f;
-				System.out.println("Frame took: " + ms + "ms (Target @" + Gdx.graphics.getFramesPerSecond() + "fps = Max " + 1000f / Gdx.graphics.getFramesPerSecond() + "ms)");
-
-				{
-					for(String str : profilingOutput)
-					{
-						System.out.println(str);
-					}
-
-					System.out.println("NOTE! Vsync might delay frames, you should only look for lag that persists and causes fps drop.");
-				}
-			}
+			profiler.endFrame(renderCalls);
 		}
 	}
 
@@ -1682,7 +1928,13 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	{
 		KeyDownEvent event = new KeyDownEvent(keycode);
 		
-		callEvent(event);
+		// The replay presses the keys for the listeners while it plays.
+		if(playback == null || isPaused())
+			callEvent(event);
+		
+		// Recorded even if a listener cancelled it, those are usually the presses that matter (like advancing a dialogue).
+		if(recording != null && !isPaused())
+			recording.addPress((int) (tick - replayStartTick), keycode);
 		
 		if(event.isCancelled())
 			return true;
@@ -1721,6 +1973,10 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 			{
 				setProfiling(!isProfiling());
 			}
+			else if(keycode == Input.Keys.T)
+			{
+				toggleTrace();
+			}
 			else if(alt && Gdx.input.isKeyJustPressed(Keys.ENTER))
 			{
 				Gdx.graphics.setDisplayMode(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), !Gdx.graphics.isFullscreen());
@@ -1777,20 +2033,27 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		public HashMap<Class, ArrayList<Method>> methodMap = new HashMap<Class, ArrayList<Method>>();
 	}
 	
-	private HashMap<EventListener, ListenerData> eventListeners = new HashMap<EventListener, ListenerData>();
+	private HashMap<EventListener, ListenerData> eventListeners = new LinkedHashMap<EventListener, ListenerData>();
 	
 	public HashMap<EventListener, ListenerData> getEventListenersMap()
 	{
 		return eventListeners;
 	}
 	
-	private class CallMethod
+	/**
+	 * One event method, with the listener bound to it.
+	 */
+	private static class CallMethod
 	{
-		Method method;
-		EventListener listener;
+		MethodHandle method;
 		EventHandler handler;
+		boolean skipCancelled;
 	}
 	
+	private static final CallMethod[] NO_METHODS = new CallMethod[0];
+	
+	private static final MethodType EVENT_METHOD_TYPE = MethodType.methodType(void.class, Event.class);
+	
 	private Comparator<CallMethod> priorityComperator = new Comparator<CallMethod>()
 	{
 		@Override
@@ -1800,16 +2063,63 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		}
 	};
 	
+	/**
+	 * The methods to call for every event class that has been called, sorted by priority.
+	 * Built on the first call of an event class, and thrown away when a listener is registered or unregistered.
+	 */
+	private volatile ConcurrentHashMap<Class<?>, CallMethod[]> dispatchTable = new ConcurrentHashMap<Class<?>, CallMethod[]>();
+	
 	public void callEvent(Event event)
 	{
-		Array<CallMethod> methodsToCall = new Array<CallMethod>();
+		ConcurrentHashMap<Class<?>, CallMethod[]> table = dispatchTable;
+		
+		CallMethod[] methodsToCall = table.get(event.getClass());
+		
+		if(methodsToCall == null)
+		{
+			methodsToCall = createDispatch(event.getClass());
+			table.put(event.getClass(), methodsToCall);
+		}
+		
+		boolean cancellable = event instanceof ICancellable;
+		ICancellable ican = cancellable ? (ICancellable) event : null;
+		
+		for(int i = 0; i < methodsToCall.length; i++)
+		{
+			CallMethod m = methodsToCall[i];
+			
+			if(cancellable)
+			{
+				if(m.skipCancelled && ican.isCancelled())
+				{
+					continue;
+				}
+			}
+			
+			try
+			{
+				m.method.invokeExact(event);
+			}
+			catch (Throwable e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * Collects the methods of all listeners for this event class (and it's superclasses), sorted by priority.
+	 */
+	private synchronized CallMethod[] createDispatch(Class<?> eventClass)
+	{
+		ArrayList<CallMethod> methodsToCall = new ArrayList<CallMethod>();
 		
 		for(Entry<EventListener, ListenerData> set : eventListeners.entrySet())
 		{
 			ListenerData data = set.getValue();
 			EventListener l = set.getKey();
 			
-			for (Class<?> clazz = event.getClass(); Event.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass())
+			for (Class<?> clazz = eventClass; Event.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass())
 			{
 				if(!data.methodMap.containsKey(clazz))
 					continue;
@@ -1821,42 +2131,34 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 					EventHandler handler = m.getAnnotation(EventHandler.class);
 
 					// Handler might be null here, but the registerEvents method should check for that.
-
+					
 					CallMethod call = new CallMethod();
 
+					try
+					{
+						call.method = MethodHandles.lookup().unreflect(m).bindTo(l).asType(EVENT_METHOD_TYPE);
+					}
+					catch (IllegalAccessException e)
+					{
+						e.printStackTrace();
+						continue;
+					}
+					
 					call.handler = handler;
-					call.listener = l;
-					call.method = m;
+					call.skipCancelled = handler.skipCancelled();
 
 					methodsToCall.add(call);
 				}
 			}
 		}
 		
-		methodsToCall.sort(priorityComperator);
+		if(methodsToCall.isEmpty())
+			return NO_METHODS;
 		
-		boolean cancellable = event instanceof ICancellable;
-		ICancellable ican = (ICancellable) event;
+		// Stable, so methods with the same priority keep the order they were registered in.
+		Collections.sort(methodsToCall, priorityComperator);
 		
-		for(CallMethod m : methodsToCall)
-		{
-			if(cancellable)
-			{
-				if(ican.isCancelled() && m.handler.skipCancelled())
-				{
-					continue;
-				}
-			}
-			
-			try
-			{
-				m.method.invoke(m.listener, event);
-			}
-			catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-			{
-				e.printStackTrace();
-			}
-		}
+		return methodsToCall.toArray(new CallMethod[methodsToCall.size()]);
 	}
 	
 	/**
@@ -1866,7 +2168,7 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 	 * - Has the @EventHandler annotation.
 	 * @param listener
 	 */
-	public void registerEvents(EventListener listener)
+	public synchronized void registerEvents(EventListener listener)
 	{
 		ListenerData data = new ListenerData();
 	
@@ -1898,10 +2200,13 @@ public class J2hGame extends ApplicationAdapter implements InputProcessor
 		}
 		
 		eventListeners.put(listener, data);
+		
+		dispatchTable = new ConcurrentHashMap<Class<?>, CallMethod[]>();
 	}
 	
-	public void unregisterEvents(EventListener listener)
+	public synchronized void unregisterEvents(EventListener listener)
 	{
-		eventListeners.remove(listener);
+		if(eventListeners.remove(listener) != null)
+			dispatchTable = new ConcurrentHashMap<Class<?>, CallMethod[]>();
 	}
 }
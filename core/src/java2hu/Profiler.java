@@ -0,0 +1,594 @@
+package java2hu;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java2hu.object.ObjectPool;
+import java2hu.overwrite.J2hObject;
+import java2hu.touhou.bullet.ThBulletAtlas;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Keeps track of how long every phase of a frame takes (see {@link Phase}), over the last {@link #HISTORY} frames.
+ * Phases are always timed, that's only a couple of nanoTime calls per frame.
+ *
+ * With sampling on ({@link J2hGame#setProfiling(boolean)}) every object is timed as well, added up by class and phase.
+ * All timings go into fixed ring buffers, one slot per frame, so nothing is allocated while profiling (except for a class that wasn't seen before).
+ * The results are shown as an overlay (see {@link J2hGame#drawDebugUI()}), and can be written to a trace file every frame for looking at later.
+ *
+ * Only to be used from the game thread.
+ */
+public class Profiler extends J2hObject
+{
+	/**
+	 * The parts of a frame, these don't overlap.
+	 * Logic is the stage objects only, their bullets, spell cards and tasks are timed separately.
+	 */
+	public static enum Phase
+	{
+		DELTA("Delta update"),
+		LOGIC("Logic update"),
+		SPELLCARDS("Spell cards"),
+		BULLETS("Bullets"),
+		TASKS("Tasks"),
+		DRAW("Draw"),
+		UI("UI");
+
+		private String name;
+
+		private Phase(String name)
+		{
+			this.name = name;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+
+	/**
+	 * Amount of frames kept.
+	 */
+	public static final int HISTORY = 120;
+
+	/**
+	 * The overlay text is only made again every this many frames, so it's readable and doesn't allocate every frame.
+	 */
+	private static final int OVERLAY_REFRESH = 30;
+
+	private static final int OVERLAY_CLASSES = 8;
+
+	private static final int TRACE_MAGIC = 0x4A325052; // "J2PR"
+	private static final int TRACE_VERSION = 1;
+
+	private static final byte TRACE_CLASS = 1;
+	private static final byte TRACE_FRAME = 2;
+
+	/**
+	 * A class that has been sampled, with it's samples for every phase (null for phases it wasn't sampled in).
+	 */
+	private static class ClassEntry
+	{
+		Class<?> type;
+		int id;
+		boolean traced = false;
+		ClassSamples[] phases = new ClassSamples[PHASES.length];
+	}
+
+	private static class ClassSamples
+	{
+		ClassEntry entry;
+		Phase phase;
+
+		long[] nanos = new long[HISTORY];
+		int[] counts = new int[HISTORY];
+
+		/**
+		 * The frame each slot was last written, slots older than the history don't count.
+		 */
+		long[] frames = new long[HISTORY];
+
+		/**
+		 * Last frame this was sampled in.
+		 */
+		long frame = -1;
+
+		// For sorting the overlay.
+		long total;
+		long totalCount;
+	}
+
+	private long[][] phaseNanos = new long[PHASES.length][HISTORY];
+	private long[] frameNanos = new long[HISTORY];
+	private int[] ticks = new int[HISTORY];
+	private int[] drawCalls = new int[HISTORY];
+
+	private long frame = 0;
+	private int slot = 0;
+	private long frameStart = 0;
+
+	private boolean sampling = false;
+
+	private IdentityHashMap<Class<?>, ClassEntry> classes = new IdentityHashMap<Class<?>, ClassEntry>();
+	private ArrayList<ClassSamples> allSamples = new ArrayList<ClassSamples>();
+
+	/**
+	 * Samples written to this frame, for the trace.
+	 */
+	private ClassSamples[] touched = new ClassSamples[64];
+	private int touchedCount = 0;
+
+	private String[] overlay = new String[0];
+
+	private DataOutputStream binaryTrace;
+	private BufferedWriter csvTrace;
+	private File traceFile;
+
+	public boolean isSampling()
+	{
+		return sampling;
+	}
+
+	/**
+	 * Turns timing every object on or off, phases are always timed.
+	 */
+	public void setSampling(boolean sampling)
+	{
+		this.sampling = sampling;
+	}
+
+	/**
+	 * Starts a new frame, called by {@link J2hGame#render()} before anything else.
+	 */
+	public void beginFrame()
+	{
+		frame++;
+		slot = (int) (frame % HISTORY);
+
+		for(int i = 0; i < PHASES.length; i++)
+		{
+			phaseNanos[i][slot] = 0;
+		}
+
+		frameNanos[slot] = 0;
+		ticks[slot] = 0;
+		drawCalls[slot] = 0;
+		touchedCount = 0;
+
+		frameStart = System.nanoTime();
+	}
+
+	/**
+	 * Ends the frame, and writes it to the trace if there is one.
+	 */
+	public void endFrame(int drawCalls)
+	{
+		frameNanos[slot] = System.nanoTime() - frameStart;
+		this.drawCalls[slot] = drawCalls;
+
+		if(binaryTrace != null || csvTrace != null)
+			writeFrame();
+
+		if(sampling && frame % OVERLAY_REFRESH == 0)
+			updateOverlay();
+	}
+
+	/**
+	 * Counts a logic tick for this frame.
+	 */
+	public void tick()
+	{
+		ticks[slot]++;
+	}
+
+	/**
+	 * Start of a phase, pass the result to {@link #end(Phase, long)}.
+	 */
+	public long start()
+	{
+		return System.nanoTime();
+	}
+
+	public void end(Phase phase, long start)
+	{
+		phaseNanos[phase.ordinal()][slot] += System.nanoTime() - start;
+	}
+
+	/**
+	 * Start of timing an object, 0 if not sampling. Pass the result to {@link #sample(Phase, Object, long)}.
+	 */
+	public long startSample()
+	{
+		return sampling ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Adds the time since start to the class of the object, if sampling.
+	 */
+	public void sample(Phase phase, Object object, long start)
+	{
+		if(!sampling)
+			return;
+
+		sample(phase, object.getClass(), System.nanoTime() - start);
+	}
+
+	private void sample(Phase phase, Class<?> type, long nanos)
+	{
+		ClassEntry entry = classes.get(type);
+
+		if(entry == null)
+		{
+			entry = new ClassEntry();
+			entry.type = type;
+			entry.id = classes.size();
+
+			classes.put(type, entry);
+		}
+
+		ClassSamples samples = entry.phases[phase.ordinal()];
+
+		if(samples == null)
+		{
+			samples = new ClassSamples();
+			samples.entry = entry;
+			samples.phase = phase;
+
+			entry.phases[phase.ordinal()] = samples;
+			allSamples.add(samples);
+		}
+
+		if(samples.frame != frame)
+		{
+			samples.frame = frame;
+			samples.frames[slot] = frame;
+			samples.nanos[slot] = 0;
+			samples.counts[slot] = 0;
+
+			if(touchedCount == touched.length)
+				touched = Arrays.copyOf(touched, touched.length * 2);
+
+			touched[touchedCount++] = samples;
+		}
+
+		samples.nanos[slot] += nanos;
+		samples.counts[slot]++;
+	}
+
+	/**
+	 * Amount of finished frames in the history.
+	 */
+	private int getFrameCount()
+	{
+		return (int) Math.min(frame - 1, HISTORY - 1);
+	}
+
+	private boolean isFinished(long slotFrame)
+	{
+		return slotFrame != frame && slotFrame > frame - HISTORY;
+	}
+
+	/**
+	 * Average time of the phase per frame in ms, over the history.
+	 */
+	public float getAverage(Phase phase)
+	{
+		return getAverage(phaseNanos[phase.ordinal()]);
+	}
+
+	/**
+	 * Longest time of the phase in a frame in ms, over the history.
+	 */
+	public float getMax(Phase phase)
+	{
+		return getMax(phaseNanos[phase.ordinal()]);
+	}
+
+	public float getAverageFrame()
+	{
+		return getAverage(frameNanos);
+	}
+
+	public float getMaxFrame()
+	{
+		return getMax(frameNanos);
+	}
+
+	private float getAverage(long[] nanos)
+	{
+		int count = getFrameCount();
+
+		if(count <= 0)
+			return 0;
+
+		long total = 0;
+
+		for(int i = 0; i < HISTORY; i++)
+		{
+			if(i != slot)
+				total += nanos[i];
+		}
+
+		return total / (float) count / 1000000f;
+	}
+
+	private float getMax(long[] nanos)
+	{
+		long max = 0;
+
+		for(int i = 0; i < HISTORY; i++)
+		{
+			if(i != slot)
+				max = Math.max(max, nanos[i]);
+		}
+
+		return max / 1000000f;
+	}
+
+	private void updateOverlay()
+	{
+		ArrayList<String> lines = new ArrayList<String>();
+
+		int frames = Math.max(1, getFrameCount());
+
+		int totalTicks = 0;
+		int totalDrawCalls = 0;
+
+		for(int i = 0; i < HISTORY; i++)
+		{
+			if(i != slot)
+			{
+				totalTicks += ticks[i];
+				totalDrawCalls += drawCalls[i];
+			}
+		}
+
+		lines.add(String.format("Frame: %.2fms avg, %.2fms max, %.2f ticks, %d draw calls", getAverageFrame(), getMaxFrame(), totalTicks / (float) frames, totalDrawCalls / frames));
+
+		lines.add("Bullet atlas: " + (ThBulletAtlas.isLoaded() ? ThBulletAtlas.getPageCount() + " page(s)" : "off, every bullet frame is it's own texture"));
+
+		for(Phase phase : PHASES)
+		{
+			lines.add(String.format(" %s: %.2fms avg, %.2fms max", phase.getName(), getAverage(phase), getMax(phase)));
+		}
+
+		for(ClassSamples samples : allSamples)
+		{
+			samples.total = 0;
+			samples.totalCount = 0;
+
+			for(int i = 0; i < HISTORY; i++)
+			{
+				if(isFinished(samples.frames[i]))
+				{
+					samples.total += samples.nanos[i];
+					samples.totalCount += samples.counts[i];
+				}
+			}
+		}
+
+		ArrayList<ClassSamples> sorted = new ArrayList<ClassSamples>(allSamples);
+
+		Collections.sort(sorted, new Comparator<ClassSamples>()
+		{
+			@Override
+			public int compare(ClassSamples o1, ClassSamples o2)
+			{
+				return Long.compare(o2.total, o1.total);
+			}
+		});
+
+		lines.add("Slowest (per frame):");
+
+		for(int i = 0; i < OVERLAY_CLASSES && i < sorted.size(); i++)
+		{
+			ClassSamples samples = sorted.get(i);
+
+			if(samples.total <= 0)
+				break;
+
+			lines.add(String.format(" %s %s: %.3fms, %.1fx", samples.phase.getName(), getName(samples.entry.type), samples.total / (float) frames / 1000000f, samples.totalCount / (float) frames));
+		}
+
+		for(ObjectPool<?> pool : ObjectPool.getPools())
+		{
+			lines.add(pool.toString());
+		}
+
+		if(traceFile != null)
+			lines.add("Tracing to " + traceFile.getPath());
+
+		overlay = lines.toArray(new String[lines.size()]);
+	}
+
+	private static String getName(Class<?> type)
+	{
+		String name = type.getName();
+
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * Draws the last overlay text, top down from x, y.
+	 */
+	public void drawOverlay(Batch batch, BitmapFont font, float x, float y)
+	{
+		float lineHeight = font.getLineHeight();
+
+		for(String line : overlay)
+		{
+			font.draw(batch, line, x, y);
+			y -= lineHeight;
+		}
+	}
+
+	public boolean isTracing()
+	{
+		return traceFile != null;
+	}
+
+	public File getTraceFile()
+	{
+		return traceFile;
+	}
+
+	/**
+	 * Writes every frame to the file from now on, as CSV if the file ends with .csv, otherwise binary.
+	 *
+	 * Binary (big endian): int magic, int version, int phase count, the phase names,
+	 * then records starting with a byte type:
+	 * - class (1): int id, class name. Written before the first frame that uses the class.
+	 * - frame (2): long frame, int ticks, int draw calls, long frame nanos, long nanos per phase,
+	 *   int sample count, per sample: int class id, byte phase, int count, long nanos.
+	 *
+	 * CSV: frame,ticks,draw_calls,phase,class,count,nanos. One line for the whole frame (phase FRAME), one per phase, and one per sampled class.
+	 */
+	public void startTrace(File file) throws IOException
+	{
+		stopTrace();
+
+		if(file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+
+		if(file.getName().endsWith(".csv"))
+		{
+			csvTrace = new BufferedWriter(new FileWriter(file), 1 << 16);
+			csvTrace.write("frame,ticks,draw_calls,phase,class,count,nanos\n");
+		}
+		else
+		{
+			binaryTrace = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+			binaryTrace.writeInt(TRACE_MAGIC);
+			binaryTrace.writeInt(TRACE_VERSION);
+			binaryTrace.writeInt(PHASES.length);
+
+			for(Phase phase : PHASES)
+			{
+				binaryTrace.writeUTF(phase.name());
+			}
+		}
+
+		for(ClassEntry entry : classes.values())
+		{
+			entry.traced = false;
+		}
+
+		traceFile = file;
+
+		System.out.println("Tracing to " + file.getAbsolutePath());
+	}
+
+	public void stopTrace()
+	{
+		if(traceFile == null)
+			return;
+
+		try
+		{
+			if(binaryTrace != null)
+				binaryTrace.close();
+
+			if(csvTrace != null)
+				csvTrace.close();
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+
+		System.out.println("Trace written to " + traceFile.getAbsolutePath());
+
+		binaryTrace = null;
+		csvTrace = null;
+		traceFile = null;
+	}
+
+	private void writeFrame()
+	{
+		try
+		{
+			if(binaryTrace != null)
+				writeBinaryFrame(binaryTrace);
+			else
+				writeCsvFrame(csvTrace);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			stopTrace();
+		}
+	}
+
+	private void writeBinaryFrame(DataOutputStream out) throws IOException
+	{
+		for(int i = 0; i < touchedCount; i++)
+		{
+			ClassEntry entry = touched[i].entry;
+
+			if(!entry.traced)
+			{
+				out.writeByte(TRACE_CLASS);
+				out.writeInt(entry.id);
+				out.writeUTF(entry.type.getName());
+
+				entry.traced = true;
+			}
+		}
+
+		out.writeByte(TRACE_FRAME);
+		out.writeLong(frame);
+		out.writeInt(ticks[slot]);
+		out.writeInt(drawCalls[slot]);
+		out.writeLong(frameNanos[slot]);
+
+		for(int i = 0; i < PHASES.length; i++)
+		{
+			out.writeLong(phaseNanos[i][slot]);
+		}
+
+		out.writeInt(touchedCount);
+
+		for(int i = 0; i < touchedCount; i++)
+		{
+			ClassSamples samples = touched[i];
+
+			out.writeInt(samples.entry.id);
+			out.writeByte(samples.phase.ordinal());
+			out.writeInt(samples.counts[slot]);
+			out.writeLong(samples.nanos[slot]);
+		}
+	}
+
+	private void writeCsvFrame(BufferedWriter out) throws IOException
+	{
+		String prefix = frame + "," + ticks[slot] + "," + drawCalls[slot] + ",";
+
+		out.write(prefix + "FRAME,,," + frameNanos[slot] + "\n");
+
+		for(Phase phase : PHASES)
+		{
+			out.write(prefix + phase.name() + ",,," + phaseNanos[phase.ordinal()][slot] + "\n");
+		}
+
+		for(int i = 0; i < touchedCount; i++)
+		{
+			ClassSamples samples = touched[i];
+
+			out.write(prefix + samples.phase.name() + "," + samples.entry.type.getName() + "," + samples.counts[slot] + "," + samples.nanos[slot] + "\n");
+		}
+	}
+}
@@ -1,183 +1,703 @@
 package java2hu;
 
-import java.util.Collection;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Iterator;
-import java2hu.object.StageObject;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This list will take care of concurrent changes during an iteration.
  * Only supports 1 main iteration.
+ *
+ * Objects are kept in a dense array in the order they were added, so iterating is a walk over the array.
+ * The index of every object in the array is kept in an identity map, so adding, removing and contains only go through a concurrent map while other threads have changes queued.
+ *
+ * Changes to the array itself are only made by the owner thread (the one calling {@link #startReading()}, the game loop):
+ * - Adds are appended right away, iterators stop at the size the array had when they started walking, so they don't see the ones added during an iteration.
+ * - Removes leave a hole (null) that iterators skip, the holes are compacted out once no {@link #renderIterator()} is running.
+ * - Adds and removes from other threads (like a {@link GameFlowScheme}) go through a queue, which the owner applies when it starts or ends reading.
+ *   What's queued is also kept in a concurrent map and counted, so {@link #contains(Object)} and {@link #size()} are right away correct from any thread.
  */
-public class RenderSet<E> extends ConcurrentSet<E>
+public class RenderSet<E> extends AbstractSet<E>
 {
+	/**
+	 * Changes from other threads, true if the object was added, false if it was removed. Only the last change of every object counts.
+	 */
+	private ConcurrentHashMap<Object, Boolean> queued = new ConcurrentHashMap<Object, Boolean>();
+	private ConcurrentLinkedQueue<Object> changes = new ConcurrentLinkedQueue<Object>();
+
+	/**
+	 * How much the queued changes will change the size by.
+	 */
+	private AtomicInteger queuedDelta = new AtomicInteger();
+
+	private volatile Thread owner;
+	private volatile boolean cleared = false;
+
+	// Everything below is only changed by the owner thread.
+
+	private Object[] elements = new Object[16];
+	private int size = 0;
+
+	/**
+	 * Amount of objects in the set, the elements array also has holes.
+	 */
+	private volatile int live = 0;
+
+	/**
+	 * Index of every object in the elements array. Changed with it locked, so other threads can read it.
+	 */
+	private IndexMap indices = new IndexMap();
+
+	/**
+	 * Objects removed during the current iteration, see {@link #willBeRemoved(Object)}. Only the keys are used.
+	 */
+	private IndexMap removedWhileIterating = new IndexMap();
+
 	private boolean iterating;
-	
+	private RenderIterator renderIterator;
+
 	public void startReading()
 	{
+		owner = Thread.currentThread();
+
+		applyQueued();
+		compact();
+
 		iterating = true;
 	}
-	
+
 	public void endReading()
 	{
 		iterating = false;
-		
-		if(cleared)
-		{
-			cleared = false;
-			super.clear();
-		}
-		else
-		{
-			for(Object obj : removedObjects)
-			{
-				if(obj instanceof StageObject)
-				{
-					String name = ((StageObject) obj).getName();
-				}
-				
-				remove(obj);
-			}
-		}
-		
-		removedObjects.clear();
-		
+
+		removedWhileIterating.clear();
+
+		applyQueued();
+		compact();
 	}
-	
-	private ConcurrentSet removedObjects = new ConcurrentSet();
-	
+
+	private boolean isOwner()
+	{
+		return Thread.currentThread() == owner;
+	}
+
 	/**
-	 * Returns true if an object was marked for removal during iteration.
+	 * Returns true if an object was removed during the current iteration.
+	 * Only known to the owner thread.
 	 * @param object
 	 * @return
 	 */
 	public boolean willBeRemoved(E object)
 	{
-		return removedObjects.contains(object);
+		if(object == null || !isOwner() || !iterating)
+			return false;
+
+		return removedWhileIterating.get(object) >= 0;
 	}
-	
+
 	@Override
-	public boolean remove(Object o)
+	public boolean add(E object)
 	{
-		if(iterating)
+		if(object == null)
+			return false;
+
+		if(!isOwner())
+			return queue(object, true);
+
+		if(!queued.isEmpty())
 		{
-			removedObjects.add(o);
-			return true;
+			// Made after the queued change, so it replaces it.
+			Boolean change = queued.remove(object);
+
+			if(change != null)
+			{
+				attach(object, change);
+				return !change;
+			}
 		}
-		
-		if(o == null)
+
+		// Cleared by another thread, that has to go first.
+		if(cleared)
+			applyQueued();
+
+		return attach(object, null);
+	}
+
+	@Override
+	public boolean remove(Object object)
+	{
+		if(object == null)
 			return false;
-		
-		return super.remove(o);
+
+		if(!isOwner())
+			return queue(object, false);
+
+		if(!queued.isEmpty())
+		{
+			Boolean change = queued.remove(object);
+
+			if(change != null)
+			{
+				detach(object, change);
+				return change;
+			}
+		}
+
+		if(cleared)
+			applyQueued();
+
+		return detach(object, null);
 	}
-	
+
 	@Override
-	public boolean removeAll(Collection<?> c)
+	public boolean contains(Object object)
 	{
-		boolean changed = false;
-		
-		for(Object obj : c)
+		if(object == null)
+			return false;
+
+		if(!queued.isEmpty())
 		{
-			if(remove(obj))
-				changed = true;
+			Boolean change = queued.get(object);
+
+			if(change != null)
+				return change;
 		}
-		
-		return changed;
+
+		return containsApplied(object);
 	}
-	
-	private boolean cleared = false;
-	
+
+	/**
+	 * Same as contains, without the queued changes.
+	 */
+	private boolean containsApplied(Object object)
+	{
+		if(cleared)
+			return false;
+
+		if(isOwner())
+			return indices.get(object) >= 0;
+
+		synchronized(indices)
+		{
+			return indices.get(object) >= 0;
+		}
+	}
+
+	/**
+	 * Includes the changes queued by other threads.
+	 */
+	@Override
+	public int size()
+	{
+		if(isOwner())
+			return count();
+
+		// So a change isn't counted twice (or not at all) while the owner applies it.
+		synchronized(indices)
+		{
+			return count();
+		}
+	}
+
+	private int count()
+	{
+		return Math.max(0, (cleared ? 0 : live) + queuedDelta.get());
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
 	public boolean isCleared()
 	{
 		return cleared;
 	}
-	
+
 	public boolean isIterating()
 	{
 		return iterating;
 	}
-	
+
 	@Override
 	public void clear()
 	{
-		if(iterating)
-			cleared = true;
-		else
+		queued.clear();
+		queuedDelta.set(0);
+		cleared = true;
+
+		if(isOwner() && !iterating)
+			applyQueued();
+	}
+
+	/**
+	 * Owner only, appends the object to the array if it isn't in there yet.
+	 * @param change - The queued change of the object that this takes the place of, null if there was none.
+	 */
+	private boolean attach(Object object, Boolean change)
+	{
+		if(size == elements.length)
+			elements = Arrays.copyOf(elements, size * 2);
+
+		synchronized(indices)
 		{
-			super.clear();
+			unqueue(change);
+
+			if(indices.get(object) >= 0)
+				return false;
+
+			indices.put(object, size);
+			live++;
 		}
+
+		elements[size++] = object;
+
+		return true;
 	}
-	
-	public Iterator<E> renderIterator()
+
+	/**
+	 * Owner only, leaves a hole where the object was.
+	 * @param change - The queued change of the object that this takes the place of, null if there was none.
+	 */
+	private boolean detach(Object object, Boolean change)
 	{
-		Iterator<E> iterator = new Iterator<E>()
+		int index;
+
+		synchronized(indices)
 		{
-			private Iterator<E> underlying = RenderSet.this.iterator();
-			
+			unqueue(change);
+
+			index = indices.remove(object);
+
+			if(index >= 0)
+				live--;
+		}
+
+		if(index < 0)
+			return false;
+
+		elements[index] = null;
+
+		if(iterating)
+			removedWhileIterating.put(object, index);
+
+		return true;
+	}
+
+	/**
+	 * Not the owner, queues adding (or removing) the object, if that changes anything.
+	 */
+	private boolean queue(Object object, boolean add)
+	{
+		Boolean change = Boolean.valueOf(add);
+
+		while(true)
+		{
+			Boolean current = queued.get(object);
+
+			if(current == change)
+				return false;
+
+			if(current != null)
 			{
-				loadNext();
+				// Takes back the opposite change, which leaves it as the owner has it.
+				if(!queued.remove(object, current))
+					continue;
+
+				queuedDelta.addAndGet(add ? 1 : -1);
+
+				return true;
 			}
 
-			@Override
-			public boolean hasNext()
+			if(containsApplied(object) == add)
+				return false;
+
+			if(queued.putIfAbsent(object, change) != null)
+				continue;
+
+			queuedDelta.addAndGet(add ? 1 : -1);
+			changes.offer(object);
+
+			return true;
+		}
+	}
+
+	/**
+	 * Owner only, stops counting a queued change that was taken out of the queue. Called with indices locked, together with changing live.
+	 */
+	private void unqueue(Boolean change)
+	{
+		if(change != null)
+			queuedDelta.addAndGet(change ? -1 : 1);
+	}
+
+	/**
+	 * Owner only, applies the changes made by other threads (and clears).
+	 */
+	private void applyQueued()
+	{
+		if(cleared && !iterating)
+		{
+			cleared = false;
+
+			Arrays.fill(elements, 0, size, null);
+			size = 0;
+
+			synchronized(indices)
 			{
-				if(isCleared() || next == null)
-					return false;
-				
-				return true;
+				indices.clear();
+				live = 0;
 			}
-			
-			private E current;
-			private E next;
+		}
+
+		Object object;
+
+		while((object = changes.poll()) != null)
+		{
+			Boolean change = queued.remove(object);
+
+			// Already applied by an earlier entry, or cleared since.
+			if(change == null)
+				continue;
 
-			@Override
-			public E next()
+			if(change)
+				attach(object, change);
+			else
+				detach(object, change);
+		}
+	}
+
+	/**
+	 * Owner only, drops the holes from the array, keeping the order of the rest.
+	 * Not done while iterating, or while a render iterator is walking the array.
+	 */
+	private void compact()
+	{
+		if(iterating || live == size || (renderIterator != null && !renderIterator.done))
+			return;
+
+		int newSize = 0;
+
+		synchronized(indices)
+		{
+			for(int i = 0; i < size; i++)
 			{
-				if(next != null)
+				Object object = elements[i];
+
+				if(object == null)
+					continue;
+
+				if(i != newSize)
 				{
-					current = next;
-					
-					loadNext();
-					
-					return current;
+					elements[newSize] = object;
+					indices.put(object, newSize);
 				}
-				
-				return null;
+
+				newSize++;
 			}
-			
-			private void loadNext()
+		}
+
+		Arrays.fill(elements, newSize, size, null);
+		size = newSize;
+	}
+
+	/**
+	 * Iterates in the order objects were added.
+	 * Other threads get an iterator over a copy of the objects instead.
+	 */
+	@Override
+	public Iterator<E> iterator()
+	{
+		if(!isOwner())
+		{
+			final Object[] copy;
+
+			synchronized(indices)
 			{
-				if(isCleared())
+				copy = Arrays.copyOf(elements, size);
+			}
+
+			return new Iterator<E>()
+			{
+				private int index = 0;
+				private E current;
+
+				@Override
+				public boolean hasNext()
 				{
-					next = null;
-					return;
+					while(index < copy.length && copy[index] == null)
+						index++;
+
+					return index < copy.length;
 				}
-				
-				if(!underlying.hasNext())
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public E next()
 				{
-					next = null;
-					return;
+					if(!hasNext())
+						throw new NoSuchElementException();
+
+					current = (E) copy[index++];
+					return current;
 				}
-				
-				E next = underlying.next();
-				
-				boolean removed = willBeRemoved(next);
-				
-				if(removed)
+
+				@Override
+				public void remove()
 				{
-					loadNext();
+					RenderSet.this.remove(current);
+				}
+			};
+		}
+
+		return new ArrayIterator();
+	}
+
+	/**
+	 * The iterator the game loop uses, stops if the set gets cleared.
+	 */
+	public Iterator<E> renderIterator()
+	{
+		if(!isOwner())
+			return iterator();
+
+		renderIterator = null;
+
+		if(!iterating)
+		{
+			applyQueued();
+			compact();
+		}
+
+		renderIterator = new RenderIterator();
+
+		return renderIterator;
+	}
+
+	private class ArrayIterator implements Iterator<E>
+	{
+		protected int index = 0;
+		protected E current;
+		protected E next;
+
+		/**
+		 * Objects added after the first step aren't visited (so the ones applied by {@link #startReading()} right after making a render iterator are).
+		 */
+		protected int end = -1;
+
+		protected boolean done = false;
+
+		protected void loadNext()
+		{
+			next = null;
+
+			if(end < 0)
+				end = size;
+
+			Object[] elements = RenderSet.this.elements;
+			int end = Math.min(this.end, size);
+
+			while(index < end)
+			{
+				Object object = elements[index++];
+
+				// Removed.
+				if(object == null)
+					continue;
+
+				@SuppressWarnings("unchecked")
+				E e = (E) object;
+
+				next = e;
+				return;
+			}
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			if(next == null)
+				loadNext();
+
+			if(next == null)
+				done = true;
+
+			return next != null;
+		}
+
+		@Override
+		public E next()
+		{
+			if(!hasNext())
+				throw new NoSuchElementException();
+
+			current = next;
+			next = null;
+
+			return current;
+		}
+
+		@Override
+		public void remove()
+		{
+			RenderSet.this.remove(current);
+		}
+	}
+
+	private class RenderIterator extends ArrayIterator
+	{
+		@Override
+		public boolean hasNext()
+		{
+			if(isCleared())
+			{
+				done = true;
+				return false;
+			}
+
+			return super.hasNext();
+		}
+
+		@Override
+		public E next()
+		{
+			if(!hasNext())
+				return null;
+
+			return super.next();
+		}
+	}
+
+	/**
+	 * Identity map from object to index, with open addressing so nothing is boxed or allocated per entry.
+	 */
+	private static class IndexMap
+	{
+		private Object[] keys = new Object[32];
+		private int[] values = new int[32];
+		private int mask = 31;
+		private int size = 0;
+
+		private int slot(Object key)
+		{
+			int hash = System.identityHashCode(key) * 0x9E3779B9;
+
+			return (hash ^ (hash >>> 16)) & mask;
+		}
+
+		/**
+		 * Returns the index of the object, -1 if it isn't in here.
+		 */
+		public int get(Object key)
+		{
+			for(int i = slot(key); ; i = (i + 1) & mask)
+			{
+				Object k = keys[i];
+
+				if(k == key)
+					return values[i];
+
+				if(k == null)
+					return -1;
+			}
+		}
+
+		public void put(Object key, int value)
+		{
+			int i = slot(key);
+
+			for(; ; i = (i + 1) & mask)
+			{
+				Object k = keys[i];
+
+				if(k == key)
+				{
+					values[i] = value;
 					return;
 				}
-				
-				this.next = next;
+
+				if(k == null)
+					break;
+			}
+
+			keys[i] = key;
+			values[i] = value;
+
+			if(++size * 2 > keys.length)
+				resize(keys.length * 2);
+		}
+
+		/**
+		 * Returns the index the object had, -1 if it wasn't in here.
+		 */
+		public int remove(Object key)
+		{
+			int i = slot(key);
+
+			for(; ; i = (i + 1) & mask)
+			{
+				Object k = keys[i];
+
+				if(k == key)
+					break;
+
+				if(k == null)
+					return -1;
 			}
-			
-			@Override
-			public void remove()
+
+			int value = values[i];
+
+			keys[i] = null;
+			size--;
+
+			// Moves the entries after it back, so lookups don't stop at the hole.
+			for(int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask)
 			{
-				removedObjects.add(current);
+				int ideal = slot(keys[j]);
+
+				boolean between = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+
+				if(between)
+					continue;
+
+				keys[i] = keys[j];
+				values[i] = values[j];
+				keys[j] = null;
+				i = j;
 			}
-		};
-		
-		return iterator;
+
+			return value;
+		}
+
+		public void clear()
+		{
+			if(size == 0)
+				return;
+
+			Arrays.fill(keys, null);
+			size = 0;
+		}
+
+		private void resize(int capacity)
+		{
+			Object[] oldKeys = keys;
+			int[] oldValues = values;
+
+			keys = new Object[capacity];
+			values = new int[capacity];
+			mask = capacity - 1;
+			size = 0;
+
+			for(int i = 0; i < oldKeys.length; i++)
+			{
+				if(oldKeys[i] != null)
+					put(oldKeys[i], oldValues[i]);
+			}
+		}
 	}
 }
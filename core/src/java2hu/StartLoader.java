@@ -1,8 +1,30 @@
 package java2hu;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java2hu.overwrite.J2hObject;
 
 import org.reflections.Reflections;
@@ -15,78 +37,429 @@ import org.reflections.util.ConfigurationBuilder;
  * Loader to load all that needs to be loaded.
  * ie. Add the @LoadOnStartup annotation to a static method, and it shall be loaded once the loadStartup function is called here.
  * This way you don't need to make a list of all things to load in the main class, but simply call this. (It is already standardly loaded in Java2huGame.create())
+ * The methods are found through an index made while compiling (see {@link #INDEX}), so the classpath doesn't have to be scanned.
  * Note: Must not have any arguments.
+ * Startup methods run in parallel on a small pool, see {@link LoadOnStartup}. How long every one took is printed once they're done.
  */
 public class StartLoader extends J2hObject
 {
+	/**
+	 * Maximum amount of load units running at the same time.
+	 */
+	public static final int MAX_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+	
+	/**
+	 * One startup method, run on the loader pool once all units it depends on are done.
+	 */
+	private static class LoadUnit implements Runnable
+	{
+		private Method method;
+		private String name;
+		
+		private ArrayList<LoadUnit> dependents = new ArrayList<LoadUnit>();
+		private AtomicInteger waitingFor = new AtomicInteger();
+		
+		private ExecutorService pool;
+		private CountDownLatch done;
+		
+		private long queueTime;
+		private long startTime;
+		private long endTime;
+		
+		@Override
+		public void run()
+		{
+			startTime = System.nanoTime();
+			
+			try
+			{
+				method.invoke(null, (Object[])null);
+			}
+			catch (IllegalAccessException e)
+			{
+				e.printStackTrace();
+			}
+			catch (IllegalArgumentException e)
+			{
+				e.printStackTrace();
+			}
+			catch (InvocationTargetException e)
+			{
+				e.printStackTrace();
+			}
+			catch (RuntimeException | Error e)
+			{
+				e.printStackTrace();
+			}
+			finally
+			{
+				endTime = System.nanoTime();
+				
+				for(LoadUnit dependent : dependents)
+				{
+					if(dependent.waitingFor.decrementAndGet() == 0)
+						dependent.submit();
+				}
+				
+				done.countDown();
+			}
+		}
+		
+		private void submit()
+		{
+			queueTime = System.nanoTime();
+			pool.execute(this);
+		}
+	}
+	
+	/**
+	 * Tasks for the render thread (GL uploads) handed in by load units, see {@link #upload(Runnable)}.
+	 */
+	private static ConcurrentLinkedQueue<Runnable> uploads = new ConcurrentLinkedQueue<Runnable>();
+	
+	/**
+	 * Runs everything with the {@link LoadOnStartup} annotation, independent units in parallel on a pool of {@link #MAX_THREADS} threads.
+	 * Once everything is loaded (including the uploads), onFinish is ran on the game thread.
+	 */
 	public static void loadStartup(final Runnable onFinish)
 	{
-		Thread thread = new Thread()
+		Thread thread = new Thread("Startup loader")
 		{
 			@Override
 			public void run()
 			{
-				Reflections reflections = new Reflections(new ConfigurationBuilder()
-				.setUrls(ClasspathHelper.forClassLoader())
-				.setScanners(new MethodAnnotationsScanner()));
-
-				for(Method method : reflections.getMethodsAnnotatedWith(LoadOnStartup.class))
+				long start = System.nanoTime();
+				
+				ArrayList<LoadUnit> units = createUnits(findMethods());
+				
+				ExecutorService pool = Executors.newFixedThreadPool(Math.min(MAX_THREADS, Math.max(1, units.size())), new ThreadFactory()
 				{
-					if(!method.isAccessible())
+					private AtomicInteger count = new AtomicInteger();
+					
+					@Override
+					public Thread newThread(Runnable run)
 					{
-						method.setAccessible(true);
+						Thread thread = new Thread(run, "Startup loader " + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
 					}
-
-					if(!Modifier.isStatic(method.getModifiers()))
+				});
+				
+				CountDownLatch done = new CountDownLatch(units.size());
+				
+				for(LoadUnit unit : units)
+				{
+					unit.pool = pool;
+					unit.done = done;
+				}
+				
+				// Picked before submitting anything, units that finish right away submit their dependents themselves.
+				ArrayList<LoadUnit> ready = new ArrayList<LoadUnit>();
+				
+				for(LoadUnit unit : units)
+				{
+					if(unit.waitingFor.get() == 0)
+						ready.add(unit);
+				}
+				
+				for(LoadUnit unit : ready)
+				{
+					unit.submit();
+				}
+				
+				try
+				{
+					done.await();
+				}
+				catch (InterruptedException e)
+				{
+					e.printStackTrace();
+				}
+				
+				pool.shutdown();
+				
+				printTimings(units, System.nanoTime() - start);
+				
+				Runnable finish = new Runnable()
+				{
+					@Override
+					public void run()
 					{
-						System.out.println("Method " + method + " is not static and contains LoadByLoader annotation, please static the method or remove it.");
-						continue;
+						runUploads();
+						
+						if(onFinish != null)
+							onFinish.run();
 					}
-
-					if(method.getParameterTypes().length != 0)
-					{
-						System.out.println("Method " + method + " has arguments, please remove the arguments or remove it.");
+				};
+				
+				if(!Game.getGame().isPaused())
+					Game.getGame().addTaskGame(finish, 0);
+				else
+					Game.getGame().addTaskPause(finish, 0);
+			}
+		};
+		
+		thread.start();
+	}
+	
+	/**
+	 * Makes the load units for these methods and links them to the units they depend on (see {@link LoadOnStartup#after()}).
+	 * Units in a dependency cycle are warned about and ran without waiting on each other.
+	 */
+	private static ArrayList<LoadUnit> createUnits(Set<Method> methods)
+	{
+		ArrayList<LoadUnit> units = new ArrayList<LoadUnit>();
+		HashMap<Class<?>, ArrayList<LoadUnit>> byClass = new HashMap<Class<?>, ArrayList<LoadUnit>>();
+		
+		for(Method method : methods)
+		{
+			if(!Modifier.isStatic(method.getModifiers()))
+			{
+				System.out.println("Method " + method + " is not static and contains LoadByLoader annotation, please static the method or remove it.");
+				continue;
+			}
+			
+			if(method.getParameterTypes().length != 0)
+			{
+				System.out.println("Method " + method + " has arguments, please remove the arguments or remove it.");
+				continue;
+			}
+			
+			if(!method.isAccessible())
+			{
+				method.setAccessible(true);
+			}
+			
+			LoadUnit unit = new LoadUnit();
+			unit.method = method;
+			unit.name = method.getDeclaringClass().getName() + "." + method.getName();
+			
+			units.add(unit);
+			
+			if(!byClass.containsKey(method.getDeclaringClass()))
+				byClass.put(method.getDeclaringClass(), new ArrayList<LoadUnit>());
+			
+			byClass.get(method.getDeclaringClass()).add(unit);
+		}
+		
+		for(LoadUnit unit : units)
+		{
+			LoadOnStartup annotation = unit.method.getAnnotation(LoadOnStartup.class);
+			
+			if(annotation == null)
+				continue;
+			
+			for(Class<?> after : annotation.after())
+			{
+				ArrayList<LoadUnit> dependencies = byClass.get(after);
+				
+				if(dependencies == null)
+				{
+					System.out.println(unit.name + " loads after " + after.getName() + ", which has no startup methods.");
+					continue;
+				}
+				
+				for(LoadUnit dependency : dependencies)
+				{
+					if(dependency == unit)
 						continue;
-					}
-
-					try
-					{
-						method.invoke(null, (Object[])null);
-					}
-					catch (IllegalAccessException e)
-					{
-						e.printStackTrace();
-					}
-					catch (IllegalArgumentException e)
-					{
-						e.printStackTrace();
-					}
-					catch (InvocationTargetException e)
-					{
-						e.printStackTrace();
-					}
+					
+					dependency.dependents.add(unit);
+					unit.waitingFor.incrementAndGet();
 				}
+			}
+		}
+		
+		breakCycles(units);
+		
+		return units;
+	}
+	
+	/**
+	 * Finds units that would never run because they (indirectly) wait on themselves, and lets them go.
+	 */
+	private static void breakCycles(ArrayList<LoadUnit> units)
+	{
+		HashMap<LoadUnit, Integer> waiting = new HashMap<LoadUnit, Integer>();
+		ArrayList<LoadUnit> ready = new ArrayList<LoadUnit>();
+		
+		for(LoadUnit unit : units)
+		{
+			waiting.put(unit, unit.waitingFor.get());
+			
+			if(unit.waitingFor.get() == 0)
+				ready.add(unit);
+		}
+		
+		for(int i = 0; i < ready.size(); i++)
+		{
+			for(LoadUnit dependent : ready.get(i).dependents)
+			{
+				int left = waiting.get(dependent) - 1;
+				
+				waiting.put(dependent, left);
+				
+				if(left == 0)
+					ready.add(dependent);
+			}
+		}
+		
+		if(ready.size() == units.size())
+			return;
+		
+		for(LoadUnit unit : units)
+		{
+			if(waiting.get(unit) > 0)
+			{
+				System.out.println(unit.name + " is part of a startup dependency cycle, loading it without waiting.");
 				
-				if(onFinish != null)
+				for(LoadUnit other : units)
 				{
-					if(!Game.getGame().isPaused())
-						Game.getGame().addTaskGame(onFinish, 0);
-					else
-						Game.getGame().addTaskPause(onFinish, 0);
+					other.dependents.remove(unit);
 				}
 				
-				interrupt();
+				unit.waitingFor.set(0);
 			}
-		};
+		}
+	}
+	
+	private static void printTimings(ArrayList<LoadUnit> units, long total)
+	{
+		ArrayList<LoadUnit> sorted = new ArrayList<LoadUnit>(units);
 		
-		thread.start();
+		Collections.sort(sorted, new Comparator<LoadUnit>()
+		{
+			@Override
+			public int compare(LoadUnit o1, LoadUnit o2)
+			{
+				return Long.compare(o2.endTime - o2.startTime, o1.endTime - o1.startTime);
+			}
+		});
+		
+		System.out.println("Startup loading took " + total / 1000000 + "ms (" + units.size() + " units on " + MAX_THREADS + " threads):");
+		
+		for(LoadUnit unit : sorted)
+		{
+			System.out.println(" " + unit.name + " - " + (unit.endTime - unit.startTime) / 1000000 + "ms (queued " + (unit.startTime - unit.queueTime) / 1000000 + "ms)");
+		}
+	}
+	
+	/**
+	 * For load units: runs something on the render thread, for anything that has to be done on the GL thread (like making textures).
+	 * Do the decoding in the load unit itself, and only hand the upload to this.
+	 * All uploads are done before the onFinish of {@link #loadStartup(Runnable)} runs.
+	 */
+	public static void upload(Runnable run)
+	{
+		uploads.offer(run);
+		
+		// Don't wait with uploading until everything is loaded.
+		Game.getGame().addTask(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runUploads();
+			}
+		}, 0);
+	}
+	
+	private static void runUploads()
+	{
+		Runnable upload;
+		
+		while((upload = uploads.poll()) != null)
+		{
+			long start = System.nanoTime();
+			
+			upload.run();
+			
+			System.out.println("Upload " + upload.getClass().getName() + " took " + (System.nanoTime() - start) / 1000000 + "ms.");
+		}
+	}
+	
+	/**
+	 * Location of the index the LoadOnStartupProcessor (processor project) writes while compiling, one "binary class name#method" per line.
+	 */
+	public static final String INDEX = "META-INF/java2hu/load-on-startup.index";
+	
+	/**
+	 * Returns all methods with the {@link LoadOnStartup} annotation.
+	 * Read from the index files on the classpath, only if there are none (not compiled with the processor) the whole classpath is scanned with Reflections.
+	 */
+	private static Set<Method> findMethods()
+	{
+		ClassLoader loader = StartLoader.class.getClassLoader();
+		
+		Set<Method> methods = new LinkedHashSet<Method>();
+		boolean foundIndex = false;
+		
+		try
+		{
+			Enumeration<URL> indexes = loader.getResources(INDEX);
+			
+			while(indexes.hasMoreElements())
+			{
+				URL url = indexes.nextElement();
+				
+				foundIndex = true;
+				
+				try(BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)))
+				{
+					String line;
+					
+					while((line = reader.readLine()) != null)
+					{
+						line = line.trim();
+						
+						if(line.isEmpty())
+							continue;
+						
+						int split = line.indexOf('#');
+						
+						try
+						{
+							Class<?> type = Class.forName(line.substring(0, split), false, loader);
+							
+							methods.add(type.getDeclaredMethod(line.substring(split + 1)));
+						}
+						catch(ClassNotFoundException | NoSuchMethodException e)
+						{
+							System.out.println("Method " + line + " from " + url + " doesn't exist anymore, rebuild to update the index.");
+						}
+					}
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+		
+		if(foundIndex)
+			return methods;
+		
+		System.out.println("No " + INDEX + " found, scanning the classpath for startup methods.");
+		
+		Reflections reflections = new Reflections(new ConfigurationBuilder()
+		.setUrls(ClasspathHelper.forClassLoader())
+		.setScanners(new MethodAnnotationsScanner()));
+		
+		return reflections.getMethodsAnnotatedWith(LoadOnStartup.class);
 	}
 	
 	/**
 	 * Assign this annotation to a static method, and it shall be executed once you call the loadStartup() method
+	 * Methods run in parallel, so use {@link #after()} if one needs something another one loads.
+	 * Anything that needs the GL thread goes through {@link StartLoader#upload(Runnable)}.
 	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
 	public static @interface LoadOnStartup
 	{
-
+		/**
+		 * Classes whose startup methods have to be done before this one runs.
+		 */
+		Class<?>[] after() default {};
 	}
 }
@@ -0,0 +1,175 @@
+package java2hu;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Delayed tasks for one ticker (game, pause or internal), kept in a heap sorted by the tick they're due.
+ * Every tick only the tasks that are due are touched, in the order they were added if they're due on the same tick.
+ *
+ * Tasks can be added from any thread, they're ran by the game thread in {@link #runDue(long)}.
+ * Tasks added while running (even if they're due right away) wait until the next call, same as before.
+ * Cancelling a task or clearing the queue doesn't search the heap, cancelled tasks are skipped once they're due.
+ */
+public class TaskQueue
+{
+	private static final Comparator<Handle> ORDER = new Comparator<Handle>()
+	{
+		@Override
+		public int compare(Handle o1, Handle o2)
+		{
+			if(o1.tick != o2.tick)
+				return o1.tick < o2.tick ? -1 : 1;
+
+			return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+		}
+	};
+
+	/**
+	 * A task that was added, can be used to cancel it.
+	 */
+	public static class Handle
+	{
+		private TaskQueue queue;
+		private Runnable runnable;
+		private long tick;
+		private long sequence;
+		private int generation;
+
+		private volatile boolean cancelled = false;
+		private volatile boolean done = false;
+
+		/**
+		 * Makes sure the task won't run, if it hasn't yet.
+		 */
+		public void cancel()
+		{
+			cancelled = true;
+		}
+
+		/**
+		 * Returns true if the task was cancelled, or the queue was cleared before it ran.
+		 */
+		public boolean isCancelled()
+		{
+			return !done && (cancelled || generation != queue.generation);
+		}
+
+		public boolean isDone()
+		{
+			return done;
+		}
+
+		/**
+		 * The tick this task is due.
+		 */
+		public long getTick()
+		{
+			return tick;
+		}
+	}
+
+	private PriorityQueue<Handle> tasks = new PriorityQueue<Handle>(64, ORDER);
+	private long sequence = 0;
+
+	/**
+	 * Tasks added during a {@link #runDue(long)} that were in the way of older due ones, put back once it's done.
+	 */
+	private ArrayList<Handle> setAside = new ArrayList<Handle>();
+	private volatile int generation = 0;
+
+	/**
+	 * Adds a task that runs once the ticker reaches the tick.
+	 */
+	public synchronized Handle add(Runnable run, long tick)
+	{
+		Handle task = new Handle();
+		task.queue = this;
+		task.runnable = run;
+		task.tick = tick;
+		task.sequence = sequence++;
+		task.generation = generation;
+
+		tasks.add(task);
+
+		return task;
+	}
+
+	/**
+	 * Drops all tasks.
+	 */
+	public synchronized void clear()
+	{
+		tasks = new PriorityQueue<Handle>(64, ORDER);
+		generation++;
+	}
+
+	/**
+	 * Runs all tasks that are due at this tick, and were added before this was called.
+	 */
+	public void runDue(long tick)
+	{
+		long end;
+
+		synchronized(this)
+		{
+			end = sequence;
+		}
+
+		try
+		{
+			while(true)
+			{
+				Handle task;
+
+				synchronized(this)
+				{
+					task = tasks.peek();
+
+					if(task == null || task.tick > tick)
+						return;
+
+					tasks.poll();
+
+					// Added while running, but there might be older tasks due after it (at a later tick).
+					if(task.sequence >= end)
+					{
+						setAside.add(task);
+						continue;
+					}
+				}
+
+				if(task.cancelled)
+					continue;
+
+				task.done = true;
+				task.runnable.run();
+			}
+		}
+		finally
+		{
+			synchronized(this)
+			{
+				for(int i = 0; i < setAside.size(); i++)
+				{
+					Handle task = setAside.get(i);
+
+					// Dropped if the queue was cleared in the meantime.
+					if(task.generation == generation)
+						tasks.add(task);
+				}
+
+				setAside.clear();
+			}
+		}
+	}
+
+	/**
+	 * Amount of tasks waiting, including cancelled ones that haven't been skipped yet.
+	 */
+	public synchronized int size()
+	{
+		return tasks.size();
+	}
+}
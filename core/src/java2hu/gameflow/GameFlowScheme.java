@@ -16,6 +16,13 @@ import java2hu.overwrite.J2hObject;
  * Do know that anything more specific should probably be put in a SpellCard instance or inside the code of the Boss, since this class is only really for spawning bossing and entities
  * You have to give a BooleanRunnable, so basically when that BooleanRunnable returns true it will wait, and if it's false it will continue.
  * However to make it wait you have to use doWait(), setWait(..) only sets the waiting criteria, doWait() actually makes the thread sleep.
+ * 
+ * While waiting the scheme is parked, the game checks the wait condition every logic tick (see {@link #tick()}) and resumes it on the tick it's met.
+ * The game then waits for the scheme to reach it's next wait, so the scheme runs in lockstep with the game loop instead of next to it.
+ * (If it takes longer than {@link #MAX_RESUME_MILLIS}, a warning is printed and the game continues, the scheme runs on next to it until it's next wait.)
+ * The scheme starts out parked as well, the part before the first wait runs on the first tick after it's started.
+ * So don't wait for the game from a scheme in any other way than a wait (like sleeping), the game is waiting for the scheme in between.
+ * Stopping is cooperative: the scheme stops at it's next wait.
  */
 public abstract class GameFlowScheme extends Thread
 {
@@ -29,8 +36,30 @@ public abstract class GameFlowScheme extends Thread
 		super("Game flow scheme");
 	}
 	
-	private boolean stop = false;
-	private WaitConditioner wait = null;
+	/**
+	 * Longest the game thread waits for a resumed scheme to reach it's next wait.
+	 */
+	public static final long MAX_RESUME_MILLIS = 100;
+	
+	/**
+	 * Thrown in the scheme thread at it's next wait once it's stopped, ends the scheme.
+	 */
+	private static class SchemeStopped extends ThreadDeath
+	{
+		private static final long serialVersionUID = 1L;
+	}
+	
+	private volatile boolean stop = false;
+	private volatile WaitConditioner wait = null;
+	
+	private final Object lock = new Object();
+	private boolean parked = true;
+	private boolean finished = false;
+	
+	/**
+	 * Threads other than the scheme that are waiting in {@link #doWait()}, woken up every tick.
+	 */
+	private int waiters = 0;
 	
 	@Override
 	public void run()
@@ -39,6 +68,9 @@ public abstract class GameFlowScheme extends Thread
 		
 		try
 		{
+			// Held until the first tick, like any other part of the scheme.
+			park();
+			
 			runScheme();
 		}
 		catch (ThreadDeath e)
@@ -51,10 +83,112 @@ public abstract class GameFlowScheme extends Thread
 			System.out.println("Exception in " + getName());
 			e.printStackTrace();
 		}
+		finally
+		{
+			synchronized(lock)
+			{
+				finished = true;
+				parked = false;
+				lock.notifyAll();
+			}
+		}
 		
 		System.out.println("Done running scheme");
 	}
 	
+	/**
+	 * Called by the game every logic tick, resumes the scheme if it's waiting and the wait condition is no longer met.
+	 * Waits until the scheme reaches it's next wait or finishes, for at most {@link #MAX_RESUME_MILLIS}.
+	 */
+	public void tick()
+	{
+		synchronized(lock)
+		{
+			if(waiters > 0)
+				lock.notifyAll();
+			
+			if(!parked || stop || finished)
+				return;
+		}
+		
+		WaitConditioner wait = this.wait;
+		
+		if(wait != null && wait.returnTrueToWait())
+			return;
+		
+		synchronized(lock)
+		{
+			parked = false;
+			lock.notifyAll();
+			
+			long end = System.currentTimeMillis() + MAX_RESUME_MILLIS;
+			
+			while(!parked && !finished)
+			{
+				long left = end - System.currentTimeMillis();
+				
+				if(left <= 0)
+				{
+					System.out.println("[" + getName() + "] Didn't reach it's next wait within " + MAX_RESUME_MILLIS + "ms, the game continues without it. Is it blocking outside of a wait?");
+					break;
+				}
+				
+				try
+				{
+					lock.wait(left);
+				}
+				catch (InterruptedException e)
+				{
+					e.printStackTrace();
+					break;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Parks the scheme thread until {@link #tick()} resumes it, or it's stopped.
+	 */
+	private void park()
+	{
+		synchronized(lock)
+		{
+			parked = true;
+			lock.notifyAll();
+			
+			while(parked && !stop)
+			{
+				try
+				{
+					lock.wait();
+				}
+				catch (InterruptedException e)
+				{
+					e.printStackTrace();
+				}
+			}
+		}
+		
+		if(stop)
+			throw new SchemeStopped();
+	}
+	
+	/**
+	 * Returns true if the scheme is parked in a wait, waiting to be resumed by {@link #tick()}.
+	 */
+	public boolean isWaiting()
+	{
+		synchronized(lock)
+		{
+			return parked;
+		}
+	}
+	
+	public boolean isStopped()
+	{
+		return stop;
+	}
+	
 	public abstract void runScheme();
 	
 	public GameFlowScheme getRestartInstance()
@@ -79,24 +213,43 @@ public abstract class GameFlowScheme extends Thread
 		if(wait == null)
 			return false;
 		
-		while(wait.returnTrueToWait())
+		if(Thread.currentThread() != this)
 		{
-			try
-			{
-				Thread.sleep(10);
-			}
-			catch (InterruptedException e)
-			{
-				e.printStackTrace();
-			}
+			// Not called from the scheme itself, this thread waits until a tick meets the condition instead.
+			WaitConditioner wait = this.wait;
 			
-			if(stop)
+			synchronized(lock)
 			{
-				stopScheme();
-				break;
+				waiters++;
+				
+				try
+				{
+					while(wait.returnTrueToWait() && !stop && !finished)
+					{
+						lock.wait();
+					}
+				}
+				catch (InterruptedException e)
+				{
+					e.printStackTrace();
+				}
+				finally
+				{
+					waiters--;
+				}
 			}
+			
+			return wait.returnTrueToWait();
 		}
 		
+		if(stop)
+			throw new SchemeStopped();
+		
+		if(!wait.returnTrueToWait())
+			return false;
+		
+		park();
+		
 		return wait.returnTrueToWait();
 	}
 	
@@ -132,15 +285,19 @@ public abstract class GameFlowScheme extends Thread
 		public abstract boolean returnTrueToWait();
 	}
 	
+	/**
+	 * Stops the scheme at it's next wait (right away if it's waiting now).
+	 */
 	public void stopScheme()
 	{
-		try
-		{
-			stop();
-		}
-		catch(ThreadDeath e)
+		stop = true;
+		
+		if(Thread.currentThread() == this)
+			throw new SchemeStopped();
+		
+		synchronized(lock)
 		{
-			System.out.println("ThreadDeath");
+			lock.notifyAll();
 		}
 	}
-}
+}
\ No newline at end of file
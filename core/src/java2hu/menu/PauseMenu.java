@@ -158,7 +158,7 @@ public class PauseMenu extends Menu
 			}
 		}));
 		
-		manager.addButton(new TextButton(450, 250, "(F) Toggle Profiling Mode (Needs console)", new Runnable()
+		manager.addButton(new TextButton(450, 250, "(F) Toggle Profiling Mode", new Runnable()
 		{
 			@Override
 			public void run()
@@ -167,6 +167,29 @@ public class PauseMenu extends Menu
 				Game.getGame().setProfiling(!Game.getGame().isProfiling());
 			}
 		}));
+		
+		manager.addButton(new TextButton(450, 200, "(T) Toggle Profiler Trace", new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				TouhouSounds.Hud.OK.play();
+				Game.getGame().toggleTrace();
+			}
+		}));
+		
+		if(Game.getGame().getRecording() != null)
+		{
+			manager.addButton(new TextButton(450, 150, "Save Replay", new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					TouhouSounds.Hud.OK.play();
+					Game.getGame().saveRecording();
+				}
+			}));
+		}
 	}
 	
 	@Override
@@ -1,5 +1,6 @@
 package java2hu.object;
 
+import java2hu.Game;
 
 /** 
  * Stage object not bound within the stage (So they can travel outside of the visible stage, and not get deleted unless you kill them.
@@ -13,14 +14,16 @@ public abstract class FreeStageObject extends StageObject
 	
 	public void setX(float x)
 	{
-		this.lastX = this.x;
+		markMoved();
+		
 		this.x = x;
 		this.lastMoveTime = System.currentTimeMillis();
 	}
 	
 	public void setY(float y)
 	{
-		this.lastY = this.y;
+		markMoved();
+		
 		this.y = y;
 		this.lastMoveTime = System.currentTimeMillis();
 	}
@@ -0,0 +1,218 @@
+package java2hu.object;
+
+import java.util.ArrayList;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Pool for stage objects that are spawned and deleted at a high rate (bullets, effects), so they don't have to be allocated every time.
+ *
+ * Lifecycle:
+ * {@link #acquire()} hands out a free object (or a new one if there are none), which is then spawned like any other object.
+ * Once the object is done it hands itself back with {@link StageObject#release()}, by default from {@link StageObject#disposeAll()},
+ * which is what {@link StageObject#onDelete()} calls after any delete animation.
+ * Released objects wait {@link #RELEASE_DELAY} logic ticks before they're reset and handed out again, the same delay disposing assets has,
+ * because the object can still be iterated over or drawn shortly after being deleted.
+ *
+ * Only objects that came out of a pool are ever put back in one, so objects made with new are never reused.
+ * Don't keep a reference to a pooled object after it has been deleted!
+ */
+public abstract class ObjectPool<T extends StageObject> extends J2hObject
+{
+	public static final int RELEASE_DELAY = 5;
+
+	private static ArrayList<ObjectPool<?>> pools = new ArrayList<ObjectPool<?>>();
+
+	/**
+	 * All pools made so far, for statistics.
+	 */
+	public static synchronized ArrayList<ObjectPool<?>> getPools()
+	{
+		return new ArrayList<ObjectPool<?>>(pools);
+	}
+
+	/**
+	 * Moves released objects that have waited long enough to the free list of their pool, called once every logic tick (not while paused).
+	 */
+	public static synchronized void updateAll()
+	{
+		for(int i = 0; i < pools.size(); i++)
+		{
+			pools.get(i).update();
+		}
+	}
+
+	private final Class<T> type;
+	private int cap;
+
+	private Array<T> free = new Array<T>(false, 64);
+	private Array<T> pending = new Array<T>(true, 64);
+	private IntArray pendingTicks = new IntArray(true, 64);
+	private int ticks = 0;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long released = 0;
+	private long discarded = 0;
+
+	/**
+	 * @param type - Class of the objects in this pool, objects of any other class (like a subclass) are never put in it.
+	 * @param cap - Maximum amount of free objects kept around, anything released above that is left for the garbage collector.
+	 */
+	public ObjectPool(Class<T> type, int cap)
+	{
+		this.type = type;
+		this.cap = cap;
+
+		synchronized(ObjectPool.class)
+		{
+			pools.add(this);
+		}
+	}
+
+	/**
+	 * Creates a new object for when the pool is empty.
+	 */
+	protected abstract T newObject();
+
+	/**
+	 * Returns a free object from this pool, or a new one if there are none.
+	 * The object is reset to the state {@link #newObject()} would give.
+	 */
+	public synchronized T acquire()
+	{
+		T object;
+
+		if(free.size > 0)
+		{
+			object = free.pop();
+			hits++;
+		}
+		else
+		{
+			object = newObject();
+			misses++;
+		}
+
+		object.pool = this;
+		object.inPool = false;
+
+		return object;
+	}
+
+	/**
+	 * Hands an object back to this pool, it will be reset and handed out again after {@link #RELEASE_DELAY} ticks.
+	 * Releasing an object twice does nothing.
+	 */
+	public synchronized void release(StageObject object)
+	{
+		if(object.pool != this || object.inPool || object.getClass() != type)
+			return;
+
+		object.inPool = true;
+		released++;
+
+		pending.add(type.cast(object));
+		pendingTicks.add(ticks);
+	}
+
+	private synchronized void update()
+	{
+		ticks++;
+
+		int done = 0;
+
+		while(done < pending.size && ticks - pendingTicks.get(done) >= RELEASE_DELAY)
+		{
+			T object = pending.get(done);
+
+			object.reset();
+
+			if(free.size < cap)
+			{
+				free.add(object);
+			}
+			else
+			{
+				object.pool = null;
+				discarded++;
+			}
+
+			done++;
+		}
+
+		if(done > 0)
+		{
+			pending.removeRange(0, done - 1);
+			pendingTicks.removeRange(0, done - 1);
+		}
+	}
+
+	/**
+	 * Drops all free objects.
+	 */
+	public synchronized void clear()
+	{
+		free.clear();
+	}
+
+	public Class<T> getType()
+	{
+		return type;
+	}
+
+	public int getCap()
+	{
+		return cap;
+	}
+
+	public synchronized void setCap(int cap)
+	{
+		this.cap = cap;
+
+		if(free.size > cap)
+			free.truncate(cap);
+	}
+
+	public synchronized int getFree()
+	{
+		return free.size;
+	}
+
+	/**
+	 * Amount of times {@link #acquire()} could hand out a free object.
+	 */
+	public long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * Amount of times {@link #acquire()} had to make a new object.
+	 */
+	public long getMisses()
+	{
+		return misses;
+	}
+
+	public long getReleased()
+	{
+		return released;
+	}
+
+	/**
+	 * Amount of released objects that didn't fit in the pool because of the cap.
+	 */
+	public long getDiscarded()
+	{
+		return discarded;
+	}
+
+	@Override
+	public String toString()
+	{
+		return type.getSimpleName() + " pool: " + hits + " hits, " + misses + " misses, " + free.size + "/" + cap + " free, " + discarded + " discarded";
+	}
+}
@@ -0,0 +1,375 @@
+package java2hu.object;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java2hu.Profiler;
+import java2hu.Profiler.Phase;
+import java2hu.object.bullet.Bullet;
+import java2hu.object.bullet.BulletInstanceBatch;
+import java2hu.object.bullet.LaserBatch;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * Draw order of everything on the stage, kept up to date when objects are spawned, deleted or change their z index, shader or frame buffer.
+ *
+ * Objects are put in groups with the same z index, shader and frame buffer, the groups are sorted by z index.
+ * Drawing is a walk over the groups, only swapping shader or frame buffer between groups, without sorting or allocating anything.
+ * Within a group objects are drawn in the order they were added.
+ *
+ * Only the thread that draws (the GL thread) changes the groups, changes from other threads are queued and applied before the next draw.
+ * Objects that were removed from the stage without going through {@link #update(StageObject)} are dropped when the draw walk gets to them.
+ */
+public class RenderQueue extends J2hObject
+{
+	/**
+	 * Groups that have been empty for this many draws are removed.
+	 */
+	private static final int EMPTY_GROUP_LIFETIME = 600;
+
+	public static class Group
+	{
+		private int zIndex;
+		private ShaderProgram shader;
+		private FrameBuffer buffer;
+
+		private StageObject[] objects = new StageObject[16];
+		private int size = 0;
+		private int live = 0;
+		private long lastUsed = 0;
+
+		private Group(int zIndex, ShaderProgram shader, FrameBuffer buffer)
+		{
+			this.zIndex = zIndex;
+			this.shader = shader;
+			this.buffer = buffer;
+		}
+
+		private boolean matches(StageObject object)
+		{
+			return object.getZIndex() == zIndex && object.getShader() == shader && object.getFrameBuffer() == buffer;
+		}
+
+		private void add(StageObject object)
+		{
+			if(size == objects.length)
+			{
+				StageObject[] newObjects = new StageObject[size * 2];
+				System.arraycopy(objects, 0, newObjects, 0, size);
+				objects = newObjects;
+			}
+
+			object.renderGroup = this;
+			object.renderIndex = size;
+			objects[size++] = object;
+			live++;
+		}
+
+		private void remove(StageObject object)
+		{
+			objects[object.renderIndex] = null;
+			object.renderGroup = null;
+			object.renderIndex = -1;
+			live--;
+		}
+
+		public int getZIndex()
+		{
+			return zIndex;
+		}
+
+		public ShaderProgram getShader()
+		{
+			return shader;
+		}
+
+		public FrameBuffer getFrameBuffer()
+		{
+			return buffer;
+		}
+
+		public int size()
+		{
+			return live;
+		}
+	}
+
+	/**
+	 * Sorted by z index, groups with the same z index are next to each other.
+	 */
+	private ArrayList<Group> groups = new ArrayList<Group>();
+
+	private ConcurrentLinkedQueue<StageObject> changed = new ConcurrentLinkedQueue<StageObject>();
+	private volatile Thread owner;
+
+	private long draws = 0;
+
+	/**
+	 * Puts the object in the right group, or takes it out if it's no longer on the stage.
+	 * Called on spawn, delete and when the z index, shader or frame buffer of an object changes.
+	 */
+	public void update(StageObject object)
+	{
+		if(Thread.currentThread() == owner)
+			apply(object);
+		else
+			changed.offer(object);
+	}
+
+	/**
+	 * Takes the object out of it's group right away, for objects that are being reset by their {@link ObjectPool}.
+	 */
+	void remove(StageObject object)
+	{
+		if(object.renderGroup != null)
+			object.renderGroup.remove(object);
+	}
+
+	private void apply(StageObject object)
+	{
+		Group current = object.renderGroup;
+
+		if(!object.isOnStage())
+		{
+			if(current != null)
+				current.remove(object);
+
+			return;
+		}
+
+		if(current != null)
+		{
+			if(current.matches(object))
+				return;
+
+			current.remove(object);
+		}
+
+		getGroup(object.getZIndex(), object.getShader(), object.getFrameBuffer()).add(object);
+	}
+
+	private Group getGroup(int zIndex, ShaderProgram shader, FrameBuffer buffer)
+	{
+		// Binary search for the first group with this z index (or the place it should go).
+		int low = 0;
+		int high = groups.size();
+
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if(groups.get(mid).zIndex < zIndex)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+
+		int index = low;
+
+		for(; index < groups.size() && groups.get(index).zIndex == zIndex; index++)
+		{
+			Group group = groups.get(index);
+
+			if(group.shader == shader && group.buffer == buffer)
+				return group;
+		}
+
+		Group group = new Group(zIndex, shader, buffer);
+		group.lastUsed = draws;
+
+		groups.add(index, group);
+
+		return group;
+	}
+
+	/**
+	 * Draws all objects, swapping the shader and frame buffer of the batch when needed.
+	 * @param bullets - If not null, used for the groups without a shader and flushed after every group, like the lasers.
+	 * It's also flushed before any object that draws on the batch itself, so the instanced bullets stay in their place in the group.
+	 * @param lasers - If not null, flushed after every group, so the lasers queued in it are drawn at the z index of the group.
+	 * @param profiler - If not null, the time every object took to draw is sampled in here.
+	 * @return The shader the batch was left on, null if it wasn't changed.
+	 */
+	public ShaderProgram draw(Batch batch, BulletInstanceBatch bullets, LaserBatch lasers, Profiler profiler)
+	{
+		applyChanges();
+
+		ShaderProgram shader = null;
+		FrameBuffer buffer = null;
+
+		for(int g = 0; g < groups.size(); g++)
+		{
+			Group group = groups.get(g);
+
+			if(group.live <= 0)
+			{
+				if(draws - group.lastUsed > EMPTY_GROUP_LIFETIME)
+				{
+					groups.remove(g);
+					g--;
+				}
+
+				continue;
+			}
+
+			group.lastUsed = draws;
+
+			// Switch out buffer with next one.
+			if(group.buffer != buffer)
+			{
+				batch.flush();
+
+				if(buffer != null)
+					buffer.end();
+
+				buffer = group.buffer;
+
+				if(buffer != null)
+					buffer.begin();
+			}
+
+			// Switch out shader with next one.
+			if(group.shader != shader)
+			{
+				batch.setShader(group.shader);
+				shader = group.shader;
+			}
+
+			if(bullets != null)
+				bullets.setActive(group.shader == null);
+
+			drawGroup(group, batch, bullets, profiler, true);
+
+			if(bullets != null)
+				bullets.flush(batch);
+
+			if(lasers != null)
+				lasers.flush(batch);
+		}
+
+		if(bullets != null)
+			bullets.setActive(false);
+
+		return shader;
+	}
+
+	/**
+	 * Same as a draw, but without drawing anything: applies the queued changes and drops removed objects.
+	 * For running the game without a screen (headless), where nothing else would keep the groups from growing.
+	 */
+	public void skipDraw()
+	{
+		applyChanges();
+
+		for(int g = 0; g < groups.size(); g++)
+		{
+			Group group = groups.get(g);
+
+			if(group.live <= 0)
+			{
+				if(draws - group.lastUsed > EMPTY_GROUP_LIFETIME)
+				{
+					groups.remove(g);
+					g--;
+				}
+
+				continue;
+			}
+
+			group.lastUsed = draws;
+
+			drawGroup(group, null, null, null, false);
+		}
+	}
+
+	private void applyChanges()
+	{
+		owner = Thread.currentThread();
+		draws++;
+
+		StageObject queued;
+
+		while((queued = changed.poll()) != null)
+		{
+			apply(queued);
+		}
+	}
+
+	/**
+	 * Draws the objects in the group (if draw is true), and compacts the removed ones out while at it.
+	 */
+	private void drawGroup(Group group, Batch batch, BulletInstanceBatch bullets, Profiler profiler, boolean draw)
+	{
+		StageObject[] objects = group.objects;
+
+		// Objects added while drawing are drawn next time.
+		int end = group.size;
+		int write = 0;
+
+		for(int read = 0; read < end; read++)
+		{
+			StageObject object = objects[read];
+
+			if(object == null)
+				continue;
+
+			objects[read] = null;
+
+			if(!object.isOnStage())
+			{
+				object.renderGroup = null;
+				object.renderIndex = -1;
+				group.live--;
+				continue;
+			}
+
+			objects[write] = object;
+			object.renderIndex = write;
+			write++;
+
+			if(!draw)
+				continue;
+
+			if(bullets != null && bullets.isPending() && !(object instanceof Bullet && ((Bullet) object).isBatchedOnly()))
+				bullets.flush(batch);
+
+			long startTime = 0;
+
+			if(profiler != null)
+				startTime = profiler.startSample();
+
+			object.draw();
+
+			if(profiler != null)
+				profiler.sample(Phase.DRAW, object, startTime);
+		}
+
+		// Move anything added during the walk after the compacted objects.
+		for(int i = end; i < group.size; i++)
+		{
+			StageObject object = objects[i];
+
+			objects[i] = null;
+
+			if(object == null)
+				continue;
+
+			objects[write] = object;
+			object.renderIndex = write;
+			write++;
+		}
+
+		group.size = write;
+	}
+
+	/**
+	 * Amount of groups, so the amount of shader/frame buffer swaps a draw needs at most.
+	 */
+	public int getGroupCount()
+	{
+		return groups.size();
+	}
+}
@@ -23,7 +23,7 @@ public abstract class StageObject extends J2hObject implements IPosition
 		return effects;
 	}
 	
-	public void addEffect(Plugin effect)
+	public void addEffect(Plugin<?> effect)
 	{
 		effects.add(effect);
 	}
@@ -36,6 +36,11 @@ public abstract class StageObject extends J2hObject implements IPosition
 	protected float lastY;
 	protected long lastMoveTime;
 	
+	/**
+	 * The step (see {@link J2hGame#getInternalTick()}) this was last moved in, only objects that moved in the last step are drawn interpolated.
+	 */
+	protected long lastMoveTick = -1;
+	
 	protected long createTick;
 	
 	protected int zIndex = 0;
@@ -57,7 +62,8 @@ public abstract class StageObject extends J2hObject implements IPosition
 			return;
 		}
 		
-		this.lastX = this.x;
+		markMoved();
+		
 		this.x = x;
 		this.lastMoveTime = System.currentTimeMillis();
 	}
@@ -69,11 +75,28 @@ public abstract class StageObject extends J2hObject implements IPosition
 			return;
 		}
 		
-		this.lastY = this.y;
+		markMoved();
+		
 		this.y = y;
 		this.lastMoveTime = System.currentTimeMillis();
 	}
 	
+	/**
+	 * Call before moving the object, the first time it's moved in a step the position is saved as the last position.
+	 * So the last position is where it was at the start of the step, however often it's moved in it.
+	 */
+	protected void markMoved()
+	{
+		long step = Game.getGame().getInternalTick();
+		
+		if(lastMoveTick == step)
+			return;
+		
+		lastX = x;
+		lastY = y;
+		lastMoveTick = step;
+	}
+	
 	public void setPosition(IPosition pos)
 	{
 		setPosition(pos.getX(), pos.getY());
@@ -139,6 +162,13 @@ public abstract class StageObject extends J2hObject implements IPosition
 	
 	public void disposeAll()
 	{
+		// Nothing to dispose, pooled objects can go straight back.
+		if(pool != null && disposables.isEmpty())
+		{
+			release();
+			return;
+		}
+		
 		// Draw method is usually still called afterwards, before getting removed.
 		Game.getGame().addTask(new Runnable()
 		{
@@ -149,10 +179,75 @@ public abstract class StageObject extends J2hObject implements IPosition
 				{
 					disp.dispose();
 				}
+				
+				release();
 			}
 		}, 5);
 	}
 	
+	/**
+	 * The pool this object came from, null if it was made with new. See {@link ObjectPool}.
+	 */
+	ObjectPool<?> pool;
+	boolean inPool = false;
+	
+	/**
+	 * Hands this object back to the pool it came from, does nothing if it didn't come from one.
+	 * Called by {@link #disposeAll()}, so only call this yourself if you replace that.
+	 */
+	public void release()
+	{
+		if(pool != null)
+			pool.release(this);
+	}
+	
+	/**
+	 * Returns true if this object came from an {@link ObjectPool}.
+	 */
+	public boolean isPooled()
+	{
+		return pool != null;
+	}
+	
+	/**
+	 * Returns true if this object was handed back to it's pool, and shouldn't be used anymore.
+	 */
+	public boolean isReleased()
+	{
+		return inPool;
+	}
+	
+	/**
+	 * Called by the {@link ObjectPool} before handing this object out again, should put it back in the state it had when it was created.
+	 * Subclasses with their own state that get pooled have to extend this.
+	 */
+	protected void reset()
+	{
+		effects.clear();
+		disposables.clear();
+		
+		x = 0;
+		y = 0;
+		lastX = 0;
+		lastY = 0;
+		lastMoveTime = 0;
+		lastMoveTick = -1;
+		createTick = 0;
+		gameTick = true;
+		
+		zIndex = 0;
+		name = null;
+		shader = null;
+		buffer = null;
+		
+		// Normally already out of the render queue since it was deleted, but it can't end up in there twice.
+		if(renderGroup != null)
+			Game.getGame().getRenderQueue().remove(this);
+		
+		renderGroup = null;
+		renderIndex = -1;
+	}
+	
 	public void addDisposable(TextureRegion disp)
 	{
 		if(disp == null)
@@ -206,6 +301,24 @@ public abstract class StageObject extends J2hObject implements IPosition
 	public void setZIndex(int zIndex)
 	{
 		this.zIndex = zIndex;
+		
+		updateRenderQueue();
+	}
+	
+	/**
+	 * The group this object is drawn in, and it's place in there. Only touched by the {@link RenderQueue}.
+	 */
+	RenderQueue.Group renderGroup;
+	int renderIndex = -1;
+	
+	/**
+	 * Lets the render queue know the z index, shader or frame buffer changed, if this object is in it.
+	 * Objects that aren't in it yet get put in the right place when they're spawned.
+	 */
+	private void updateRenderQueue()
+	{
+		if(renderGroup != null)
+			Game.getGame().getRenderQueue().update(this);
 	}
 	
 	/**
@@ -243,11 +356,14 @@ public abstract class StageObject extends J2hObject implements IPosition
 	/**
 	 * Set object to a specific shader.
 	 * Note: Not pooling items like this together (with z index), or using a lot of different shaders, caused a TON of lag.
+	 * Objects with the same z index and shader are drawn together now (see {@link RenderQueue}), but a lot of different shaders on one z index is still slow.
 	 * @param shader
 	 */
 	public void setShader(@Nullable ShaderProgram shader)
 	{
 		this.shader = shader;
+		
+		updateRenderQueue();
 	}
 	
 	public ShaderProgram getShader()
@@ -272,6 +388,8 @@ public abstract class StageObject extends J2hObject implements IPosition
 	public void setFrameBuffer(@Nullable FrameBuffer buffer)
 	{
 		this.buffer = buffer;
+		
+		updateRenderQueue();
 	}
 	
 	public FrameBuffer getFrameBuffer()
@@ -284,12 +402,61 @@ public abstract class StageObject extends J2hObject implements IPosition
 		setFrameBuffer(null);
 	}
 	
+	/**
+	 * Objects that moved more than this in one step are drawn where they are, since they were most likely teleported.
+	 */
+	private static final float MAX_INTERPOLATION_DISTANCE = 100;
+	
+	/**
+	 * Draws the object, if it moved in the last step it's drawn between it's last and current position (see {@link J2hGame#getInterpolation()}).
+	 * The position is only changed while drawing, onDraw() can just use getX() and getY().
+	 */
 	public void draw()
 	{
 		if(!isOnStage())
 			return;
 		
+		float interpolation = Game.getGame().getInterpolation();
+		
+		if(interpolation >= 1 || !hasMovedLastStep())
+		{
+			onDraw();
+			return;
+		}
+		
+		float x = getX();
+		float y = getY();
+		float lastX = getLastX();
+		float lastY = getLastY();
+		
+		if(Math.abs(x - lastX) > MAX_INTERPOLATION_DISTANCE || Math.abs(y - lastY) > MAX_INTERPOLATION_DISTANCE)
+		{
+			onDraw();
+			return;
+		}
+		
+		setDrawPosition(lastX + (x - lastX) * interpolation, lastY + (y - lastY) * interpolation);
+		
 		onDraw();
+		
+		setDrawPosition(x, y);
+	}
+	
+	/**
+	 * If the object was moved in the last step, so it's last position is where it was the step before.
+	 */
+	protected boolean hasMovedLastStep()
+	{
+		return lastMoveTick == Game.getGame().getInternalTick();
+	}
+	
+	/**
+	 * Sets the position for drawing only, it's not a move (the last position and boundaries are left alone).
+	 */
+	protected void setDrawPosition(float x, float y)
+	{
+		this.x = x;
+		this.y = y;
 	}
 	
 	/**
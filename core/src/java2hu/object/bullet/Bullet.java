@@ -4,17 +4,24 @@ import java2hu.HitboxSprite;
 import java2hu.J2hGame;
 import java2hu.Loader;
 import java2hu.object.DrawObject;
+import java2hu.object.ObjectPool;
 import java2hu.object.StageObject;
 import java2hu.overwrite.J2hObject;
+import java2hu.plugin.Plugin;
+import java2hu.touhou.bullet.ThBullet;
+import java2hu.util.AnimationUtil;
 import java2hu.util.ImageSplitter;
 import java2hu.util.MathUtil;
 
+import java.util.HashMap;
+
 import shaders.ShaderLibrary;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Polygon;
@@ -31,10 +38,146 @@ public class Bullet extends StageObject
 	protected float velocityX;
 	protected float velocityY;
 	
+	protected float rotation = 0f;
+	protected float scaleX = 1f;
+	protected float scaleY = 1f;
+	protected float alpha = 1f;
+	
+	/**
+	 * True while the frames of the animation are shared with every other bullet of the same type.
+	 * Shared frames are never modified, the rotation, scale and alpha of this bullet are applied when drawing and when building the hitbox.
+	 * Once something gets the frames through {@link #getCurrentSprite()} or {@link #getAnimation()} the bullet gets it's own copy, see {@link #detachFrames()}.
+	 */
+	private boolean sharedFrames = false;
+	
+	/**
+	 * Hitbox of this bullet while using shared frames, uses the vertices of the shared frame.
+	 */
+	private Polygon sharedHitbox;
+	
+	/**
+	 * The store this bullet is a handle for, null if it's updated as a normal object.
+	 * See {@link BulletStore}.
+	 */
+	BulletStore store;
+	int storeIndex = -1;
+	
+	/**
+	 * Set while another thread than the owner of the store has queued this bullet to be added to it, or removed from it.
+	 */
+	volatile BulletStore queuedStore;
+	volatile boolean removeQueued;
+	
 	public Bullet(IBulletType type, float x, float y)
 	{
-		this(type.getAnimation(), x, y);
+		this(animationOf(type), x, y);
 		this.type = type;
+		this.sharedFrames = canShareFrames(type);
+	}
+	
+	private static final ObjectPool<Bullet> POOL = new ObjectPool<Bullet>(Bullet.class, 8192)
+	{
+		@Override
+		protected Bullet newObject()
+		{
+			return new Bullet((Animation) null, 0, 0);
+		}
+	};
+	
+	/**
+	 * Returns a bullet from the pool, the same as new Bullet(type, x, y) would give.
+	 * The bullet goes back to the pool once it has been deleted (and it's delete animation is done), so don't hold on to it after that!
+	 * If you need to keep a reference around, or want to extend Bullet, use new instead.
+	 */
+	public static Bullet obtain(IBulletType type, float x, float y)
+	{
+		Bullet bullet = POOL.acquire();
+		
+		bullet.type = type;
+		bullet.animation = animationOf(type);
+		bullet.sharedFrames = bullet.canShareFrames(type);
+		
+		bullet.x = x;
+		bullet.y = y;
+		bullet.lastX = x;
+		bullet.lastY = y;
+		
+		return bullet;
+	}
+	
+	public static ObjectPool<Bullet> getPool()
+	{
+		return POOL;
+	}
+	
+	@Override
+	protected void reset()
+	{
+		super.reset();
+		
+		type = null;
+		animation = null;
+		sharedFrames = false;
+		
+		velocityX = 0;
+		velocityY = 0;
+		rotation = 0f;
+		scaleX = 1f;
+		scaleY = 1f;
+		alpha = 1f;
+		
+		collisionPending = false;
+		stopSpawnAnimation();
+		animationPlaying = false;
+		useSpawnAnimation = true;
+		useDeleteAnimation = true;
+		spawnAnimationSettings.reset();
+		
+		setZIndex(1000);
+	}
+	
+	private static HashMap<Class<?>, Boolean> sharedFrameClasses = new HashMap<Class<?>, Boolean>();
+	private static HashMap<Class<?>, Boolean> batchedClasses = new HashMap<Class<?>, Boolean>();
+	
+	/**
+	 * Bullet types that have shared frames, return those, everything else is asked for a new animation.
+	 */
+	private static Animation animationOf(IBulletType type)
+	{
+		if(type instanceof ThBullet)
+			return ((ThBullet) type).getSharedAnimation();
+		
+		return type.getAnimation();
+	}
+	
+	/**
+	 * Returns true if this bullet can draw the shared frames of the type, which isn't the case if the bullet brings it's own sprite.
+	 */
+	private boolean canShareFrames(IBulletType type)
+	{
+		if(!(type instanceof ThBullet) || animation == null)
+			return false;
+		
+		Class<?> clazz = getClass();
+		Boolean result = sharedFrameClasses.get(clazz);
+		
+		if(result == null)
+		{
+			try
+			{
+				result = clazz.getMethod("getCurrentSprite").getDeclaringClass() == Bullet.class
+						&& clazz.getMethod("getAnimation").getDeclaringClass() == Bullet.class;
+			}
+			catch (NoSuchMethodException | SecurityException e)
+			{
+				e.printStackTrace();
+				result = false;
+			}
+			
+			sharedFrameClasses.put(clazz, result);
+		}
+		
+		return result;
 	}
 	
 	/**
@@ -70,11 +213,17 @@ public class Bullet extends StageObject
 	@Override
 	public void onDraw()
 	{
-		if(animationPlaying)
+		if(isAnimationPlaying())
 			return;
 		
 		J2hGame g = Game.getGame();
 		
+		if(sharedFrames)
+		{
+			drawFrame(g.batch, getCurrentFrame(), getRotationDeg(), getScaleX(), getScaleY(), getAlpha());
+			return;
+		}
+		
 		HitboxSprite current = getCurrentSprite();
 		
 		if(current != null)
@@ -84,24 +233,93 @@ public class Bullet extends StageObject
 			current.draw(g.batch);
 		}
 	}
+	
+	/**
+	 * True if drawing this bullet doesn't draw anything on the batch itself, but only adds to the {@link BulletInstanceBatch} (if it's enabled) or the {@link LaserBatch}.
+	 * The {@link java2hu.object.RenderQueue} flushes the instanced bullets before drawing anything for which this isn't true.
+	 */
+	public boolean isBatchedOnly()
+	{
+		if(!sharedFrames && !(this instanceof LaserDrawer))
+			return false;
+		
+		Class<?> clazz = getClass();
+		Boolean result = batchedClasses.get(clazz);
+		
+		if(result == null)
+		{
+			try
+			{
+				Class<?> onDraw = clazz.getMethod("onDraw").getDeclaringClass();
+				
+				result = (onDraw == Bullet.class || onDraw == LaserDrawer.class) && clazz.getMethod("draw").getDeclaringClass() == StageObject.class;
+			}
+			catch (NoSuchMethodException | SecurityException e)
+			{
+				e.printStackTrace();
+				result = false;
+			}
+			
+			batchedClasses.put(clazz, result);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Draws a frame centered on this bullet with the given transform, without modifying the frame.
+	 * Goes through the {@link BulletInstanceBatch} of the game instead of the batch if it can.
+	 */
+	protected void drawFrame(Batch batch, HitboxSprite frame, float rotation, float scaleX, float scaleY, float alpha)
+	{
+		if(frame == null)
+			return;
+		
+		float width = frame.getWidth();
+		float height = frame.getHeight();
+		
+		Color color = frame.getColor();
+		
+		BulletInstanceBatch instances = Game.getGame().getBulletInstances();
+		
+		if(batch == Game.getGame().batch && instances.isEnabled())
+		{
+			instances.add(frame, getX() - width / 2, getY() - height / 2, frame.getOriginX(), frame.getOriginY(), width, height, scaleX, scaleY, rotation, Color.toFloatBits(color.r, color.g, color.b, alpha));
+			return;
+		}
+		
+		float oldColor = batch.getPackedColor();
+		
+		batch.setColor(color.r, color.g, color.b, alpha);
+		batch.draw(frame, getX() - width / 2, getY() - height / 2, frame.getOriginX(), frame.getOriginY(), width, height, scaleX, scaleY, rotation);
+		batch.setColor(oldColor);
+	}
 
 	@Override
 	public void onUpdate(long tick)
 	{
 		J2hGame g = Game.getGame();
 		
-		HitboxSprite current = getCurrentSprite();
-		
-		if(current != null)
+		if(!sharedFrames)
 		{
-			current.setPosition(getX() - getWidth() / 2, getY() - getHeight() / 2);
+			HitboxSprite current = getCurrentSprite();
+			
+			if(current != null)
+			{
+				current.setPosition(getX() - getWidth() / 2, getY() - getHeight() / 2);
+			}
 		}
 		
 		if(doDelete())
 			g.delete(this);
 		
-		if(!animationPlaying)
-			checkCollision();
+		if(!isAnimationPlaying())
+		{
+			if(BulletGrid.isBroadphaseClass(getClass()))
+				collisionPending = true;
+			else
+				checkCollision();
+		}
 	}
 	
 	@Override
@@ -109,8 +327,8 @@ public class Bullet extends StageObject
 	{
 		super.onUpdateDelta(delta);
 		
-		this.setX(getX() - velocityX * delta);
-		this.setY(getY() - velocityY * delta);
+		this.setX(getX() - getVelocityX() * delta);
+		this.setY(getY() - getVelocityY() * delta);
 	}
 	
 	public boolean doDelete()
@@ -129,9 +347,15 @@ public class Bullet extends StageObject
 		return 200;
 	}
 	
+	/**
+	 * Set by the update method when this bullet wants to check collision this tick, the {@link BulletGrid} then decides if it's close enough to the player to bother.
+	 */
+	boolean collisionPending = false;
+	
 	/**
 	 * Ran by the update method, used to check collisions with the player.
 	 * if it shouldn't collide, or collide with something else, replace this when extending!
+	 * (Bullets that don't replace this are checked through the {@link BulletGrid}, after all bullets have been updated)
 	 */
 	public void checkCollision()
 	{
@@ -157,7 +381,7 @@ public class Bullet extends StageObject
 	{
 		float perSecond = velocityX * game.LOGIC_TPS;
 		
-		this.velocityX = perSecond;
+		setVelocityX(perSecond);
 	}
 	
 	/**
@@ -169,7 +393,7 @@ public class Bullet extends StageObject
 	{
 		float perSecond = velocityY * game.LOGIC_TPS;
 		
-		this.velocityY = perSecond;
+		setVelocityY(perSecond);
 	}
 	
 	/**
@@ -178,7 +402,7 @@ public class Bullet extends StageObject
 	@Deprecated
 	public float getVelocityXTick()
 	{
-		return velocityX / game.LOGIC_TPS;
+		return getVelocityX() / game.LOGIC_TPS;
 	}
 	
 	/**
@@ -187,27 +411,33 @@ public class Bullet extends StageObject
 	@Deprecated
 	public float getVelocityYTick()
 	{
-		return velocityY / game.LOGIC_TPS;
+		return getVelocityY() / game.LOGIC_TPS;
 	}
 	
 	public void setVelocityX(float velocityX)
 	{
-		this.velocityX = velocityX;
+		if(store != null)
+			store.velocityX[storeIndex] = velocityX;
+		else
+			this.velocityX = velocityX;
 	}
 	
 	public void setVelocityY(float velocityY)
 	{
-		this.velocityY = velocityY;
+		if(store != null)
+			store.velocityY[storeIndex] = velocityY;
+		else
+			this.velocityY = velocityY;
 	}
 	
 	public float getVelocityX()
 	{
-		return velocityX;
+		return store != null ? store.velocityX[storeIndex] : velocityX;
 	}
 	
 	public float getVelocityY()
 	{
-		return velocityY;
+		return store != null ? store.velocityY[storeIndex] : velocityY;
 	}
 	
 	/**
@@ -227,7 +457,7 @@ public class Bullet extends StageObject
 	 */
 	public void setRotationFromVelocity(float offsetDegree)
 	{
-		setRotationDeg((float) (Math.atan2(velocityY, velocityX) * (180 / Math.PI) - offsetDegree));
+		setRotationDeg((float) (Math.atan2(getVelocityY(), getVelocityX()) * (180 / Math.PI) - offsetDegree));
 	}
 	
 	/**
@@ -276,6 +506,14 @@ public class Bullet extends StageObject
 	
 	public void setRotationDeg(float rotation)
 	{
+		if(store != null)
+			store.rotation[storeIndex] = rotation;
+		else
+			this.rotation = rotation;
+		
+		if(sharedFrames)
+			return;
+		
 		for(TextureRegion t : animation.getKeyFrames())
 		{
 			HitboxSprite s = (HitboxSprite) t;
@@ -295,6 +533,20 @@ public class Bullet extends StageObject
 	
 	public void setScale(float scaleX, float scaleY)
 	{
+		if(store != null)
+		{
+			store.scaleX[storeIndex] = scaleX;
+			store.scaleY[storeIndex] = scaleY;
+		}
+		else
+		{
+			this.scaleX = scaleX;
+			this.scaleY = scaleY;
+		}
+		
+		if(sharedFrames)
+			return;
+		
 		for(TextureRegion t : animation.getKeyFrames())
 		{
 			HitboxSprite s = (HitboxSprite) t;
@@ -305,20 +557,146 @@ public class Bullet extends StageObject
 	@Override
 	public void setX(float x)
 	{
-		this.lastX = this.x;
+		if(store != null)
+		{
+			store.x[storeIndex] = x;
+			return;
+		}
+		
+		markMoved();
+		
 		this.x = x;
 	}
 	
 	@Override
 	public void setY(float y)
 	{
-		this.lastY = this.y;
+		if(store != null)
+		{
+			store.y[storeIndex] = y;
+			return;
+		}
+		
+		markMoved();
+		
 		this.y = y;
 	}
 	
+	@Override
+	public float getX()
+	{
+		return store != null ? store.x[storeIndex] : x;
+	}
+	
+	@Override
+	public float getY()
+	{
+		return store != null ? store.y[storeIndex] : y;
+	}
+	
+	/**
+	 * Bullets in the {@link BulletStore} are moved every step.
+	 */
+	@Override
+	protected boolean hasMovedLastStep()
+	{
+		return store != null || super.hasMovedLastStep();
+	}
+	
+	@Override
+	protected void setDrawPosition(float x, float y)
+	{
+		if(store != null)
+		{
+			store.x[storeIndex] = x;
+			store.y[storeIndex] = y;
+			return;
+		}
+		
+		super.setDrawPosition(x, y);
+	}
+	
+	@Override
+	public float getLastX()
+	{
+		return store != null ? store.lastX[storeIndex] : lastX;
+	}
+	
+	@Override
+	public float getLastY()
+	{
+		return store != null ? store.lastY[storeIndex] : lastY;
+	}
+	
+	/**
+	 * Plugins need the normal update path, so a bullet getting one is moved out of the {@link BulletStore}.
+	 */
+	@Override
+	public void addEffect(Plugin<?> effect)
+	{
+		super.addEffect(effect);
+		
+		if(store != null)
+			Game.getGame().moveToObjectPath(this);
+	}
+	
+	/**
+	 * Returns true if this bullet is a handle for a slot in a {@link BulletStore}.
+	 */
+	public boolean isStored()
+	{
+		return store != null;
+	}
+	
+	/**
+	 * Copies the state of this bullet into the slot of the store.
+	 */
+	void saveState(BulletStore store, int i)
+	{
+		store.x[i] = x;
+		store.y[i] = y;
+		store.lastX[i] = lastX;
+		store.lastY[i] = lastY;
+		store.velocityX[i] = velocityX;
+		store.velocityY[i] = velocityY;
+		store.rotation[i] = rotation;
+		store.scaleX[i] = scaleX;
+		store.scaleY[i] = scaleY;
+		store.flags[i] = animationPlaying ? BulletStore.FLAG_SPAWNING : 0;
+	}
+	
+	/**
+	 * Copies the state of the slot of the store back into this bullet.
+	 */
+	void loadState(BulletStore store, int i)
+	{
+		x = store.x[i];
+		y = store.y[i];
+		lastX = store.lastX[i];
+		lastY = store.lastY[i];
+		velocityX = store.velocityX[i];
+		velocityY = store.velocityY[i];
+		rotation = store.rotation[i];
+		scaleX = store.scaleX[i];
+		scaleY = store.scaleY[i];
+		animationPlaying = (store.flags[i] & BulletStore.FLAG_SPAWNING) != 0;
+	}
+	
 	public void setBullet(IBulletType type)
 	{
-		setBullet(type.getAnimation());
+		Animation animation = animationOf(type);
+		
+		if(animation == null)
+			return;
+		
+		boolean wasShared = sharedFrames;
+		
+		this.animation = animation;
+		this.sharedFrames = canShareFrames(type);
+		
+		// The new frames are our own copy, so the transform has to be put on them.
+		if(wasShared && !sharedFrames)
+			applyTransform();
 	}
 	
 	public void setBullet(Animation animation)
@@ -327,22 +705,97 @@ public class Bullet extends StageObject
 			return;
 
 		this.animation = animation;
+		this.sharedFrames = false;
 	}
 	
 	/**
 	 * Returns the sprite of the bullet right now, assumes the Animation consists of HitboxSprites
+	 * If the bullet was still using shared frames, it gets it's own copy first, so it's safe to modify.
 	 * @return
 	 */
 	public HitboxSprite getCurrentSprite()
 	{
 		J2hGame g = Game.getGame();
 		
+		detachFrames();
+		
 		return (HitboxSprite) animation.getKeyFrame(g.getTick(), true);
 	}
 	
+	/**
+	 * Returns the current frame without making a copy of shared frames, don't modify it!
+	 * The transform of the bullet is in {@link #getRotationDeg()}, {@link #getScaleX()}, {@link #getScaleY()} and {@link #getAlpha()}.
+	 */
+	public HitboxSprite getCurrentFrame()
+	{
+		if(!sharedFrames)
+			return getCurrentSprite();
+		
+		return (HitboxSprite) animation.getKeyFrame(Game.getGame().getTick(), true);
+	}
+	
+	/**
+	 * Returns true if this bullet is still using the shared frames of it's type.
+	 */
+	public boolean isUsingSharedFrames()
+	{
+		return sharedFrames;
+	}
+	
+	/**
+	 * Gives this bullet it's own copy of the frames, with the transform of the bullet applied to them.
+	 * Needed before anything modifies the frames directly, because the shared ones are used by every bullet of the same type.
+	 */
+	protected void detachFrames()
+	{
+		if(!sharedFrames)
+			return;
+		
+		sharedFrames = false;
+		sharedHitbox = null;
+		animation = AnimationUtil.copyAnimation(animation);
+		
+		applyTransform();
+	}
+	
+	private void applyTransform()
+	{
+		float rotation = store != null ? store.rotation[storeIndex] : this.rotation;
+		float scaleX = store != null ? store.scaleX[storeIndex] : this.scaleX;
+		float scaleY = store != null ? store.scaleY[storeIndex] : this.scaleY;
+		
+		for(TextureRegion t : animation.getKeyFrames())
+		{
+			HitboxSprite s = (HitboxSprite) t;
+			s.setRotation(rotation);
+			s.setScale(scaleX, scaleY);
+			s.setAlpha(alpha);
+		}
+	}
+	
 	public Polygon getHitbox()
 	{
-		return getCurrentSprite().getHitbox();
+		if(!sharedFrames)
+			return getCurrentSprite().getHitbox();
+		
+		HitboxSprite frame = getCurrentFrame();
+		Polygon original = frame.getHitbox();
+		
+		if(original == null)
+			return null;
+		
+		if(sharedHitbox == null)
+			sharedHitbox = new Polygon(original.getVertices());
+		else if(sharedHitbox.getVertices() != original.getVertices())
+			sharedHitbox.setVertices(original.getVertices());
+		
+		// Same as what HitboxSprite does to it's hitbox, but with the transform of this bullet.
+		sharedHitbox.setOrigin(frame.getOriginX(), frame.getOriginY());
+		sharedHitbox.setPosition(getX() - frame.getWidth() / 2 + frame.getHitboxOffsetX(), getY() - frame.getHeight() / 2 + frame.getHitboxOffsetY());
+		sharedHitbox.setRotation(getRotationDeg());
+		sharedHitbox.setScale((getScaleX() + frame.getHitboxScaleOffsetX()) * frame.getHitboxScaleOffsetModifierX(), (getScaleY() + frame.getHitboxScaleOffsetY()) * frame.getHitboxScaleOffsetModifierY());
+		
+		return sharedHitbox;
 	}
 	
 	public IBulletType getType()
@@ -353,25 +806,71 @@ public class Bullet extends StageObject
 	@Override
 	public float getWidth()
 	{
-		return getCurrentSprite().getWidth();
+		return getCurrentFrame().getWidth();
 	}
 
 	@Override
 	public float getHeight()
 	{
-		return getCurrentSprite().getHeight();
+		return getCurrentFrame().getHeight();
 	}
 	
+	/**
+	 * Returns the animation of this bullet, if it was using shared frames it gets it's own copy first, so it's safe to modify.
+	 */
 	public Animation getAnimation()
 	{
+		detachFrames();
+		
 		return animation;
 	}
 	
 	public float getRotationDeg()
 	{
+		if(sharedFrames)
+			return store != null ? store.rotation[storeIndex] : rotation;
+		
 		return getCurrentSprite().getRotation();
 	}
 	
+	public float getScaleX()
+	{
+		if(sharedFrames)
+			return store != null ? store.scaleX[storeIndex] : scaleX;
+		
+		return getCurrentSprite().getScaleX();
+	}
+	
+	public float getScaleY()
+	{
+		if(sharedFrames)
+			return store != null ? store.scaleY[storeIndex] : scaleY;
+		
+		return getCurrentSprite().getScaleY();
+	}
+	
+	public void setAlpha(float alpha)
+	{
+		this.alpha = alpha;
+		
+		if(sharedFrames)
+			return;
+		
+		for(TextureRegion t : animation.getKeyFrames())
+		{
+			HitboxSprite s = (HitboxSprite) t;
+			s.setAlpha(alpha);
+		}
+	}
+	
+	public float getAlpha()
+	{
+		if(sharedFrames)
+			return alpha;
+		
+		return getCurrentSprite().getColor().a;
+	}
+	
 	public float getRotationRads()
 	{
 		return (float) Math.toRadians(getRotationDeg());
@@ -410,6 +909,25 @@ public class Bullet extends StageObject
 	}
 	
 	protected boolean animationPlaying = false;
+	
+	public boolean isAnimationPlaying()
+	{
+		return store != null ? (store.flags[storeIndex] & BulletStore.FLAG_SPAWNING) != 0 : animationPlaying;
+	}
+	
+	public void setAnimationPlaying(boolean animationPlaying)
+	{
+		if(store != null)
+		{
+			if(animationPlaying)
+				store.flags[storeIndex] |= BulletStore.FLAG_SPAWNING;
+			else
+				store.flags[storeIndex] &= ~BulletStore.FLAG_SPAWNING;
+		}
+		
+		this.animationPlaying = animationPlaying;
+	}
+	
 	protected boolean useSpawnAnimation = true;
 	protected boolean useDeleteAnimation = true;
 	protected SpawnAnimationSettings spawnAnimationSettings = new SpawnAnimationSettings();
@@ -422,6 +940,15 @@ public class Bullet extends StageObject
 		private float alpha = -0.5f;
 		private boolean scaleDown = true;
 		
+		private void reset()
+		{
+			time = 10f;
+			addedScaleX = 2f;
+			addedScaleY = 2f;
+			alpha = -0.5f;
+			scaleDown = true;
+		}
+		
 		/**
 		 * Time the spawn animation takes, default: 10 ticks
 		 * @param time
@@ -524,88 +1051,158 @@ public class Bullet extends StageObject
 		return spawnAnimationSettings;
 	}
 	
+	/**
+	 * The spawn animation that's playing for this bullet, if any.
+	 */
+	private SpawnAnimation spawnAnimation;
+	
 	public void spawnAnimation()
 	{	
-		final float originalScaleX = getCurrentSprite().getScaleX();
-		final float originalScaleY = getCurrentSprite().getScaleY();
-		final float originalAlpha = getCurrentSprite().getColor().a;
+		stopSpawnAnimation();
 		
-		animationPlaying = true;
+		setAnimationPlaying(true);
 		
-		final Bullet bullet = this;
+		SpawnAnimation obj = SpawnAnimation.POOL.acquire();
 		
-		DrawObject obj = new DrawObject()
+		obj.start(this);
+		
+		Game.getGame().spawn(obj);
+	}
+	
+	/**
+	 * Deletes the spawn animation of this bullet if it's still playing, and unlinks it, so it won't touch this bullet anymore once it's handed out again by the pool.
+	 */
+	private void stopSpawnAnimation()
+	{
+		SpawnAnimation obj = spawnAnimation;
+		
+		if(obj == null)
+			return;
+		
+		spawnAnimation = null;
+		obj.bullet = null;
+		
+		Game.getGame().delete(obj);
+	}
+	
+	/**
+	 * Scales and fades the bullet in, the bullet isn't drawn and doesn't collide until this is done.
+	 * Spawned for almost every bullet, so these are pooled.
+	 */
+	public static class SpawnAnimation extends DrawObject
+	{
+		public static final ObjectPool<SpawnAnimation> POOL = new ObjectPool<SpawnAnimation>(SpawnAnimation.class, 4096)
 		{
+			@Override
+			protected SpawnAnimation newObject()
 			{
-				setName("Bullet spawn animation");
+				return new SpawnAnimation();
 			}
+		};
+		
+		private Bullet bullet;
+		
+		private float time;
+		private float alpha;
+		
+		private boolean scaleDown;
+		
+		private float scaleX;
+		private float scaleY;
+		private float scaleDecreaseX;
+		private float scaleDecreaseY;
+		private float alphaIncrease;
+		
+		public void start(Bullet bullet)
+		{
+			this.bullet = bullet;
+			bullet.spawnAnimation = this;
+			
+			float originalScaleX = bullet.getScaleX();
+			float originalScaleY = bullet.getScaleY();
+			float originalAlpha = bullet.getAlpha();
+			
+			SpawnAnimationSettings settings = bullet.getSpawnAnimationSettings();
+			
+			time = settings.time;
+			alpha = settings.alpha;
+			scaleDown = settings.scaleDown;
 			
-			private float time = bullet.getSpawnAnimationSettings().time;
-			private float alpha = bullet.getSpawnAnimationSettings().alpha;
+			scaleX = !scaleDown ? settings.addedScaleX : originalScaleX + settings.addedScaleX;
+			scaleY = !scaleDown ? settings.addedScaleY : originalScaleY + settings.addedScaleY;
+			scaleDecreaseX = Math.abs(scaleX - originalScaleX) / time;
+			scaleDecreaseY = Math.abs(scaleY - originalScaleY) / time;
+			alphaIncrease = (float) (MathUtil.getDifference(alpha, originalAlpha) / time);
 			
-			private boolean scaleDown = bullet.getSpawnAnimationSettings().scaleDown;
+			setName("Bullet spawn animation");
+			setZIndex(bullet.getZIndex());
+			setShader(bullet.getShader());
+		}
 		
-			private float scaleX = !scaleDown ? bullet.getSpawnAnimationSettings().addedScaleX : originalScaleX + bullet.getSpawnAnimationSettings().addedScaleX;
-			private float scaleY = !scaleDown ? bullet.getSpawnAnimationSettings().addedScaleY : originalScaleY + bullet.getSpawnAnimationSettings().addedScaleY;
-			private float scaleDecreaseX = Math.abs(scaleX - originalScaleX) / time;
-			private float scaleDecreaseY = Math.abs(scaleY - originalScaleY) / time;
-			private float alphaIncrease = (float) (MathUtil.getDifference(alpha, originalAlpha) / time);
+		@Override
+		public void onDraw()
+		{
+			// Bullet was deleted.
+			if(bullet == null)
+				return;
 			
-			@Override
-			public void onDraw()
-			{
-				J2hGame g = Game.getGame();
-				
-				HitboxSprite current = new HitboxSprite(getCurrentSprite());
-				
-				current.setPosition(bullet.getX() - current.getWidth() / 2, bullet.getY() - current.getHeight() / 2);
-				current.setScale(scaleX, scaleY);
-				current.setAlpha(Math.min(Math.max(alpha, 0), 1));
-				current.setHitboxScaleOffsetModifier(0f);
-				
-				current.draw(g.batch);
-			}
+			J2hGame g = Game.getGame();
 			
-			@Override
-			public void onUpdate(long tick)
+			bullet.drawFrame(g.batch, bullet.getCurrentFrame(), bullet.getRotationDeg(), scaleX, scaleY, Math.min(Math.max(alpha, 0), 1));
+		}
+		
+		@Override
+		public void onUpdate(long tick)
+		{
+			if(bullet == null)
+				return;
+			
+			if(scaleDown)
 			{
-				if(scaleDown)
-				{
-					scaleX -= scaleDecreaseX;
-					scaleY -= scaleDecreaseY;
-				}
-				else
-				{
-					scaleX += scaleDecreaseX;
-					scaleY += scaleDecreaseY;
-				}
-				
-				alpha += alphaIncrease;
-				
-				if(getTicksAlive() > time)
-				{
-					animationPlaying = false;
-					Game.getGame().delete(this);
-				}
+				scaleX -= scaleDecreaseX;
+				scaleY -= scaleDecreaseY;
 			}
-			
-			@Override
-			public void onDelete()
+			else
 			{
-				// Don't destroy assets.
+				scaleX += scaleDecreaseX;
+				scaleY += scaleDecreaseY;
 			}
 			
-			@Override
-			public boolean isPersistant()
+			alpha += alphaIncrease;
+			
+			if(getTicksAlive() > time)
 			{
-				return false;
+				bullet.setAnimationPlaying(false);
+				bullet.spawnAnimation = null;
+				bullet = null;
+				
+				Game.getGame().delete(this);
 			}
-		};
+		}
 		
-		obj.setZIndex(getZIndex());
-		obj.setShader(getShader());
+		@Override
+		public void onDelete()
+		{
+			// Don't destroy assets, they belong to the bullet.
+			release();
+		}
 		
-		Game.getGame().spawn(obj);
+		@Override
+		protected void reset()
+		{
+			super.reset();
+			
+			if(bullet != null && bullet.spawnAnimation == this)
+				bullet.spawnAnimation = null;
+			
+			bullet = null;
+		}
+		
+		@Override
+		public boolean isPersistant()
+		{
+			return false;
+		}
 	}
 	
 	public void onHit()
@@ -620,6 +1217,8 @@ public class Bullet extends StageObject
 	@Override
 	public void onDelete()
 	{
+		stopSpawnAnimation();
+		
 		if(!useDeleteAnimation)
 		{
 			disposeAll();
@@ -640,70 +1239,96 @@ public class Bullet extends StageObject
 			BREAK_ANI = ImageSplitter.getAnimationFromSprite(BREAK, 64, 64, 3f, 1,2,3,4,5,6,7,8);
 		}
 		
-		final Bullet bullet = this;
+		DeleteAnimation obj = DeleteAnimation.POOL.acquire();
 		
-		DrawObject obj = new DrawObject()
+		obj.start(this);
+		
+		Game.getGame().spawn(obj);
+	}
+	
+	/**
+	 * Small burst in the effect color of the bullet, disposes the bullet once it's done.
+	 * Spawned for almost every bullet, so these are pooled.
+	 */
+	public static class DeleteAnimation extends DrawObject
+	{
+		public static final ObjectPool<DeleteAnimation> POOL = new ObjectPool<DeleteAnimation>(DeleteAnimation.class, 4096)
 		{
-			int ticks = 0;
-			Color effect;
-			
-			{
-				effect = getType().getEffectColor();
-				
-				if(effect == null)
-					effect = Color.WHITE;
-				
-				effect = effect.cpy();
-			}
-			
 			@Override
-			public void onDraw()
+			protected DeleteAnimation newObject()
 			{
-				J2hGame g = Game.getGame();
-				
-				HitboxSprite current = (HitboxSprite) BREAK_ANI.getKeyFrame(ticks / 2f);
-				
-				current.setOrigin(0, 0);
-				
-				float longest = Math.max(bullet.getWidth(), bullet.getHeight());
-				
-				current.setSize(longest, longest);
-				
-				current.setPosition(bullet.getX() - (current.getWidth() / 2f), bullet.getY() - (current.getHeight() / 2f));
-				
-				current.setColor(effect);
-				current.setAlpha(0.3f);
-				
-				current.draw(g.batch);
+				return new DeleteAnimation();
 			}
+		};
+		
+		private Bullet bullet;
+		private int ticks = 0;
+		private Color effect = new Color();
+		
+		public void start(Bullet bullet)
+		{
+			this.bullet = bullet;
 			
-			@Override
-			public void onUpdate(long tick)
-			{
-				ticks++;
-				
-				if(BREAK_ANI.isAnimationFinished(ticks / 2f))
-				{
-					Game.getGame().delete(this);
-				}
-			}
+			Color color = bullet.getType().getEffectColor();
 			
-			@Override
-			public void onDelete()
-			{
-				bullet.disposeAll();
-			}
+			effect.set(color != null ? color : Color.WHITE);
 			
-			@Override
-			public boolean isPersistant()
+			setShader(ShaderLibrary.GLOW.getProgram());
+		}
+		
+		@Override
+		public void onDraw()
+		{
+			J2hGame g = Game.getGame();
+			
+			HitboxSprite current = (HitboxSprite) BREAK_ANI.getKeyFrame(ticks / 2f);
+			
+			current.setOrigin(0, 0);
+			
+			float longest = Math.max(bullet.getWidth(), bullet.getHeight());
+			
+			current.setSize(longest, longest);
+			
+			current.setPosition(bullet.getX() - (current.getWidth() / 2f), bullet.getY() - (current.getHeight() / 2f));
+			
+			current.setColor(effect);
+			current.setAlpha(0.3f);
+			
+			current.draw(g.batch);
+		}
+		
+		@Override
+		public void onUpdate(long tick)
+		{
+			ticks++;
+			
+			if(BREAK_ANI.isAnimationFinished(ticks / 2f))
 			{
-				return true; // Deletes itself, no need to get it removed by anything else.
+				Game.getGame().delete(this);
 			}
-		};
+		}
 		
-		obj.setShader(ShaderLibrary.GLOW.getProgram());
+		@Override
+		public void onDelete()
+		{
+			bullet.disposeAll();
+			release();
+		}
 		
-		Game.getGame().spawn(obj);
+		@Override
+		protected void reset()
+		{
+			super.reset();
+			
+			bullet = null;
+			ticks = 0;
+		}
+		
+		@Override
+		public boolean isPersistant()
+		{
+			return true; // Deletes itself, no need to get it removed by anything else.
+		}
 	}
 	
 	/**
@@ -0,0 +1,262 @@
+package java2hu.object.bullet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import java2hu.Game;
+import java2hu.HitboxSprite;
+import java2hu.J2hGame;
+import java2hu.object.player.Player;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Uniform grid broadphase for bullet vs player collision.
+ *
+ * Rebuilt once every logic tick, every bullet that wants to check collision is put in the cell of it's center.
+ * Only the bullets in the cells touching the player's hitbox (grown by the biggest bullet radius) go through {@link Bullet#checkCollision()}.
+ * Positions outside of the grid are clamped to the border cells, so nothing is ever missed.
+ *
+ * Bullets that override {@link Bullet#checkCollision()}, {@link Bullet#getHitbox()} or {@link Bullet#getCurrentSprite()} might collide with
+ * something else than the player, so those keep checking collision from their own update. (See {@link #isBroadphaseClass(Class)})
+ */
+public class BulletGrid extends J2hObject
+{
+	private static final int MARGIN = 256;
+
+	private static HashMap<Class<?>, Boolean> broadphaseClasses = new HashMap<Class<?>, Boolean>();
+
+	/**
+	 * Returns true if collision for bullets of this class can be decided by the grid.
+	 */
+	public static boolean isBroadphaseClass(Class<? extends Bullet> clazz)
+	{
+		Boolean result = broadphaseClasses.get(clazz);
+
+		if(result == null)
+		{
+			try
+			{
+				result = clazz.getMethod("checkCollision").getDeclaringClass() == Bullet.class
+						&& clazz.getMethod("getHitbox").getDeclaringClass() == Bullet.class
+						&& clazz.getMethod("getCurrentSprite").getDeclaringClass() == Bullet.class;
+			}
+			catch (NoSuchMethodException | SecurityException e)
+			{
+				e.printStackTrace();
+				result = false;
+			}
+
+			broadphaseClasses.put(clazz, result);
+		}
+
+		return result;
+	}
+
+	private float cellSize;
+
+	private float originX;
+	private float originY;
+	private int columns;
+	private int rows;
+
+	private int[] cellStart = new int[0];
+	private int[] next = new int[256];
+	private Bullet[] entries = new Bullet[256];
+	private int size = 0;
+
+	private float maxRadius = 0;
+
+	private int indexed = 0;
+	private int candidatesTested = 0;
+	private int hits = 0;
+
+	public BulletGrid()
+	{
+		this(64f);
+	}
+
+	public BulletGrid(float cellSize)
+	{
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Clears the grid and puts all bullets that want to check collision this tick in it.
+	 * @param store Can be null, if the bullets in the store shouldn't be checked.
+	 */
+	public void rebuild(Iterable<Bullet> bullets, BulletStore store)
+	{
+		J2hGame g = Game.getGame();
+
+		originX = g.getMinX() - MARGIN;
+		originY = g.getMinY() - MARGIN;
+		columns = Math.max(1, (int)Math.ceil((g.getMaxX() - g.getMinX() + MARGIN * 2) / cellSize));
+		rows = Math.max(1, (int)Math.ceil((g.getMaxY() - g.getMinY() + MARGIN * 2) / cellSize));
+
+		if(cellStart.length < columns * rows)
+			cellStart = new int[columns * rows];
+
+		Arrays.fill(cellStart, 0, columns * rows, -1);
+
+		size = 0;
+		maxRadius = 0;
+		candidatesTested = 0;
+		hits = 0;
+
+		for(int i = 0; store != null && i < store.size; i++)
+		{
+			Bullet bullet = store.handles[i];
+
+			if(bullet == null || (store.flags[i] & BulletStore.FLAG_SPAWNING) != 0)
+				continue;
+
+			insert(bullet, store.x[i], store.y[i]);
+		}
+
+		Iterator<Bullet> it = bullets.iterator();
+
+		while(it.hasNext())
+		{
+			Bullet bullet = it.next();
+
+			if(!bullet.collisionPending)
+				continue;
+
+			bullet.collisionPending = false;
+
+			insert(bullet, bullet.getX(), bullet.getY());
+		}
+
+		indexed = size;
+	}
+
+	private void insert(Bullet bullet, float x, float y)
+	{
+		if(size == entries.length)
+		{
+			entries = Arrays.copyOf(entries, size * 2);
+			next = Arrays.copyOf(next, size * 2);
+		}
+
+		int cell = getCellY(y) * columns + getCellX(x);
+
+		entries[size] = bullet;
+		next[size] = cellStart[cell];
+		cellStart[cell] = size;
+		size++;
+
+		maxRadius = Math.max(maxRadius, getRadius(bullet));
+	}
+
+	/**
+	 * Conservative radius around the center of the bullet that contains it's hitbox.
+	 */
+	private float getRadius(Bullet bullet)
+	{
+		HitboxSprite current = bullet.getCurrentFrame();
+
+		if(current == null)
+			return 0;
+
+		float scaleX = Math.max(Math.abs(bullet.getScaleX()), Math.abs((bullet.getScaleX() + current.getHitboxScaleOffsetX()) * current.getHitboxScaleOffsetModifierX()));
+		float scaleY = Math.max(Math.abs(bullet.getScaleY()), Math.abs((bullet.getScaleY() + current.getHitboxScaleOffsetY()) * current.getHitboxScaleOffsetModifierY()));
+
+		return Math.max(current.getWidth() * scaleX, current.getHeight() * scaleY) + Math.abs(current.getHitboxOffsetX()) + Math.abs(current.getHitboxOffsetY());
+	}
+
+	private int getCellX(float x)
+	{
+		return Math.min(columns - 1, Math.max(0, (int)Math.floor((x - originX) / cellSize)));
+	}
+
+	private int getCellY(float y)
+	{
+		return Math.min(rows - 1, Math.max(0, (int)Math.floor((y - originY) / cellSize)));
+	}
+
+	/**
+	 * Runs the narrow phase ({@link Bullet#checkCollision()}) for all bullets in the cells touching the player's hitbox.
+	 */
+	public void collide(Player player)
+	{
+		if(player == null || player.getHitbox() == null || size == 0)
+			return;
+
+		J2hGame g = Game.getGame();
+
+		Rectangle bounds = player.getHitbox().getBoundingRectangle();
+
+		int minCellX = getCellX(bounds.x - maxRadius);
+		int maxCellX = getCellX(bounds.x + bounds.width + maxRadius);
+		int minCellY = getCellY(bounds.y - maxRadius);
+		int maxCellY = getCellY(bounds.y + bounds.height + maxRadius);
+
+		for(int cellY = minCellY; cellY <= maxCellY; cellY++)
+		{
+			for(int cellX = minCellX; cellX <= maxCellX; cellX++)
+			{
+				for(int i = cellStart[cellY * columns + cellX]; i != -1; i = next[i])
+				{
+					Bullet bullet = entries[i];
+
+					// Might have been deleted by the hit of another bullet.
+					if(!g.getBullets().contains(bullet))
+						continue;
+
+					candidatesTested++;
+
+					bullet.checkCollision();
+
+					if(!g.getBullets().contains(bullet))
+						hits++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops all references to bullets, so they don't stick around until the next rebuild.
+	 */
+	public void clearEntries()
+	{
+		Arrays.fill(entries, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Amount of bullets put in the grid during the last tick.
+	 */
+	public int getIndexed()
+	{
+		return indexed;
+	}
+
+	/**
+	 * Amount of bullets that went through the narrow phase during the last tick.
+	 */
+	public int getCandidatesTested()
+	{
+		return candidatesTested;
+	}
+
+	/**
+	 * Amount of bullets that hit the player during the last tick.
+	 */
+	public int getHits()
+	{
+		return hits;
+	}
+
+	public float getCellSize()
+	{
+		return cellSize;
+	}
+
+	public void setCellSize(float cellSize)
+	{
+		this.cellSize = cellSize;
+	}
+}
@@ -0,0 +1,386 @@
+package java2hu.object.bullet;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Draws bullet frames with instancing: per bullet only the position, size, origin, scale, rotation, color and atlas region are uploaded,
+ * and the vertex shader makes the quads. Much less work on the CPU than a sprite batch, which works out and uploads all 4 corners of every bullet.
+ *
+ * Needs OpenGL 3 ({@link Gdx#gl30}), see {@link #isEnabled()}, {@link Bullet#drawFrame} uses the sprite batch when it's not available.
+ * Like the {@link LaserBatch}, frames are collected by texture and drawn when the {@link java2hu.object.RenderQueue} flushes it after every group,
+ * or before an object in the group that draws on the batch itself (see {@link Bullet#isBatchedOnly()}), so the bullets stay in their place in the draw order.
+ * Groups with their own shader aren't instanced, since the shader wouldn't be used.
+ */
+public class BulletInstanceBatch extends J2hObject implements Disposable
+{
+	/**
+	 * Floats per instance: x, y, width, height, origin x, origin y, scale x, scale y, rotation, packed color, u, v2, u2, v.
+	 */
+	public static final int INSTANCE_SIZE = 14;
+
+	private static final String VERTEX_SHADER = "#version 150\n"
+			+ "in vec2 a_corner;\n"
+			+ "in vec4 a_bounds;\n"
+			+ "in vec4 a_transform;\n"
+			+ "in float a_rotation;\n"
+			+ "in vec4 a_color;\n"
+			+ "in vec4 a_region;\n"
+			+ "uniform mat4 u_projTrans;\n"
+			+ "out vec4 v_color;\n"
+			+ "out vec2 v_texCoords;\n"
+			+ "void main()\n"
+			+ "{\n"
+			+ "	vec2 local = (a_corner * a_bounds.zw - a_transform.xy) * a_transform.zw;\n"
+			+ "	float angle = radians(a_rotation);\n"
+			+ "	float c = cos(angle);\n"
+			+ "	float s = sin(angle);\n"
+			+ "	vec2 position = vec2(local.x * c - local.y * s, local.x * s + local.y * c) + a_bounds.xy + a_transform.xy;\n"
+			+ "	v_color = a_color;\n"
+			+ "	v_color.a = v_color.a * (255.0 / 254.0);\n"
+			+ "	v_texCoords = mix(a_region.xy, a_region.zw, a_corner);\n"
+			+ "	gl_Position = u_projTrans * vec4(position, 0.0, 1.0);\n"
+			+ "}\n";
+
+	private static final String FRAGMENT_SHADER = "#version 150\n"
+			+ "in vec4 v_color;\n"
+			+ "in vec2 v_texCoords;\n"
+			+ "uniform sampler2D u_texture;\n"
+			+ "out vec4 fragColor;\n"
+			+ "void main()\n"
+			+ "{\n"
+			+ "	fragColor = v_color * texture(u_texture, v_texCoords);\n"
+			+ "}\n";
+
+	private static class Part
+	{
+		Texture texture;
+		float[] instances = new float[INSTANCE_SIZE * 256];
+		int size = 0;
+	}
+
+	/**
+	 * Parts by texture, in the order the textures were first used. Parts that weren't used since the last flush are dropped during the next one.
+	 */
+	private ArrayList<Part> parts = new ArrayList<Part>();
+	private Part last;
+	private int pending = 0;
+
+	private boolean enabled = true;
+	private boolean active = false;
+	private boolean failed = false;
+
+	private ShaderProgram shader;
+	private int vertexArray = -1;
+	private int quadBuffer = -1;
+	private int instanceBuffer = -1;
+	private FloatBuffer upload;
+
+	private int renderCalls = 0;
+
+	/**
+	 * True if frames drawn right now go in here, instead of the sprite batch.
+	 */
+	public boolean isEnabled()
+	{
+		return enabled && active && !failed && Gdx.gl30 != null;
+	}
+
+	/**
+	 * Turns instancing off or on (on by default, if there's OpenGL 3).
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Set by the {@link java2hu.object.RenderQueue} while it draws a group that can be instanced.
+	 */
+	public void setActive(boolean active)
+	{
+		this.active = active;
+	}
+
+	/**
+	 * Queues a frame, the same as {@link Batch#draw(TextureRegion, float, float, float, float, float, float, float, float, float)} with the packed color.
+	 */
+	public void add(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, float color)
+	{
+		Part part = getPart(region.getTexture());
+
+		if(part.size + INSTANCE_SIZE > part.instances.length)
+			part.instances = Arrays.copyOf(part.instances, part.instances.length * 2);
+
+		float[] instances = part.instances;
+		int i = part.size;
+
+		instances[i] = x;
+		instances[i + 1] = y;
+		instances[i + 2] = width;
+		instances[i + 3] = height;
+		instances[i + 4] = originX;
+		instances[i + 5] = originY;
+		instances[i + 6] = scaleX;
+		instances[i + 7] = scaleY;
+		instances[i + 8] = rotation;
+		instances[i + 9] = color;
+		instances[i + 10] = region.getU();
+		instances[i + 11] = region.getV2();
+		instances[i + 12] = region.getU2();
+		instances[i + 13] = region.getV();
+
+		part.size += INSTANCE_SIZE;
+		pending += INSTANCE_SIZE;
+	}
+
+	private Part getPart(Texture texture)
+	{
+		// Bullets mostly come from one atlas, so it's usually the same part as last time.
+		if(last != null && last.texture == texture)
+			return last;
+
+		for(int i = 0; i < parts.size(); i++)
+		{
+			Part part = parts.get(i);
+
+			if(part.texture == texture)
+				return last = part;
+		}
+
+		Part part = new Part();
+		part.texture = texture;
+
+		parts.add(part);
+
+		return last = part;
+	}
+
+	/**
+	 * True if there's something queued.
+	 */
+	public boolean isPending()
+	{
+		return pending > 0;
+	}
+
+	/**
+	 * Draws everything that's queued with the projection and blending of the batch, the batch is ended during it and begun again after if it was drawing.
+	 */
+	public void flush(Batch batch)
+	{
+		if(pending == 0)
+			return;
+
+		if(!setup())
+		{
+			clear();
+			return;
+		}
+
+		boolean drawing = batch.isDrawing();
+
+		if(drawing)
+			batch.end();
+
+		if(upload.capacity() < pending)
+			upload = BufferUtils.newFloatBuffer(Math.max(pending, upload.capacity() * 2));
+
+		upload.clear();
+
+		for(int i = 0; i < parts.size(); i++)
+		{
+			Part part = parts.get(i);
+
+			upload.put(part.instances, 0, part.size);
+		}
+
+		upload.flip();
+
+		GL30 gl = Gdx.gl30;
+
+		gl.glBindVertexArray(vertexArray);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, instanceBuffer);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, pending * 4, upload, GL20.GL_STREAM_DRAW);
+
+		gl.glEnable(GL20.GL_BLEND);
+		gl.glBlendFunc(batch.getBlendSrcFunc(), batch.getBlendDstFunc());
+
+		shader.begin();
+		shader.setUniformMatrix("u_projTrans", batch.getProjectionMatrix());
+		shader.setUniformi("u_texture", 0);
+
+		int offset = 0;
+
+		for(int i = 0; i < parts.size(); i++)
+		{
+			Part part = parts.get(i);
+
+			if(part.size == 0)
+			{
+				if(part == last)
+					last = null;
+
+				parts.remove(i--);
+				continue;
+			}
+
+			part.texture.bind(0);
+
+			// No base instance in GL 3, so the attributes point at the start of the part instead.
+			pointInstances(gl, offset * 4);
+
+			gl.glDrawArraysInstanced(GL20.GL_TRIANGLE_STRIP, 0, 4, part.size / INSTANCE_SIZE);
+			renderCalls++;
+
+			offset += part.size;
+			part.size = 0;
+		}
+
+		shader.end();
+
+		gl.glBindVertexArray(0);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+
+		pending = 0;
+
+		if(drawing)
+			batch.begin();
+	}
+
+	private void pointInstances(GL30 gl, int offset)
+	{
+		int stride = INSTANCE_SIZE * 4;
+
+		gl.glVertexAttribPointer(shader.getAttributeLocation("a_bounds"), 4, GL20.GL_FLOAT, false, stride, offset);
+		gl.glVertexAttribPointer(shader.getAttributeLocation("a_transform"), 4, GL20.GL_FLOAT, false, stride, offset + 4 * 4);
+		gl.glVertexAttribPointer(shader.getAttributeLocation("a_rotation"), 1, GL20.GL_FLOAT, false, stride, offset + 8 * 4);
+		gl.glVertexAttribPointer(shader.getAttributeLocation("a_color"), 4, GL20.GL_UNSIGNED_BYTE, true, stride, offset + 9 * 4);
+		gl.glVertexAttribPointer(shader.getAttributeLocation("a_region"), 4, GL20.GL_FLOAT, false, stride, offset + 10 * 4);
+	}
+
+	/**
+	 * Makes the shader and buffers the first time, returns false if that didn't work out (instancing is off from then on).
+	 */
+	private boolean setup()
+	{
+		if(failed)
+			return false;
+
+		if(shader != null)
+			return true;
+
+		shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+
+		if(!shader.isCompiled())
+		{
+			System.out.println("Instanced bullets are off, the shader didn't compile: " + shader.getLog());
+
+			shader.dispose();
+			shader = null;
+			failed = true;
+
+			return false;
+		}
+
+		GL30 gl = Gdx.gl30;
+
+		int[] arrays = new int[1];
+		gl.glGenVertexArrays(1, arrays, 0);
+		vertexArray = arrays[0];
+
+		gl.glBindVertexArray(vertexArray);
+
+		// Triangle strip of the corners of a quad, bottom left first.
+		float[] corners = { 0, 0, 1, 0, 0, 1, 1, 1 };
+
+		FloatBuffer cornerBuffer = BufferUtils.newFloatBuffer(corners.length);
+		cornerBuffer.put(corners);
+		cornerBuffer.flip();
+
+		quadBuffer = gl.glGenBuffer();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, quadBuffer);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, corners.length * 4, cornerBuffer, GL20.GL_STATIC_DRAW);
+
+		int corner = shader.getAttributeLocation("a_corner");
+		gl.glEnableVertexAttribArray(corner);
+		gl.glVertexAttribPointer(corner, 2, GL20.GL_FLOAT, false, 0, 0);
+
+		instanceBuffer = gl.glGenBuffer();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, instanceBuffer);
+
+		for(String attribute : new String[] { "a_bounds", "a_transform", "a_rotation", "a_color", "a_region" })
+		{
+			int location = shader.getAttributeLocation(attribute);
+
+			gl.glEnableVertexAttribArray(location);
+			gl.glVertexAttribDivisor(location, 1);
+		}
+
+		gl.glBindVertexArray(0);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+
+		upload = BufferUtils.newFloatBuffer(INSTANCE_SIZE * 1024);
+
+		return true;
+	}
+
+	/**
+	 * Drops everything that's queued without drawing it.
+	 */
+	public void clear()
+	{
+		for(int i = 0; i < parts.size(); i++)
+		{
+			parts.get(i).size = 0;
+		}
+
+		pending = 0;
+	}
+
+	/**
+	 * Draw calls made since the last {@link #resetRenderCalls()}.
+	 */
+	public int getRenderCalls()
+	{
+		return renderCalls;
+	}
+
+	public void resetRenderCalls()
+	{
+		renderCalls = 0;
+	}
+
+	@Override
+	public void dispose()
+	{
+		clear();
+		parts.clear();
+		last = null;
+
+		if(shader != null)
+		{
+			shader.dispose();
+
+			GL30 gl = Gdx.gl30;
+
+			gl.glDeleteVertexArrays(1, new int[] { vertexArray }, 0);
+			gl.glDeleteBuffer(quadBuffer);
+			gl.glDeleteBuffer(instanceBuffer);
+		}
+
+		shader = null;
+	}
+}
@@ -0,0 +1,608 @@
+package java2hu.object.bullet;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java2hu.Game;
+import java2hu.J2hGame;
+import java2hu.overwrite.J2hObject;
+import java2hu.touhou.bullet.ThBullet;
+import java2hu.touhou.bullet.ThBulletColor;
+import java2hu.util.ParallelUtil;
+import java2hu.util.ParallelUtil.RangeTask;
+
+/**
+ * Structure-of-arrays storage for plain bullets.
+ *
+ * A plain bullet is a bullet of exactly the {@link Bullet} class without any plugins, which is what most spell cards spawn by the thousands.
+ * Instead of every one of those going through {@link Bullet#update(float)} and {@link Bullet#update(long)} from a hash based set,
+ * their position, velocity, rotation, scale, type id and flags are kept in primitive arrays here and updated in a tight loop.
+ *
+ * The {@link Bullet} object still exists and acts as a handle, all it's getters and setters read and write the slot it owns in here,
+ * so code that holds on to a bullet after spawning it keeps working.
+ * Once a bullet gets a plugin it's moved back to the normal object path, see {@link J2hGame#spawn(Bullet)}.
+ *
+ * The loops over the arrays are split over the cores with {@link ParallelUtil} when there's enough bullets.
+ * Every slot only touches it's own data there, deleting happens afterwards on the game thread in slot order, so the outcome doesn't depend on the amount of threads.
+ *
+ * The arrays are only changed by the owner thread (the one calling {@link #startReading()}, the game loop).
+ * Adds and removes from other threads (like a {@link java2hu.gameflow.GameFlowScheme}) are queued, and applied when the owner starts reading, like in the {@link java2hu.RenderSet}.
+ */
+public class BulletStore extends J2hObject
+{
+	/**
+	 * Slot was deleted during iteration, and will be compacted once the iteration is done.
+	 */
+	public static final int FLAG_REMOVED = 1;
+
+	/**
+	 * The spawn animation is still playing, no collision is checked.
+	 */
+	public static final int FLAG_SPAWNING = 1 << 1;
+
+	/**
+	 * Strayed too far from the boundary during the last logic tick, and is about to be deleted.
+	 */
+	public static final int FLAG_STRAY = 1 << 2;
+
+	/**
+	 * Slots per part when the loops are split over the cores.
+	 */
+	private static final int PARALLEL_GRAIN = 2048;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final int COLORS = ThBulletColor.values().length;
+
+	int size = 0;
+	private int removed = 0;
+	private boolean iterating = false;
+
+	private volatile Thread owner;
+	private volatile boolean cleared = false;
+
+	private ConcurrentLinkedQueue<Bullet> inbound = new ConcurrentLinkedQueue<Bullet>();
+	private ConcurrentLinkedQueue<Bullet> outbound = new ConcurrentLinkedQueue<Bullet>();
+
+	/**
+	 * Bullets waiting in the inbound queue to be added.
+	 */
+	private AtomicInteger queued = new AtomicInteger();
+
+	float[] x;
+	float[] y;
+	float[] lastX;
+	float[] lastY;
+	float[] velocityX;
+	float[] velocityY;
+	float[] rotation;
+	float[] scaleX;
+	float[] scaleY;
+	int[] typeId;
+	int[] flags;
+	Bullet[] handles;
+
+	private float delta;
+
+	private RangeTask integrate = new RangeTask()
+	{
+		@Override
+		public void run(int from, int to)
+		{
+			float delta = BulletStore.this.delta;
+
+			for(int i = from; i < to; i++)
+			{
+				x[i] -= velocityX[i] * delta;
+				y[i] -= velocityY[i] * delta;
+			}
+		}
+	};
+
+	private float minX;
+	private float minY;
+	private float maxX;
+	private float maxY;
+
+	private RangeTask markStrays = new RangeTask()
+	{
+		@Override
+		public void run(int from, int to)
+		{
+			for(int i = from; i < to; i++)
+			{
+				Bullet bullet = handles[i];
+
+				if(bullet == null)
+					continue;
+
+				int buffer = bullet.getDeleteDistance();
+
+				float bx = x[i];
+				float by = y[i];
+
+				if(minX + bx < minX - buffer || minY + by < minY - buffer || bx > maxX + buffer || by > maxY + buffer)
+					flags[i] |= FLAG_STRAY;
+			}
+		}
+	};
+
+	public BulletStore()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public BulletStore(int capacity)
+	{
+		allocate(Math.max(16, capacity));
+	}
+
+	private void allocate(int capacity)
+	{
+		x = copy(x, capacity);
+		y = copy(y, capacity);
+		lastX = copy(lastX, capacity);
+		lastY = copy(lastY, capacity);
+		velocityX = copy(velocityX, capacity);
+		velocityY = copy(velocityY, capacity);
+		rotation = copy(rotation, capacity);
+		scaleX = copy(scaleX, capacity);
+		scaleY = copy(scaleY, capacity);
+		typeId = copy(typeId, capacity);
+		flags = copy(flags, capacity);
+
+		Bullet[] newHandles = new Bullet[capacity];
+
+		if(handles != null)
+			System.arraycopy(handles, 0, newHandles, 0, size);
+
+		handles = newHandles;
+	}
+
+	private float[] copy(float[] array, int capacity)
+	{
+		float[] newArray = new float[capacity];
+
+		if(array != null)
+			System.arraycopy(array, 0, newArray, 0, size);
+
+		return newArray;
+	}
+
+	private int[] copy(int[] array, int capacity)
+	{
+		int[] newArray = new int[capacity];
+
+		if(array != null)
+			System.arraycopy(array, 0, newArray, 0, size);
+
+		return newArray;
+	}
+
+	/**
+	 * Returns true if this bullet can be simulated by the store.
+	 * Anything that extends Bullet might override update logic, so only the exact class qualifies.
+	 */
+	public boolean accepts(Bullet bullet)
+	{
+		return bullet.getClass() == Bullet.class && bullet.getEffects().isEmpty();
+	}
+
+	private boolean isOwner()
+	{
+		return Thread.currentThread() == owner;
+	}
+
+	/**
+	 * Copies the state of the bullet into a new slot, and makes the bullet a handle to that slot.
+	 * From another thread than the owner the bullet is queued, and stays a normal object until the owner adds it.
+	 */
+	public void add(Bullet bullet)
+	{
+		if(!isOwner())
+		{
+			synchronized(bullet)
+			{
+				// Removed by another thread, but that hasn't been applied yet.
+				if(bullet.store == this && bullet.removeQueued)
+				{
+					bullet.removeQueued = false;
+					return;
+				}
+
+				if(bullet.store != null || bullet.queuedStore != null)
+					return;
+
+				bullet.queuedStore = this;
+				queued.incrementAndGet();
+			}
+
+			inbound.offer(bullet);
+			return;
+		}
+
+		if(bullet.queuedStore == this)
+			return;
+
+		if(bullet.store == this && bullet.removeQueued)
+		{
+			synchronized(bullet)
+			{
+				bullet.removeQueued = false;
+			}
+
+			return;
+		}
+
+		attach(bullet);
+	}
+
+	/**
+	 * Owner only.
+	 */
+	private void attach(Bullet bullet)
+	{
+		if(bullet.store != null)
+			return;
+
+		if(size == handles.length)
+			allocate(handles.length * 2);
+
+		int i = size++;
+
+		bullet.saveState(this, i);
+		typeId[i] = getTypeId(bullet.getType());
+		handles[i] = bullet;
+
+		bullet.store = this;
+		bullet.storeIndex = i;
+	}
+
+	/**
+	 * Copies the state of the slot back into the bullet, and detaches it.
+	 * While iterating the slot is only marked, and compacted after the iteration.
+	 * From another thread than the owner the removal is queued.
+	 */
+	public boolean remove(Bullet bullet)
+	{
+		if(bullet.queuedStore == this && cancelQueued(bullet))
+			return true;
+
+		if(!isOwner())
+		{
+			synchronized(bullet)
+			{
+				if(bullet.store != this || bullet.removeQueued)
+					return false;
+
+				bullet.removeQueued = true;
+			}
+
+			outbound.offer(bullet);
+			return true;
+		}
+
+		if(bullet.store != this)
+			return false;
+
+		if(bullet.removeQueued)
+		{
+			synchronized(bullet)
+			{
+				bullet.removeQueued = false;
+			}
+		}
+
+		detach(bullet);
+
+		return true;
+	}
+
+	/**
+	 * Takes back a queued add, returns false if the owner already added it.
+	 */
+	private boolean cancelQueued(Bullet bullet)
+	{
+		synchronized(bullet)
+		{
+			if(bullet.queuedStore != this)
+				return false;
+
+			bullet.queuedStore = null;
+			queued.decrementAndGet();
+
+			return true;
+		}
+	}
+
+	/**
+	 * Owner only.
+	 */
+	private void detach(Bullet bullet)
+	{
+		int i = bullet.storeIndex;
+
+		bullet.loadState(this, i);
+
+		bullet.store = null;
+		bullet.storeIndex = -1;
+
+		if(iterating)
+		{
+			flags[i] |= FLAG_REMOVED;
+			handles[i] = null;
+			removed++;
+		}
+		else
+		{
+			removeSlot(i);
+		}
+	}
+
+	/**
+	 * Owner only, applies the clears, adds and removes of other threads.
+	 */
+	private void applyQueued()
+	{
+		if(cleared)
+		{
+			cleared = false;
+			clear();
+		}
+
+		Bullet bullet;
+
+		while((bullet = outbound.poll()) != null)
+		{
+			synchronized(bullet)
+			{
+				// Added again, or already removed by the owner.
+				if(!bullet.removeQueued || bullet.store != this)
+					continue;
+
+				bullet.removeQueued = false;
+			}
+
+			detach(bullet);
+		}
+
+		while((bullet = inbound.poll()) != null)
+		{
+			synchronized(bullet)
+			{
+				// Removed again before it got here.
+				if(bullet.queuedStore != this)
+					continue;
+
+				bullet.queuedStore = null;
+				queued.decrementAndGet();
+
+				attach(bullet);
+			}
+		}
+	}
+
+	/**
+	 * Swap-remove, the last slot takes the place of the removed one.
+	 */
+	private void removeSlot(int i)
+	{
+		int last = --size;
+
+		if(i != last)
+		{
+			x[i] = x[last];
+			y[i] = y[last];
+			lastX[i] = lastX[last];
+			lastY[i] = lastY[last];
+			velocityX[i] = velocityX[last];
+			velocityY[i] = velocityY[last];
+			rotation[i] = rotation[last];
+			scaleX[i] = scaleX[last];
+			scaleY[i] = scaleY[last];
+			typeId[i] = typeId[last];
+			flags[i] = flags[last];
+			handles[i] = handles[last];
+
+			if(handles[i] != null)
+				handles[i].storeIndex = i;
+		}
+
+		handles[last] = null;
+	}
+
+	public void startReading()
+	{
+		owner = Thread.currentThread();
+
+		if(!iterating)
+			applyQueued();
+
+		iterating = true;
+	}
+
+	public void endReading()
+	{
+		iterating = false;
+
+		if(removed == 0)
+			return;
+
+		// Walk backwards, so swapped in slots have already been checked.
+		for(int i = size - 1; i >= 0; i--)
+		{
+			if((flags[i] & FLAG_REMOVED) != 0)
+				removeSlot(i);
+		}
+
+		removed = 0;
+	}
+
+	/**
+	 * Detaches all bullets, from another thread than the owner that's done when the owner starts reading (queued adds are dropped right away).
+	 */
+	public void clear()
+	{
+		if(!isOwner())
+		{
+			for(Bullet bullet : inbound)
+			{
+				cancelQueued(bullet);
+			}
+
+			cleared = true;
+			return;
+		}
+
+		for(int i = size - 1; i >= 0; i--)
+		{
+			Bullet bullet = handles[i];
+
+			if(bullet != null)
+				remove(bullet);
+		}
+	}
+
+	/**
+	 * Saves the positions as the last positions, called at the start of every step, so bullets are drawn between where they were at the start and the end of it.
+	 */
+	public void startStep()
+	{
+		System.arraycopy(x, 0, lastX, 0, size);
+		System.arraycopy(y, 0, lastY, 0, size);
+	}
+
+	/**
+	 * Movement loop, same as {@link Bullet#onUpdateDelta(float)}.
+	 */
+	public void updateDelta(float delta)
+	{
+		startReading();
+
+		this.delta = delta;
+		ParallelUtil.forRange(size, PARALLEL_GRAIN, integrate);
+
+		endReading();
+	}
+
+	/**
+	 * Logic loop, same as {@link Bullet#onUpdate(long)}.
+	 * Deletes bullets that strayed too far from the boundary, collision with the player is checked afterwards by the {@link BulletGrid}.
+	 * The bullets are tested in parallel, and deleted in slot order on the calling thread.
+	 */
+	public void updateLogic(long tick)
+	{
+		J2hGame g = Game.getGame();
+
+		minX = g.getMinX();
+		minY = g.getMinY();
+		maxX = g.getMaxX();
+		maxY = g.getMaxY();
+
+		startReading();
+
+		int size = this.size;
+
+		ParallelUtil.forRange(size, PARALLEL_GRAIN, markStrays);
+
+		for(int i = 0; i < size; i++)
+		{
+			if((flags[i] & FLAG_STRAY) == 0)
+				continue;
+
+			flags[i] &= ~FLAG_STRAY;
+
+			Bullet bullet = handles[i];
+
+			if(bullet != null)
+				g.delete(bullet);
+		}
+
+		endReading();
+	}
+
+	/**
+	 * Includes the bullets queued by other threads.
+	 */
+	public int size()
+	{
+		if(cleared)
+			return queued.get();
+
+		return size - removed + queued.get();
+	}
+
+	public boolean contains(Object o)
+	{
+		if(!(o instanceof Bullet))
+			return false;
+
+		Bullet bullet = (Bullet) o;
+
+		if(bullet.queuedStore == this)
+			return true;
+
+		return bullet.store == this && !bullet.removeQueued && !cleared;
+	}
+
+	public Iterator<Bullet> iterator()
+	{
+		return new Iterator<Bullet>()
+		{
+			private int index = nextIndex(0);
+			private Bullet current;
+
+			private int nextIndex(int from)
+			{
+				while(from < size && handles[from] == null)
+					from++;
+
+				return from;
+			}
+
+			@Override
+			public boolean hasNext()
+			{
+				return index < size;
+			}
+
+			@Override
+			public Bullet next()
+			{
+				if(!hasNext())
+					throw new NoSuchElementException();
+
+				current = handles[index];
+				index = nextIndex(index + 1);
+
+				return current;
+			}
+
+			@Override
+			public void remove()
+			{
+				// Removing shifts slots around, so always go through the deferred path.
+				boolean wasIterating = iterating;
+
+				iterating = true;
+				BulletStore.this.remove(current);
+				iterating = wasIterating;
+			}
+		};
+	}
+
+	/**
+	 * Returns an id for the bullet type, the same for every bullet of the same touhou type and color.
+	 * 0 for any other type.
+	 */
+	public static int getTypeId(IBulletType type)
+	{
+		if(!(type instanceof ThBullet))
+			return 0;
+
+		ThBullet bullet = (ThBullet) type;
+
+		return 1 + bullet.getBulletType().ordinal() * COLORS + bullet.getBulletColor().ordinal();
+	}
+}
@@ -1,8 +1,7 @@
 package java2hu.object.bullet;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java2hu.Game;
 import java2hu.Position;
 import java2hu.util.MathUtil;
 
@@ -31,10 +30,14 @@ public class Laser extends LaserDrawer
 	int skip = -1;
 	int maxPoints = -1;
 	float lengthOnScreen = -1;
-	LinkedList<Position> lastPositions;
-	ArrayList<Integer> deletedPoints = new ArrayList<Integer>();
+	LaserTrail trail = new LaserTrail();
 	boolean doUpdate = true;
 	
+	/**
+	 * The positions handed out by {@link #getPoints()}, reused every time it's called.
+	 */
+	private ArrayList<Position> pointsView = new ArrayList<Position>();
+	
 	public Laser(ILaserType type, float x, float y, float lengthOnScreen)
 	{
 		this(type.getAnimation(), type.getThickness(), type.getHitboxThickness(), x, y, lengthOnScreen);
@@ -47,8 +50,6 @@ public class Laser extends LaserDrawer
 		this.x = x;
 		this.y = y;
 		this.lengthOnScreen = lengthOnScreen;
-
-		lastPositions = new LinkedList<Position>();
 		
 		doMakeNewMesh(false); // We do that for you.
 		this.setZIndex(1000);
@@ -60,22 +61,95 @@ public class Laser extends LaserDrawer
 
 	}
 	
+	/**
+	 * Breaks the laser at the point of the trail at the same spot as the position (see {@link #getPoints()}).
+	 */
 	@Override
 	public void deletePoint(Position pos)
 	{
-		Iterator<Position> it = lastPositions.descendingIterator();
-		
-		int position = 0;
+		for(int offset = 0; offset < trail.size(); offset++)
+		{
+			if(trail.getX(offset) == pos.getX() && trail.getY(offset) == pos.getY())
+				trail.setGap(offset);
+		}
+	}
+	
+	@Override
+	protected void breakMeshPoint(int source)
+	{
+		trail.setGap(source);
+	}
+	
+	@Override
+	protected void fillMeshPoints()
+	{
+		for(int offset = 0; offset < trail.size(); offset++)
+		{
+			addMeshPoint(trail.getX(offset), trail.getY(offset), trail.isGap(offset), offset);
+		}
+	}
+	
+	/**
+	 * The points of the trail, newest first, with a NaN position at every gap.
+	 * This is made from the {@link #getTrail()} every time it's called (reusing the positions), changing it does nothing.
+	 */
+	@Override
+	public ArrayList<Position> getPoints()
+	{
+		int size = 0;
 		
-		while(it.hasNext())
+		for(int offset = 0; offset < trail.size(); offset++)
 		{
-			if(pos == it.next())
-			{
-				deletedPoints.add(position);
-			}
+			if(trail.isGap(offset))
+				size = setPointView(size, Float.NaN, Float.NaN);
 			
-			position++;
+			size = setPointView(size, trail.getX(offset), trail.getY(offset));
 		}
+		
+		while(pointsView.size() > size)
+			pointsView.remove(pointsView.size() - 1);
+		
+		return pointsView;
+	}
+	
+	private int setPointView(int index, float x, float y)
+	{
+		if(index < pointsView.size())
+		{
+			Position pos = pointsView.get(index);
+			pos.setX(x);
+			pos.setY(y);
+		}
+		else
+		{
+			pointsView.add(new Position(x, y));
+		}
+		
+		return index + 1;
+	}
+	
+	/**
+	 * The path the laser followed, newest point first.
+	 */
+	public LaserTrail getTrail()
+	{
+		return trail;
+	}
+	
+	@Override
+	public boolean doDelete()
+	{
+		if(trail.isEmpty())
+			return false;
+		
+		// The head is the most likely to still be on the stage.
+		for(int offset = 0; offset < trail.size(); offset++)
+		{
+			if(Game.getGame().inBoundary(trail.getX(offset), trail.getY(offset)))
+				return false;
+		}
+		
+		return true;
 	}
 	
 	@Override
@@ -86,78 +160,32 @@ public class Laser extends LaserDrawer
 		if(skip > 0 && tick % skip == 0)
 			return;
 		
+		if(getUnitsPerPoint() <= 0 || trail.isEmpty() || MathUtil.getDistance(getX(), getY(), trail.getX(0), trail.getY(0)) >= getUnitsPerPoint())
 		{
-			Position last = lastPositions.isEmpty() ? null : lastPositions.getLast();
-			
-			float distance = last != null ? MathUtil.getDistance(this, last) : getUnitsPerPoint() + 1;
-			
-			{
-				if(getUnitsPerPoint() <= 0 || distance >= getUnitsPerPoint())
-				{
-					lastPositions.add(new Position(getX(), getY()));
-				}
-
-				getPoints().clear();
-				
-				Iterator<Position> it = lastPositions.descendingIterator();
-				
-				int position = 0;
-				
-				while(it.hasNext())
-				{
-					if(deletedPoints.contains(position))
-					{
-						getPoints().add(new Position(Float.NaN, Float.NaN));
-					}
-					else
-					{
-						getPoints().add(it.next());
-					}
-					
-					position++;
-				}
-
-				makeNewMesh();
-			}
+			trail.add(getX(), getY());
 		}
-
+		
+		// Keeps one point past the limits, so the laser doesn't come up short.
+		if(getMaxPoints() > 0)
 		{
-			Iterator<Position> it = lastPositions.descendingIterator();
-			
-			float totalDistance = 0;
-			int amount = 0;
-			
-			Position last = lastPositions.peek();
-
-			while(it.hasNext())
-			{
-				Position pos = it.next();
-				
-				if(getMaxPoints() > 0 && amount > getMaxPoints())
-				{
-					it.remove();
-					continue;
-				}
-				
-				if(getMaximumLengthOnScreen() > 0 && totalDistance > getMaximumLengthOnScreen())
-				{
-					it.remove();
-					continue;
-				}
-				
-				totalDistance += last != null ? MathUtil.getDistance(pos, last) : 0;
-				
-				last = pos;
-				amount++;
-			}
+			while(trail.size() > getMaxPoints() + 1)
+				trail.removeOldest();
 		}
 		
+		if(getMaximumLengthOnScreen() > 0)
+		{
+			while(trail.size() > 1 && trail.getLengthTo(trail.size() - 2) > getMaximumLengthOnScreen())
+				trail.removeOldest();
+		}
+		
+		makeNewMesh();
+		
 		super.checkCollision();
 	}
 	
 	public void clearPath()
 	{
-		lastPositions.clear();
+		trail.clear();
 	}
 	
 	/**
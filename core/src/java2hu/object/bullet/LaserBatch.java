@@ -0,0 +1,219 @@
+package java2hu.object.bullet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Collects the meshes of all {@link LaserDrawer}s that draw after each other, and draws them together once something else is about to be drawn.
+ * (The {@link java2hu.object.RenderQueue} flushes it after every group, so the lasers still end up at their z index.)
+ *
+ * All vertices go into one dynamic mesh, grouped by texture, and are drawn with one shader pass and one draw call per texture,
+ * instead of ending and beginning the sprite batch for every laser.
+ *
+ * Vertices are the same as {@link LaserDrawer.LaserData#verticesMesh}: x, y, packed color, u, v, three per triangle.
+ */
+public class LaserBatch extends J2hObject implements Disposable
+{
+	public static final int VERTEX_SIZE = 5;
+
+	private static class Part
+	{
+		Texture texture;
+		float[] vertices = new float[VERTEX_SIZE * 6 * 64];
+		int size = 0;
+	}
+
+	/**
+	 * Parts by texture, in the order the textures were first used. Parts that weren't used since the last flush are dropped during the next one.
+	 */
+	private ArrayList<Part> parts = new ArrayList<Part>();
+	private int pending = 0;
+
+	private Mesh mesh;
+	private ShaderProgram shader;
+	private float[] upload = new float[0];
+
+	private int renderCalls = 0;
+
+	/**
+	 * Queues the vertices (count floats from offset) to be drawn with the texture.
+	 */
+	public void add(Texture texture, float[] vertices, int offset, int count)
+	{
+		if(count <= 0)
+			return;
+
+		Part part = getPart(texture);
+
+		if(part.size + count > part.vertices.length)
+			part.vertices = Arrays.copyOf(part.vertices, Math.max(part.vertices.length * 2, part.size + count));
+
+		System.arraycopy(vertices, offset, part.vertices, part.size, count);
+		part.size += count;
+		pending += count;
+	}
+
+	private Part getPart(Texture texture)
+	{
+		for(int i = 0; i < parts.size(); i++)
+		{
+			Part part = parts.get(i);
+
+			if(part.texture == texture)
+				return part;
+		}
+
+		Part part = new Part();
+		part.texture = texture;
+
+		parts.add(part);
+
+		return part;
+	}
+
+	/**
+	 * True if there's something queued.
+	 */
+	public boolean isPending()
+	{
+		return pending > 0;
+	}
+
+	/**
+	 * Draws everything that's queued with the projection of the batch, the batch is ended during it and begun again after if it was drawing.
+	 */
+	public void flush(Batch batch)
+	{
+		if(pending == 0)
+			return;
+
+		boolean drawing = batch.isDrawing();
+
+		if(drawing)
+			batch.end();
+
+		if(shader == null)
+			shader = SpriteBatch.createDefaultShader();
+
+		if(mesh == null || mesh.getMaxVertices() < pending / VERTEX_SIZE)
+		{
+			if(mesh != null)
+				mesh.dispose();
+
+			mesh = new Mesh(false, Math.max(pending / VERTEX_SIZE, 1024), 0,
+					new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+					new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+					new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		}
+
+		// One upload for all parts, drawn per texture from their offset in it.
+		if(upload.length < pending)
+			upload = new float[Math.max(pending, upload.length * 2)];
+
+		int offset = 0;
+
+		for(int i = 0; i < parts.size(); i++)
+		{
+			Part part = parts.get(i);
+
+			System.arraycopy(part.vertices, 0, upload, offset, part.size);
+			offset += part.size;
+		}
+
+		mesh.setVertices(upload, 0, pending);
+
+		GL20 gl = Gdx.gl20;
+
+		gl.glEnable(GL20.GL_BLEND);
+		gl.glBlendFunc(batch.getBlendSrcFunc(), batch.getBlendDstFunc());
+		gl.glActiveTexture(GL20.GL_TEXTURE0);
+
+		shader.begin();
+		shader.setUniformMatrix("u_projTrans", batch.getProjectionMatrix());
+		shader.setUniformi("u_texture", 0);
+
+		offset = 0;
+
+		for(int i = 0; i < parts.size(); i++)
+		{
+			Part part = parts.get(i);
+
+			if(part.size == 0)
+			{
+				parts.remove(i--);
+				continue;
+			}
+
+			part.texture.bind(0);
+			part.texture.unsafeSetFilter(TextureFilter.MipMapLinearNearest, TextureFilter.Nearest);
+
+			mesh.render(shader, GL20.GL_TRIANGLES, offset / VERTEX_SIZE, part.size / VERTEX_SIZE);
+			renderCalls++;
+
+			offset += part.size;
+			part.size = 0;
+		}
+
+		shader.end();
+
+		pending = 0;
+
+		if(drawing)
+			batch.begin();
+	}
+
+	/**
+	 * Drops everything that's queued without drawing it.
+	 */
+	public void clear()
+	{
+		for(int i = 0; i < parts.size(); i++)
+		{
+			parts.get(i).size = 0;
+		}
+
+		pending = 0;
+	}
+
+	/**
+	 * Draw calls made since the last {@link #resetRenderCalls()}.
+	 */
+	public int getRenderCalls()
+	{
+		return renderCalls;
+	}
+
+	public void resetRenderCalls()
+	{
+		renderCalls = 0;
+	}
+
+	@Override
+	public void dispose()
+	{
+		clear();
+		parts.clear();
+
+		if(mesh != null)
+			mesh.dispose();
+
+		if(shader != null)
+			shader.dispose();
+
+		mesh = null;
+		shader = null;
+	}
+}
@@ -0,0 +1,219 @@
+package java2hu.object.bullet;
+
+import java.util.Arrays;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.math.Intersector;
+
+/**
+ * Hitbox of a laser, as a capsule (a segment with a radius) for every segment between two of it's points.
+ *
+ * The capsules are kept in a bounding volume hierarchy, a binary tree over the segments in the order of the laser.
+ * A laser is a curve, so segments that are next to each other in the order are also close on the stage, and the tree can be built in one pass without sorting.
+ * A hit test only looks at the branches whose bounds it overlaps, and tests the capsules exactly, so curves that bend back into themselves work fine.
+ */
+public class LaserCapsules extends J2hObject
+{
+	private static final int SEGMENT_STRIDE = 4;
+	private static final int NODE_STRIDE = 4;
+
+	private float[] segments = new float[64 * SEGMENT_STRIDE];
+	private int[] points = new int[64];
+	private int size = 0;
+
+	private float radius = 0;
+
+	/**
+	 * Bounds of the nodes (min x, min y, max x, max y), node 1 is the root, node n has children 2n and 2n + 1.
+	 * The leaves start at node leaves, the segments in order, padded with empty bounds.
+	 */
+	private float[] nodes = new float[0];
+	private int leaves = 0;
+
+	private int[] stack = new int[64];
+
+	public void clear()
+	{
+		size = 0;
+	}
+
+	/**
+	 * Adds the segment from a to b.
+	 * @param point - Index of the point a in the points of the laser.
+	 */
+	public void add(float ax, float ay, float bx, float by, int point)
+	{
+		if(size == points.length)
+		{
+			segments = Arrays.copyOf(segments, size * 2 * SEGMENT_STRIDE);
+			points = Arrays.copyOf(points, size * 2);
+		}
+
+		int s = size * SEGMENT_STRIDE;
+
+		segments[s] = ax;
+		segments[s + 1] = ay;
+		segments[s + 2] = bx;
+		segments[s + 3] = by;
+		points[size] = point;
+
+		size++;
+	}
+
+	/**
+	 * Builds the tree over the segments added since the last {@link #clear()}.
+	 */
+	public void build(float radius)
+	{
+		this.radius = radius;
+
+		leaves = 1;
+
+		while(leaves < size)
+			leaves *= 2;
+
+		if(nodes.length < leaves * 2 * NODE_STRIDE)
+			nodes = new float[leaves * 2 * NODE_STRIDE];
+
+		for(int i = 0; i < leaves; i++)
+		{
+			int n = (leaves + i) * NODE_STRIDE;
+
+			if(i >= size)
+			{
+				nodes[n] = Float.POSITIVE_INFINITY;
+				nodes[n + 1] = Float.POSITIVE_INFINITY;
+				nodes[n + 2] = Float.NEGATIVE_INFINITY;
+				nodes[n + 3] = Float.NEGATIVE_INFINITY;
+				continue;
+			}
+
+			int s = i * SEGMENT_STRIDE;
+
+			nodes[n] = Math.min(segments[s], segments[s + 2]) - radius;
+			nodes[n + 1] = Math.min(segments[s + 1], segments[s + 3]) - radius;
+			nodes[n + 2] = Math.max(segments[s], segments[s + 2]) + radius;
+			nodes[n + 3] = Math.max(segments[s + 1], segments[s + 3]) + radius;
+		}
+
+		for(int node = leaves - 1; node >= 1; node--)
+		{
+			int n = node * NODE_STRIDE;
+			int left = node * 2 * NODE_STRIDE;
+			int right = left + NODE_STRIDE;
+
+			nodes[n] = Math.min(nodes[left], nodes[right]);
+			nodes[n + 1] = Math.min(nodes[left + 1], nodes[right + 1]);
+			nodes[n + 2] = Math.max(nodes[left + 2], nodes[right + 2]);
+			nodes[n + 3] = Math.max(nodes[left + 3], nodes[right + 3]);
+		}
+	}
+
+	/**
+	 * Returns the first segment (in the order of the laser) that touches the polygon, -1 if none do.
+	 * @param polygon - Vertices of a convex polygon, x and y after each other (like {@link com.badlogic.gdx.math.Polygon#getTransformedVertices()}).
+	 */
+	public int collide(float[] polygon)
+	{
+		if(size == 0 || polygon.length < 2)
+			return -1;
+
+		float minX = Float.POSITIVE_INFINITY;
+		float minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY;
+		float maxY = Float.NEGATIVE_INFINITY;
+
+		for(int i = 0; i < polygon.length; i += 2)
+		{
+			minX = Math.min(minX, polygon[i]);
+			minY = Math.min(minY, polygon[i + 1]);
+			maxX = Math.max(maxX, polygon[i]);
+			maxY = Math.max(maxY, polygon[i + 1]);
+		}
+
+		int top = 0;
+		stack[top++] = 1;
+
+		while(top > 0)
+		{
+			int node = stack[--top];
+			int n = node * NODE_STRIDE;
+
+			if(nodes[n] > maxX || nodes[n + 2] < minX || nodes[n + 1] > maxY || nodes[n + 3] < minY)
+				continue;
+
+			if(node >= leaves)
+			{
+				int segment = node - leaves;
+
+				if(touches(segment, polygon))
+					return segment;
+
+				continue;
+			}
+
+			if(top + 2 > stack.length)
+				stack = Arrays.copyOf(stack, stack.length * 2);
+
+			// Right first, so the left is looked at first and the lowest segment wins.
+			stack[top++] = node * 2 + 1;
+			stack[top++] = node * 2;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * True if the capsule of the segment and the polygon overlap.
+	 */
+	private boolean touches(int segment, float[] polygon)
+	{
+		int s = segment * SEGMENT_STRIDE;
+
+		float ax = segments[s];
+		float ay = segments[s + 1];
+		float bx = segments[s + 2];
+		float by = segments[s + 3];
+
+		// The segment itself is inside the polygon.
+		if(polygon.length >= 6 && Intersector.isPointInPolygon(polygon, 0, polygon.length, ax, ay))
+			return true;
+
+		for(int i = 0; i < polygon.length; i += 2)
+		{
+			float x1 = polygon[i];
+			float y1 = polygon[i + 1];
+			float x2 = polygon[(i + 2) % polygon.length];
+			float y2 = polygon[(i + 3) % polygon.length];
+
+			if(Intersector.distanceSegmentPoint(ax, ay, bx, by, x1, y1) <= radius)
+				return true;
+
+			if(Intersector.distanceSegmentPoint(x1, y1, x2, y2, ax, ay) <= radius || Intersector.distanceSegmentPoint(x1, y1, x2, y2, bx, by) <= radius)
+				return true;
+
+			if(Intersector.intersectSegments(ax, ay, bx, by, x1, y1, x2, y2, null))
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Index of the first point of the segment in the points of the laser, the second one comes right after it.
+	 */
+	public int getPoint(int segment)
+	{
+		return points[segment];
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public float getRadius()
+	{
+		return radius;
+	}
+}
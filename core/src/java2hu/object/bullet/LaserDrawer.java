@@ -1,6 +1,7 @@
 package java2hu.object.bullet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import java2hu.Game;
 import java2hu.HitboxSprite;
@@ -9,21 +10,9 @@ import java2hu.Position;
 import java2hu.overwrite.J2hObject;
 import java2hu.util.MathUtil;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.Texture.TextureFilter;
-import com.badlogic.gdx.graphics.VertexAttribute;
-import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
-import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder.VertexInfo;
-import com.badlogic.gdx.graphics.glutils.ShaderProgram;
-import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.utils.Array;
 
@@ -31,11 +20,9 @@ public class LaserDrawer extends Bullet
 {
 	ArrayList<Position> points = new ArrayList<Position>();
 	
-	Mesh mesh;
-	
 	LaserData data;
 	Polygon hitbox = new Polygon();
-	ShaderProgram sp = SpriteBatch.createDefaultShader();
+	LaserCapsules capsules = new LaserCapsules();
 	LaserAnimation textures;
 	float thickness;
 	
@@ -163,34 +150,17 @@ public class LaserDrawer extends Bullet
 		return null;
 	}
 
+	/**
+	 * Queues the mesh in the {@link LaserBatch} of the game, which draws all lasers of the same z index together.
+	 */
 	@Override
 	public void onDraw()
 	{
 		if(data != null)
 		{
-			Game.getGame().batch.end();
-
-			mesh = getMesh(mesh, data.verticesMesh);
-
-			sp.begin();
-
 			Texture texture = textures.getCurrentTexture(Game.getGame().getTick());
-
-			texture.setFilter(TextureFilter.MipMapLinearNearest, TextureFilter.Nearest);
-
-			Matrix4 combined = new Matrix4().set(Game.getGame().camera.camera.combined);
-
-			sp.setUniformMatrix("u_projTrans", combined);
-
-			Gdx.graphics.getGL20().glEnable(GL20.GL_BLEND);
-			Gdx.graphics.getGL20().glEnable(GL20.GL_TEXTURE_2D);
-			Gdx.graphics.getGL20().glActiveTexture(GL20.GL_TEXTURE0);
-
-			mesh.render(sp, GL20.GL_TRIANGLES);
-
-			sp.end();
-
-			Game.getGame().batch.begin();
+			
+			Game.getGame().getLaserBatch().add(texture, data.verticesMesh, 0, data.verticesMeshLength);
 		}
 	}
 	
@@ -216,16 +186,15 @@ public class LaserDrawer extends Bullet
 		return makeNewMesh;
 	}
 	
+	/**
+	 * The hitbox polygon is only brought up to date with the mesh when it's asked for, collision goes through the {@link LaserCapsules}.
+	 */
+	private boolean hitboxChanged = false;
+	
 	public void makeNewMesh()
 	{
 		data = makeLaserMeshVertices();
-
-		if(data.verticesHitbox != null && data.verticesHitbox.length >= 6)
-		{
-			hitbox.setVertices(data.verticesHitbox);
-			hitbox.setPosition(data.centerX, data.centerY);
-			hitbox.setOrigin(data.centerX, data.centerY);
-		}
+		hitboxChanged = true;
 	}
 
 	@Override
@@ -236,291 +205,420 @@ public class LaserDrawer extends Bullet
 		if(getTicksAlive() < 10)
 			return;
 		
-		if(getHitbox() == null)
+		if(capsules.size() == 0)
 			return;
 		
-		float[] vertices = getHitbox().getTransformedVertices();
 		float[] playerVertices = g.getPlayer().getHitbox().getTransformedVertices();
 		
-		boolean hit = false;
+		int segment = capsules.collide(playerVertices);
 		
-		// I had to use alternative detection for this.
-		// The polygon is in convex, but is not handled properly by the normal polygon intersection.
-		// This should be just as good though, since lasers are simple forms.
-		for(int i = 0; i < playerVertices.length; i += 2)
-		{
-			float x = playerVertices[i];
-			float y = playerVertices[i + 1];
-			
-			if(Intersector.isPointInPolygon(vertices, 0, vertices.length, x, y))
-			{
-				hit = true;
-				break;
-			}
-		}
-		
-		if(hit)
+		if(segment >= 0)
 		{
 			g.getPlayer().onHit(this);
 			onHit();
 			
-			float shortestDistance = Float.MAX_VALUE;
-			Position shortestPoint = null;
+			// Break the laser at the end of the segment that was hit that's closest to the player.
+			int a = capsules.getPoint(segment);
+			int b = a + 1;
 			
-			for(Position p : getPoints())
-			{
-				float distance = MathUtil.getDistance(p, g.getPlayer());
-				
-				if(shortestPoint == null || distance < shortestDistance)
-				{
-					shortestDistance = distance;
-					shortestPoint = p;
-				}
-			}
+			float playerX = g.getPlayer().getX();
+			float playerY = g.getPlayer().getY();
 			
-			if(shortestPoint != null)
-			{
-				deletePoint(shortestPoint);
-			}
+			boolean closestA = MathUtil.getDistance(meshPointsX[a], meshPointsY[a], playerX, playerY) <= MathUtil.getDistance(meshPointsX[b], meshPointsY[b], playerX, playerY);
+			
+			breakMeshPoint(meshPointsSource[closestA ? a : b]);
 		}
 	}
 	
+	/**
+	 * The capsules the collision is checked with, built along with the mesh.
+	 */
+	public LaserCapsules getCapsules()
+	{
+		return capsules;
+	}
+	
 	@Override
 	public Polygon getHitbox()
 	{ 
+		if(hitboxChanged && data != null && data.verticesHitboxLength >= 6)
+		{
+			hitboxChanged = false;
+			
+			// A polygon uses all of it's vertices, so it gets an array of exactly the right size.
+			float[] vertices = hitbox.getVertices();
+			
+			if(vertices.length != data.verticesHitboxLength)
+				vertices = new float[data.verticesHitboxLength];
+			
+			System.arraycopy(data.verticesHitbox, 0, vertices, 0, data.verticesHitboxLength);
+			
+			hitbox.setVertices(vertices);
+			hitbox.setPosition(data.centerX, data.centerY);
+			hitbox.setOrigin(data.centerX, data.centerY);
+			hitbox.dirty();
+		}
+		
 		return hitbox;
 	}
 	
-	public Mesh getMesh(Mesh lastMesh, float[] vertices)
-	{
-		boolean createNewMesh = lastMesh == null || lastMesh.getMaxVertices() < vertices.length;
-		
-		Mesh mesh;
-		
-		if(createNewMesh)
+	private static final float COLOR = Color.WHITE.toFloatBits();
+	
+	/**
+	 * Floats per point in the corner cache: the point and the other end of the segment it's corners are based on (to tell if they moved),
+	 * 1 if the corners are based on the next point (start of a section), the distance from the previous point,
+	 * and the left and right corners of the mesh and of the hitbox.
+	 * The x of an entry is NaN if it isn't used.
+	 */
+	private static final int CACHE_STRIDE = 14;
+	private static final int CACHE_START = 4;
+	private static final int CACHE_DISTANCE = 5;
+	private static final int CACHE_LEFT = 6;
+	private static final int CACHE_RIGHT = 8;
+	private static final int CACHE_HITBOX_LEFT = 10;
+	private static final int CACHE_HITBOX_RIGHT = 12;
+	
+	/**
+	 * How far the head of the laser can have moved in the points since the last mesh, and still have the cache line up.
+	 */
+	private static final int CACHE_SEARCH = 8;
+	
+	private LaserData buffers = new LaserData();
+	
+	/**
+	 * Points the mesh is built from, see {@link #fillMeshPoints()}.
+	 */
+	protected float[] meshPointsX = new float[16];
+	protected float[] meshPointsY = new float[16];
+	protected boolean[] meshPointsGap = new boolean[16];
+	protected int[] meshPointsSource = new int[16];
+	protected int meshPointCount = 0;
+	
+	private float[] cache = new float[16 * CACHE_STRIDE];
+	private int cacheSize = 0;
+	private float cacheThickness = Float.NaN;
+	private float cacheHitboxThickness = Float.NaN;
+	
+	/**
+	 * Fills the points the mesh is built from, head first, with {@link #addMeshPoint(float, float, boolean, int)}.
+	 * By default these are the {@link #getPoints()}, where a point with a NaN x breaks the laser.
+	 */
+	protected void fillMeshPoints()
+	{
+		boolean gap = false;
+		
+		for(int i = 0; i < points.size(); i++)
 		{
-			if(lastMesh != null)
+			Position p = points.get(i);
+			
+			if(Float.isNaN(p.getX()))
 			{
-				disposables.remove(lastMesh);
-				lastMesh.dispose();
+				gap = true;
+				continue;
 			}
 			
-			mesh = new Mesh(false, vertices.length, 0,
-	                new VertexAttribute(Usage.Position, 2, "a_position"),
-	                new VertexAttribute(Usage.ColorPacked, 4, "a_color"),
-	                new VertexAttribute(Usage.TextureCoordinates, 2, "a_texCoord0"));
-			
-			addDisposable(mesh);
+			addMeshPoint(p.getX(), p.getY(), gap, i);
+			gap = false;
 		}
-		else
+	}
+	
+	/**
+	 * @param gap - If the laser is broken between this point and the one added before it.
+	 * @param source - Index of the point in whatever the points come from, see {@link #breakMeshPoint(int)}.
+	 */
+	protected void addMeshPoint(float x, float y, boolean gap, int source)
+	{
+		int i = meshPointCount;
+		
+		if(i == meshPointsX.length)
 		{
-			mesh = lastMesh;
+			meshPointsX = Arrays.copyOf(meshPointsX, i * 2);
+			meshPointsY = Arrays.copyOf(meshPointsY, i * 2);
+			meshPointsGap = Arrays.copyOf(meshPointsGap, i * 2);
+			meshPointsSource = Arrays.copyOf(meshPointsSource, i * 2);
 		}
 		
-		mesh.setVertices(vertices);
+		meshPointsX[i] = x;
+		meshPointsY[i] = y;
+		meshPointsGap[i] = gap;
+		meshPointsSource[i] = source;
 		
-		return mesh;
+		meshPointCount++;
 	}
 	
-	private MeshBuilder meshBuilder = new MeshBuilder();
+	/**
+	 * Breaks the laser at the point the mesh point was made from, after it was hit. By default {@link #deletePoint(Position)}.
+	 */
+	protected void breakMeshPoint(int source)
+	{
+		if(source < points.size())
+			deletePoint(points.get(source));
+	}
 	
+	/**
+	 * Builds the mesh, the hitbox and the {@link LaserCapsules} of the laser from it's points, into buffers that are reused every time (so the returned data is always the same object).
+	 * 
+	 * The corners of every point (where the sin, cos and square roots are) are cached, and only worked out again for points that moved or are new.
+	 * The texture is stretched over the whole length of a section though, so the vertices themselves are written out again every time.
+	 */
 	public LaserData makeLaserMeshVertices()
 	{
-		LaserData data = new LaserData();
+		meshPointCount = 0;
+		fillMeshPoints();
 		
-		Color color = Color.WHITE.cpy();
+		int count = meshPointCount;
+		float[] pointsX = meshPointsX;
+		float[] pointsY = meshPointsY;
+		boolean[] gaps = meshPointsGap;
 		
-		ArrayList<Position> hitboxForward = new ArrayList<Position>();
-		ArrayList<Position> hitboxBackward = new ArrayList<Position>();
-		ArrayList<Float> mesh = new ArrayList<Float>();
+		if(cacheThickness != getThickness() || cacheHitboxThickness != getHitboxThickness())
+		{
+			cacheSize = 0;
+			cacheThickness = getThickness();
+			cacheHitboxThickness = getHitboxThickness();
+		}
 		
-		ArrayList<ArrayList<Position>> laserSections = new ArrayList<ArrayList<Position>>();
+		alignCache(count);
+		ensureCacheCapacity(count);
 		
-		ArrayList<Position> list = new ArrayList<Position>();
+		for(int i = cacheSize; i < count; i++)
+		{
+			cache[i * CACHE_STRIDE] = Float.NaN;
+		}
 		
-		laserSections.add(list);
+		int segments = 0;
 		
-		for(Position p : points)
+		for(int i = 0; i < count; i++)
 		{
-			// Laser break detected.
-			if(Float.isNaN(p.getX()))
+			int c = i * CACHE_STRIDE;
+			
+			boolean start = i == 0 || gaps[i];
+			int other = start ? (i + 1 < count && !gaps[i + 1] ? i + 1 : -1) : i - 1;
+			
+			// A section of only one point isn't drawn.
+			if(other < 0)
 			{
-				list = new ArrayList<Position>();
-				laserSections.add(list);
+				cache[c] = Float.NaN;
 				continue;
 			}
 			
-			list.add(p);
+			if(!start)
+				segments++;
+			
+			float x = pointsX[i];
+			float y = pointsY[i];
+			float otherX = pointsX[other];
+			float otherY = pointsY[other];
+			float startFlag = start ? 1 : 0;
+			
+			if(cache[c] == x && cache[c + 1] == y && cache[c + 2] == otherX && cache[c + 3] == otherY && cache[c + CACHE_START] == startFlag)
+				continue;
+			
+			cache[c] = x;
+			cache[c + 1] = y;
+			cache[c + 2] = otherX;
+			cache[c + 3] = otherY;
+			cache[c + CACHE_START] = startFlag;
+			
+			cache[c + CACHE_DISTANCE] = start ? 0 : MathUtil.getDistance(otherX, otherY, x, y);
+			
+			double angle = start ? getAngle(x, y, otherX, otherY) : getAngle(otherX, otherY, x, y);
+			double angleLeft = angle + 90f;
+			double angleRight = angle - 90f;
+			
+			double cosLeft = fastCos(angleLeft);
+			double cosRight = fastCos(angleRight);
+			
+			double sinLeft = fastSin(angleLeft);
+			double sinRight = fastSin(angleRight);
+			
+			cache[c + CACHE_LEFT] = (float) (x + cosLeft * getThickness());
+			cache[c + CACHE_LEFT + 1] = (float) (y + sinLeft * getThickness());
+			cache[c + CACHE_RIGHT] = (float) (x + cosRight * getThickness());
+			cache[c + CACHE_RIGHT + 1] = (float) (y + sinRight * getThickness());
+			
+			cache[c + CACHE_HITBOX_LEFT] = (float) (x + cosLeft * getHitboxThickness());
+			cache[c + CACHE_HITBOX_LEFT + 1] = (float) (y + sinLeft * getHitboxThickness());
+			cache[c + CACHE_HITBOX_RIGHT] = (float) (x + cosRight * getHitboxThickness());
+			cache[c + CACHE_HITBOX_RIGHT + 1] = (float) (y + sinRight * getHitboxThickness());
 		}
 		
-		for(ArrayList<Position> sectionPoints : laserSections)
+		cacheSize = count;
+		
+		LaserData data = buffers;
+		
+		int meshLength = segments * 6 * LaserBatch.VERTEX_SIZE;
+		
+		if(data.verticesMesh == null || data.verticesMesh.length < meshLength)
+			data.verticesMesh = new float[Math.max(meshLength, data.verticesMesh == null ? 0 : data.verticesMesh.length * 2)];
+		
+		int hitboxLength = segments * 8;
+		
+		if(data.verticesHitbox == null || data.verticesHitbox.length < hitboxLength)
+			data.verticesHitbox = new float[Math.max(hitboxLength, data.verticesHitbox == null ? 0 : data.verticesHitbox.length * 2)];
+		
+		data.verticesMeshLength = meshLength;
+		data.verticesHitboxLength = hitboxLength;
+		
+		float[] mesh = data.verticesMesh;
+		float[] hitbox = data.verticesHitbox;
+		
+		int vertex = 0;
+		int segment = 0;
+		
+		// Left side of the hitbox goes forward, the right side comes back.
+		int hitboxRight = segments * 4;
+		
+		capsules.clear();
+		
+		for(int start = 0; start < count;)
 		{
+			if(Float.isNaN(cache[start * CACHE_STRIDE]))
+			{
+				start++;
+				continue;
+			}
+			
+			int end = start + 1;
+			
+			while(end < count && !gaps[end])
+				end++;
+			
 			float totalDistance = 0;
 			float currentDistance = 0;
 			
-			for(int i = 0; i < sectionPoints.size() - 1; i++)
+			for(int i = start + 1; i < end; i++)
 			{
-				Position p1 = sectionPoints.get(i);
-				Position p2 = sectionPoints.get(i + 1);
-				
-				double distance = MathUtil.getDistance(p1, p2);
+				double distance = cache[i * CACHE_STRIDE + CACHE_DISTANCE];
 				
 				totalDistance += distance;
 			}
 			
-			VertexInfo lastP11 = null;
-			VertexInfo lastP10 = null;
-			
-			VertexInfo lastH11 = null;
-			VertexInfo lastH10 = null;
-			
-			// Cant make a section that's so small...
-			if(sectionPoints.size() < 2)
-				continue;
-			
-			for(int i = 0; i < sectionPoints.size() - 1; i++)
+			for(int i = start + 1; i < end; i++)
 			{
-				Position p1 = sectionPoints.get(i);
-				Position p2 = sectionPoints.get(i + 1);
+				int a = (i - 1) * CACHE_STRIDE;
+				int b = i * CACHE_STRIDE;
 				
-				double distance = MathUtil.getDistance(p1, p2);
-				
-				double angle = MathUtil.getAngle(p1, p2);
-				double angleLeft = angle + 90f;
-				double angleRight = angle - 90f;
-
-				double cosLeft = fastCos(angleLeft);
-				double cosRight = fastCos(angleRight);
-
-				double sinLeft = fastSin(angleLeft);
-				double sinRight = fastSin(angleRight);
+				double distance = cache[b + CACHE_DISTANCE];
 				
 				float U1 = currentDistance / totalDistance;
 				float U2 = (float) ((currentDistance + distance) / totalDistance);
-
-				VertexInfo p00 = null;
-				
-				if(lastP10 == null)
-					p00 = new VertexInfo().setPos((float) (p1.getX() + cosLeft * getThickness()), 0, (float) (p1.getY() + sinLeft * getThickness())).setUV(U1, 0);
-				else
-					p00 = lastP10.setUV(U1, 0);
-				
-				VertexInfo p01 = null;
 				
-				if(lastP11 == null)
-					p01 = new VertexInfo().setPos((float) (p1.getX() + cosRight * getThickness()), 0, (float) (p1.getY() + sinRight * getThickness())).setUV(U1, 1);
-				else
-					p01 = lastP11.setUV(U1, 1);
+				vertex = putVertex(mesh, vertex, cache[a + CACHE_LEFT], cache[a + CACHE_LEFT + 1], 0, U1);
+				vertex = putVertex(mesh, vertex, cache[a + CACHE_RIGHT], cache[a + CACHE_RIGHT + 1], 1, U1);
+				vertex = putVertex(mesh, vertex, cache[b + CACHE_RIGHT], cache[b + CACHE_RIGHT + 1], 1, U2);
 				
-				VertexInfo p11 = new VertexInfo().setPos((float) (p2.getX() + cosRight * getThickness()), 0, (float) (p2.getY() + sinRight * getThickness())).setUV(U2, 1);
-				VertexInfo p10 = new VertexInfo().setPos((float) (p2.getX() + cosLeft * getThickness()), 0, (float) (p2.getY() + sinLeft * getThickness())).setUV(U2, 0);
-
-				lastP11 = p11;
-				lastP10 = p10;
-				
-				VertexInfo h00 = null;
-				
-				if(lastH10 == null)
-					h00 = new VertexInfo().setPos((float) (p1.getX() + cosLeft * getHitboxThickness()), 0, (float) (p1.getY() + sinLeft * getHitboxThickness()));
-				else
-					h00 = lastH10;
+				vertex = putVertex(mesh, vertex, cache[b + CACHE_RIGHT], cache[b + CACHE_RIGHT + 1], 1, U2);
+				vertex = putVertex(mesh, vertex, cache[b + CACHE_LEFT], cache[b + CACHE_LEFT + 1], 0, U2);
+				vertex = putVertex(mesh, vertex, cache[a + CACHE_LEFT], cache[a + CACHE_LEFT + 1], 0, U1);
 				
-				VertexInfo h01 = null;
+				int h = segment * 4;
 				
-				if(lastH11 == null)
-					h01 = new VertexInfo().setPos((float) (p1.getX() + cosRight * getHitboxThickness()), 0, (float) (p1.getY() + sinRight * getHitboxThickness()));
-				else
-					h01 = lastH11;
-				
-				VertexInfo h11 = new VertexInfo().setPos((float) (p2.getX() + cosRight * getHitboxThickness()), 0, (float) (p2.getY() + sinRight * getHitboxThickness()));
-				VertexInfo h10 = new VertexInfo().setPos((float) (p2.getX() + cosLeft * getHitboxThickness()), 0, (float) (p2.getY() + sinLeft * getHitboxThickness()));
-
-				lastH11 = h11;
-				lastH10 = h10;
+				hitbox[h] = cache[a + CACHE_HITBOX_LEFT];
+				hitbox[h + 1] = cache[a + CACHE_HITBOX_LEFT + 1];
+				hitbox[h + 2] = cache[b + CACHE_HITBOX_LEFT];
+				hitbox[h + 3] = cache[b + CACHE_HITBOX_LEFT + 1];
 				
-				VertexInfo[] info = { 
-						p00, p01, p11, // Triangle 1
-						p11, p10, p00, // Triangle 2
-						};
+				h = hitboxRight + (segments - 1 - segment) * 4;
 				
-				VertexInfo[] forward = { 
-						h00, h10
-						};
+				hitbox[h] = cache[b + CACHE_HITBOX_RIGHT];
+				hitbox[h + 1] = cache[b + CACHE_HITBOX_RIGHT + 1];
+				hitbox[h + 2] = cache[a + CACHE_HITBOX_RIGHT];
+				hitbox[h + 3] = cache[a + CACHE_HITBOX_RIGHT + 1];
 				
-				VertexInfo[] back = { 
-						h01, h11
-						};
-				
-				for(VertexInfo v : info)
-				{
-					mesh.add(v.position.x);
-					mesh.add(v.position.z);
-					
-					mesh.add(color.toFloatBits());
-					
-					mesh.add(v.uv.y);
-					mesh.add(v.uv.x);
-				}
-				
-				for(VertexInfo h : forward)
-				{
-					hitboxForward.add(new Position(h.position.x, h.position.z));
-				}
-				
-				for(VertexInfo h : back)
-				{
-					hitboxBackward.add(new Position(h.position.x, h.position.z));
-				}
+				capsules.add(cache[a], cache[a + 1], cache[b], cache[b + 1], i - 1);
 				
+				segment++;
 				currentDistance += distance;
 			}
+			
+			start = end;
 		}
 		
-		data.verticesMesh = toFloatArray(mesh);
+		capsules.build(getHitboxThickness());
 		
-		Position[] hitboxVertices = new Position[hitboxForward.size() + hitboxBackward.size()];
+		return data;
+	}
+	
+	/**
+	 * Same as {@link MathUtil#getAngle(java2hu.IPosition, java2hu.IPosition)}, which works on whole units.
+	 */
+	private static float getAngle(float xa, float ya, float xb, float yb)
+	{
+		return MathUtil.getAngle((int) xa, (int) ya, (int) xb, (int) yb);
+	}
+	
+	private static int putVertex(float[] mesh, int index, float x, float y, float side, float progress)
+	{
+		mesh[index] = x;
+		mesh[index + 1] = y;
+		mesh[index + 2] = COLOR;
+		mesh[index + 3] = side;
+		mesh[index + 4] = progress;
 		
-		int pos = 0;
+		return index + LaserBatch.VERTEX_SIZE;
+	}
+	
+	/**
+	 * Moves the cache along with the points, if the laser grew or shrunk at the head (the start of the points).
+	 * Entries are checked against the points they were made from anyway, so this only decides how much of the cache can be used again.
+	 */
+	private void alignCache(int count)
+	{
+		if(cacheSize == 0 || count == 0 || Float.isNaN(cache[0]))
+			return;
 		
-		for(int i = 0; i < hitboxForward.size(); i++)
+		for(int shift = 0; shift < Math.min(CACHE_SEARCH, count); shift++)
 		{
-			hitboxVertices[i] = hitboxForward.get(i);
-			
-			pos = i;
+			if(meshPointsX[shift] == cache[0] && meshPointsY[shift] == cache[1])
+			{
+				shiftCache(shift);
+				return;
+			}
 		}
 		
-		for(int i = hitboxBackward.size() - 1; i >= 0; i--)
+		for(int shift = 1; shift < Math.min(CACHE_SEARCH, cacheSize); shift++)
 		{
-			hitboxVertices[pos + hitboxBackward.size() - i] = hitboxBackward.get(i);
+			int c = shift * CACHE_STRIDE;
+			
+			if(cache[c] == meshPointsX[0] && cache[c + 1] == meshPointsY[0])
+			{
+				shiftCache(-shift);
+				return;
+			}
 		}
+	}
+	
+	private void shiftCache(int shift)
+	{
+		if(shift == 0)
+			return;
 		
-		float[] hitboxFloatVertices = new float[hitboxVertices.length * 2];
-		
-		int index = 0;
-		
-		for(Position p : hitboxVertices)
+		if(shift > 0)
 		{
-			hitboxFloatVertices[index] = p.getX();
-			hitboxFloatVertices[index + 1] = p.getY();
+			ensureCacheCapacity(cacheSize + shift);
 			
-			index += 2;
+			System.arraycopy(cache, 0, cache, shift * CACHE_STRIDE, cacheSize * CACHE_STRIDE);
+			
+			for(int i = 0; i < shift; i++)
+			{
+				cache[i * CACHE_STRIDE] = Float.NaN;
+			}
+		}
+		else
+		{
+			System.arraycopy(cache, -shift * CACHE_STRIDE, cache, 0, (cacheSize + shift) * CACHE_STRIDE);
 		}
 		
-		data.verticesHitbox = hitboxFloatVertices;
-		
-		return data;
+		cacheSize += shift;
 	}
 	
-	public float[] toFloatArray(ArrayList<Float> arrayList)
+	private void ensureCacheCapacity(int capacity)
 	{
-		float[] newArray = new float[arrayList.size()];
-		
-		for(int i = 0; i < arrayList.size(); i++)
-		{
-			newArray[i] = arrayList.get(i);
-		}
+		if(cache.length >= capacity * CACHE_STRIDE)
+			return;
 		
-		return newArray;
+		cache = Arrays.copyOf(cache, Math.max(capacity, cache.length / CACHE_STRIDE * 2) * CACHE_STRIDE);
 	}
 	
 	public double fastSin(double degree)
@@ -548,8 +646,17 @@ public class LaserDrawer extends Bullet
 		float centerX;
 		float centerY;
 		
+		/**
+		 * Only the first verticesMeshLength floats are used, the rest is room to grow.
+		 */
 		float[] verticesMesh;
+		int verticesMeshLength;
+		
+		/**
+		 * Same as the mesh, only the first verticesHitboxLength floats are used.
+		 */
 		float[] verticesHitbox;
+		int verticesHitboxLength;
 	}
 	
 	public static class LaserAnimation extends J2hObject
@@ -0,0 +1,182 @@
+package java2hu.object.bullet;
+
+import java.util.Arrays;
+import java2hu.overwrite.J2hObject;
+
+/**
+ * The path a {@link Laser} has followed, as a ring buffer of x, y and the length of the path up to every point.
+ * Adding a point at the head and dropping one at the tail is O(1), and so is the length between any two points.
+ *
+ * Points are counted from the newest one (offset 0, the head of the laser) to the oldest one (offset size - 1).
+ * Gaps are counted the same way, so a gap stays at the same place in the laser while it moves, instead of staying at the same place on the stage.
+ * A gap at an offset breaks the laser between that point and the one before it (closer to the head).
+ */
+public class LaserTrail extends J2hObject
+{
+	private float[] x;
+	private float[] y;
+	private double[] length;
+	private int mask;
+
+	/**
+	 * Index of the newest point, the oldest one is size - 1 before it.
+	 */
+	private int head = -1;
+	private int size = 0;
+
+	private boolean[] gaps;
+
+	public LaserTrail()
+	{
+		this(64);
+	}
+
+	/**
+	 * The trail grows if it needs more points than this (rounded up to a power of 2).
+	 */
+	public LaserTrail(int capacity)
+	{
+		int powerOfTwo = 16;
+
+		while(powerOfTwo < capacity)
+			powerOfTwo *= 2;
+
+		x = new float[powerOfTwo];
+		y = new float[powerOfTwo];
+		length = new double[powerOfTwo];
+		gaps = new boolean[powerOfTwo];
+		mask = powerOfTwo - 1;
+	}
+
+	/**
+	 * Adds a new point at the head.
+	 */
+	public void add(float x, float y)
+	{
+		if(size == this.x.length)
+			grow();
+
+		double length = 0;
+
+		if(size > 0)
+		{
+			float deltaX = x - this.x[head];
+			float deltaY = y - this.y[head];
+
+			length = this.length[head] + Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+		}
+
+		head = (head + 1) & mask;
+
+		this.x[head] = x;
+		this.y[head] = y;
+		this.length[head] = length;
+
+		size++;
+	}
+
+	/**
+	 * Drops the oldest point.
+	 */
+	public void removeOldest()
+	{
+		if(size > 0)
+			size--;
+	}
+
+	private void grow()
+	{
+		int capacity = x.length * 2;
+
+		float[] newX = new float[capacity];
+		float[] newY = new float[capacity];
+		double[] newLength = new double[capacity];
+
+		// Oldest first from 0, so the head ends up at size - 1.
+		for(int offset = size - 1, i = 0; offset >= 0; offset--, i++)
+		{
+			int index = index(offset);
+
+			newX[i] = x[index];
+			newY[i] = y[index];
+			newLength[i] = length[index];
+		}
+
+		x = newX;
+		y = newY;
+		length = newLength;
+		mask = capacity - 1;
+		head = size - 1;
+	}
+
+	private int index(int offset)
+	{
+		return (head - offset) & mask;
+	}
+
+	public float getX(int offset)
+	{
+		return x[index(offset)];
+	}
+
+	public float getY(int offset)
+	{
+		return y[index(offset)];
+	}
+
+	/**
+	 * Length of the path from the head to the point at the offset.
+	 */
+	public double getLengthTo(int offset)
+	{
+		return length[head] - length[index(offset)];
+	}
+
+	/**
+	 * Length of the whole path, from the head to the oldest point.
+	 */
+	public double getLength()
+	{
+		return size == 0 ? 0 : getLengthTo(size - 1);
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Breaks the laser between the point at the offset and the one before it.
+	 */
+	public void setGap(int offset)
+	{
+		if(offset >= gaps.length)
+			gaps = Arrays.copyOf(gaps, Math.max(gaps.length * 2, offset + 1));
+
+		gaps[offset] = true;
+	}
+
+	public boolean isGap(int offset)
+	{
+		return offset < gaps.length && gaps[offset];
+	}
+
+	/**
+	 * Drops all points, gaps stay where they are.
+	 */
+	public void clear()
+	{
+		size = 0;
+		head = -1;
+	}
+
+	public void clearGaps()
+	{
+		Arrays.fill(gaps, false);
+	}
+}
@@ -173,7 +173,7 @@ public abstract class Player extends StageObject
 		
 		InputUtil.handleMovementArrowKeys(this, 9F, 4.0F);
 		
-		if(Gdx.input.isKeyPressed(Input.Keys.Z))
+		if(game.isKeyPressed(Input.Keys.Z))
 		{
 			shoot();
 		}
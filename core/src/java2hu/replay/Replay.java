@@ -0,0 +1,269 @@
+package java2hu.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * The input of a run, tick by tick, and the seed of the game's random (see {@link java2hu.J2hGame#getRandom()}).
+ * Playing it back from the same starting point (the scenario) goes through exactly the same ticks, see {@link java2hu.J2hGame#startPlayback(Replay)}.
+ *
+ * For every tick the state of the {@link #KEYS} is kept as a bit mask, and key presses (which go to the {@link java2hu.events.input.KeyDownEvent} listeners, like dialogues) are kept with the tick they happened after.
+ * Only unpaused ticks count.
+ *
+ * File format (big endian): int magic, int version, long seed, int scenario size, the scenario keys and values,
+ * int key count, the key codes, int tick count, int run count, per run: int length, int mask (masks that repeat are only written once),
+ * int press count, per press: int tick, int key code.
+ */
+public class Replay extends J2hObject
+{
+	/**
+	 * The keys the game logic looks at, in the order of the bits in the masks.
+	 */
+	public static final int[] KEYS = {
+		Keys.UP, Keys.DOWN, Keys.LEFT, Keys.RIGHT, Keys.SHIFT_LEFT, Keys.SHIFT_RIGHT, Keys.Z, Keys.X, Keys.C,
+		Keys.NUM_1, Keys.NUM_2, Keys.NUM_3, Keys.NUM_4, Keys.NUM_5, Keys.NUM_6, Keys.NUM_7
+	};
+
+	private static final int MAGIC = 0x4A325250; // "J2RP"
+	private static final int VERSION = 1;
+
+	private long seed;
+	private LinkedHashMap<String, String> scenario = new LinkedHashMap<String, String>();
+	private int[] keys = KEYS;
+
+	private int[] masks = new int[3600];
+	private int ticks = 0;
+
+	private int[] pressTicks = new int[64];
+	private int[] pressKeys = new int[64];
+	private int presses = 0;
+
+	public Replay(long seed)
+	{
+		this.seed = seed;
+	}
+
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * What the run started from, so it can be set up the same way again. For instance the day and boss of a spell practice.
+	 */
+	public LinkedHashMap<String, String> getScenario()
+	{
+		return scenario;
+	}
+
+	public String getScenario(String key)
+	{
+		return scenario.get(key);
+	}
+
+	public void setScenario(String key, String value)
+	{
+		scenario.put(key, value);
+	}
+
+	/**
+	 * Amount of ticks recorded.
+	 */
+	public int getTicks()
+	{
+		return ticks;
+	}
+
+	/**
+	 * Adds the next tick, with the keys that are held down.
+	 */
+	public void addTick(int mask)
+	{
+		if(ticks == masks.length)
+			masks = Arrays.copyOf(masks, masks.length * 2);
+
+		masks[ticks++] = mask;
+	}
+
+	public int getMask(int tick)
+	{
+		return masks[tick];
+	}
+
+	/**
+	 * Whether the key was held down during the tick, keys that aren't recorded are never down.
+	 */
+	public boolean isKeyPressed(int tick, int keycode)
+	{
+		int mask = masks[tick];
+
+		for(int i = 0; i < keys.length; i++)
+		{
+			if(keys[i] == keycode)
+				return (mask & (1 << i)) != 0;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Adds a key press, which happened after the given tick (0 before the first).
+	 */
+	public void addPress(int tick, int keycode)
+	{
+		if(presses == pressTicks.length)
+		{
+			pressTicks = Arrays.copyOf(pressTicks, presses * 2);
+			pressKeys = Arrays.copyOf(pressKeys, presses * 2);
+		}
+
+		pressTicks[presses] = tick;
+		pressKeys[presses] = keycode;
+		presses++;
+	}
+
+	public int getPressCount()
+	{
+		return presses;
+	}
+
+	public int getPressTick(int index)
+	{
+		return pressTicks[index];
+	}
+
+	public int getPressKey(int index)
+	{
+		return pressKeys[index];
+	}
+
+	public void save(FileHandle file) throws IOException
+	{
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(seed);
+
+			out.writeInt(scenario.size());
+
+			for(Entry<String, String> entry : scenario.entrySet())
+			{
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue());
+			}
+
+			out.writeInt(keys.length);
+
+			for(int key : keys)
+			{
+				out.writeInt(key);
+			}
+
+			out.writeInt(ticks);
+
+			int runs = 0;
+
+			for(int i = 0; i < ticks; i++)
+			{
+				if(i == 0 || masks[i] != masks[i - 1])
+					runs++;
+			}
+
+			out.writeInt(runs);
+
+			for(int start = 0; start < ticks;)
+			{
+				int end = start + 1;
+
+				while(end < ticks && masks[end] == masks[start])
+				{
+					end++;
+				}
+
+				out.writeInt(end - start);
+				out.writeInt(masks[start]);
+
+				start = end;
+			}
+
+			out.writeInt(presses);
+
+			for(int i = 0; i < presses; i++)
+			{
+				out.writeInt(pressTicks[i]);
+				out.writeInt(pressKeys[i]);
+			}
+		}
+	}
+
+	public static Replay load(FileHandle file) throws IOException
+	{
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(file.read())))
+		{
+			if(in.readInt() != MAGIC)
+				throw new IOException(file.path() + " is not a replay.");
+
+			int version = in.readInt();
+
+			if(version != VERSION)
+				throw new IOException(file.path() + " is a replay of version " + version + ", only " + VERSION + " can be read.");
+
+			Replay replay = new Replay(in.readLong());
+
+			int scenarioSize = in.readInt();
+
+			for(int i = 0; i < scenarioSize; i++)
+			{
+				replay.setScenario(in.readUTF(), in.readUTF());
+			}
+
+			replay.keys = new int[in.readInt()];
+
+			for(int i = 0; i < replay.keys.length; i++)
+			{
+				replay.keys[i] = in.readInt();
+			}
+
+			replay.masks = new int[Math.max(1, in.readInt())];
+
+			int runs = in.readInt();
+
+			for(int i = 0; i < runs; i++)
+			{
+				int length = in.readInt();
+				int mask = in.readInt();
+
+				for(int j = 0; j < length; j++)
+				{
+					replay.addTick(mask);
+				}
+			}
+
+			int presses = in.readInt();
+
+			for(int i = 0; i < presses; i++)
+			{
+				replay.addPress(in.readInt(), in.readInt());
+			}
+
+			return replay;
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Replay " + scenario + " (" + ticks + " ticks, " + presses + " key presses, seed " + seed + ")";
+	}
+}
@@ -9,6 +9,7 @@ import java2hu.J2hGame;
 import java2hu.J2hGame.ClearType;
 import java2hu.object.StageObject;
 import java2hu.object.bullet.Bullet;
+import java2hu.object.bullet.IBulletType;
 import java2hu.overwrite.J2hObject;
 
 public abstract class Spellcard extends J2hObject
@@ -18,22 +19,48 @@ public abstract class Spellcard extends J2hObject
 	
 	private Set<Bullet> bullets = Collections.newSetFromMap(new ConcurrentHashMap<Bullet, Boolean>());
 	
+	private SpellcardMetrics metrics = new SpellcardMetrics(this);
+	
 	public Spellcard(StageObject owner)
 	{
 		this.owner = owner;
 	}
 	
+	/**
+	 * Spawns the bullet and keeps track of it for this spell card.
+	 * Plain bullets end up in the {@link java2hu.object.bullet.BulletStore}, like with any other spawn.
+	 * Bullets from the pool (see {@link #obtainBullet(IBulletType, float, float)}) aren't kept track of in {@link #getBullets()}, since they're handed out again after they're deleted.
+	 */
 	public void addBullet(Bullet bullet)
 	{
-		bullets.add(bullet);
+		if(!bullet.isPooled())
+			bullets.add(bullet);
+		
 		Game.getGame().spawn(bullet);
 	}
 	
+	/**
+	 * Returns a bullet from the pool (see {@link Bullet#obtain(IBulletType, float, float)}), not spawned yet.
+	 * Set it's scale, z index and such first, then spawn it with {@link #addBullet(Bullet)}, the spawn animation starts from what it has at that point.
+	 */
+	public Bullet obtainBullet(IBulletType type, float x, float y)
+	{
+		return Bullet.obtain(type, x, y);
+	}
+	
 	public Set<Bullet> getBullets()
 	{
 		return bullets;
 	}
 	
+	/**
+	 * What this card cost the last (or current) time it ran.
+	 */
+	public SpellcardMetrics getMetrics()
+	{
+		return metrics;
+	}
+	
 	public J2hGame getGame()
 	{
 		return Game.getGame();
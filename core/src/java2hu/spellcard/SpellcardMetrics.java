@@ -0,0 +1,203 @@
+package java2hu.spellcard;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java2hu.overwrite.J2hObject;
+
+/**
+ * What a spell card cost while it ran, from {@link java2hu.J2hGame#startSpellCard(Spellcard)} until it's stopped.
+ * The game feeds it once every logic tick, the numbers are for the whole stage during that time (other objects and cards running at the same time count too).
+ *
+ * - Bullets spawned, and the most bullets on the stage at once.
+ *   These aren't just the bullets of this card: with cards overlapping, or other bullets on the stage, they're counted for every card that's running.
+ * - Collision checks, the bullets the {@link java2hu.object.bullet.BulletGrid} tested against the player.
+ * - How long the logic ticks took, average and 99th percentile.
+ * - Bytes allocated by the game thread (only on JVMs that can tell, -1 otherwise).
+ */
+public class SpellcardMetrics extends J2hObject
+{
+	/**
+	 * Columns of {@link #toCsv()}, bullets_spawned and peak_bullets are for the whole stage (see the class doc).
+	 */
+	public static final String CSV_HEADER = "card,owner,start_tick,ticks,bullets_spawned,peak_bullets,collision_checks,avg_tick_ms,p99_tick_ms,allocated_bytes";
+
+	private Spellcard card;
+
+	private boolean running = false;
+	private long startTick;
+	private long startSpawned;
+
+	private int ticks;
+	private long bulletsSpawned;
+	private int peakBullets;
+	private long collisionChecks;
+	private long allocated;
+
+	private long[] tickNanos = new long[600];
+
+	public SpellcardMetrics(Spellcard card)
+	{
+		this.card = card;
+	}
+
+	/**
+	 * Starts over, bulletsSpawned is the total amount of bullets the game has spawned so far.
+	 */
+	public void start(long tick, long bulletsSpawned)
+	{
+		startTick = tick;
+		startSpawned = bulletsSpawned;
+
+		ticks = 0;
+		this.bulletsSpawned = 0;
+		peakBullets = 0;
+		collisionChecks = 0;
+		allocated = getAllocatedBytes() < 0 ? -1 : 0;
+
+		running = true;
+	}
+
+	/**
+	 * Records one logic tick.
+	 * @param nanos - How long the tick took.
+	 * @param bullets - Bullets on the stage.
+	 * @param collisionChecks - Bullets tested for collision this tick.
+	 * @param allocated - Bytes allocated since the last tick, -1 if not known.
+	 */
+	public void tick(long nanos, int bullets, int collisionChecks, long allocated)
+	{
+		if(!running)
+			return;
+
+		if(ticks == tickNanos.length)
+			tickNanos = Arrays.copyOf(tickNanos, tickNanos.length * 2);
+
+		tickNanos[ticks++] = nanos;
+
+		peakBullets = Math.max(peakBullets, bullets);
+		this.collisionChecks += collisionChecks;
+
+		if(this.allocated >= 0 && allocated >= 0)
+			this.allocated += allocated;
+	}
+
+	public void end(long bulletsSpawned)
+	{
+		if(!running)
+			return;
+
+		this.bulletsSpawned = bulletsSpawned - startSpawned;
+
+		running = false;
+	}
+
+	public boolean isRunning()
+	{
+		return running;
+	}
+
+	public Spellcard getCard()
+	{
+		return card;
+	}
+
+	public long getStartTick()
+	{
+		return startTick;
+	}
+
+	public int getTicks()
+	{
+		return ticks;
+	}
+
+	/**
+	 * Bullets spawned on the whole stage while the card ran, including those of other cards and objects.
+	 */
+	public long getBulletsSpawned()
+	{
+		return bulletsSpawned;
+	}
+
+	/**
+	 * Most bullets on the whole stage at once while the card ran, including those of other cards and objects.
+	 */
+	public int getPeakBullets()
+	{
+		return peakBullets;
+	}
+
+	public long getCollisionChecks()
+	{
+		return collisionChecks;
+	}
+
+	/**
+	 * Bytes allocated on the game thread while the card ran, -1 if the JVM can't tell.
+	 */
+	public long getAllocated()
+	{
+		return allocated;
+	}
+
+	public float getAverageTickMs()
+	{
+		if(ticks == 0)
+			return 0;
+
+		long total = 0;
+
+		for(int i = 0; i < ticks; i++)
+		{
+			total += tickNanos[i];
+		}
+
+		return total / (float) ticks / 1000000f;
+	}
+
+	/**
+	 * The tick time in ms that this percentage (0 - 100) of the ticks took at most.
+	 */
+	public float getPercentileTickMs(float percentile)
+	{
+		if(ticks == 0)
+			return 0;
+
+		long[] sorted = Arrays.copyOf(tickNanos, ticks);
+		Arrays.sort(sorted);
+
+		int index = (int) Math.ceil(percentile / 100f * ticks) - 1;
+		index = Math.max(0, Math.min(ticks - 1, index));
+
+		return sorted[index] / 1000000f;
+	}
+
+	public String toCsv()
+	{
+		return card.getClass().getName() + "," + (card.getOwner() != null ? card.getOwner().getClass().getName() : "") + "," + startTick + "," + ticks + ","
+				+ bulletsSpawned + "," + peakBullets + "," + collisionChecks + ","
+				+ String.format("%.4f,%.4f", getAverageTickMs(), getPercentileTickMs(99)) + "," + allocated;
+	}
+
+	@Override
+	public String toString()
+	{
+		return card.getClass().getName() + ": " + ticks + " ticks, " + bulletsSpawned + " bullets spawned on the stage, " + peakBullets + " at once, "
+				+ collisionChecks + " collision checks, " + String.format("%.2fms avg, %.2fms p99 per tick", getAverageTickMs(), getPercentileTickMs(99)) + ", "
+				+ (allocated >= 0 ? allocated / 1024 + "KB allocated" : "allocation unknown");
+	}
+
+	private static ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Bytes allocated by the current thread so far, -1 if the JVM can't tell.
+	 */
+	public static long getAllocatedBytes()
+	{
+		if(!(threads instanceof com.sun.management.ThreadMXBean))
+			return -1;
+
+		return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
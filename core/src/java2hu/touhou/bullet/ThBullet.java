@@ -15,6 +15,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
@@ -37,7 +38,27 @@ public class ThBullet implements IBulletType
 		return color.color;
 	}
 	
+	public ThBulletType getBulletType()
+	{
+		return type;
+	}
+	
+	public ThBulletColor getBulletColor()
+	{
+		return color;
+	}
+	
 	private static HashMap<String, Animation> animations = new HashMap<String, Animation>();
+	
+	/**
+	 * Forgets the loaded frames, so they get loaded again (from the {@link ThBulletAtlas} once it's there).
+	 * Bullets that already have their frames keep using them.
+	 */
+	static void clearCache()
+	{
+		animations.clear();
+	}
+	
 	private static Gson gson = new GsonBuilder().serializeNulls().serializeSpecialFloatingPointValues().setPrettyPrinting().create();
 	
 	public static class AnimationData
@@ -45,27 +66,109 @@ public class ThBullet implements IBulletType
 		public float intervalTicks;
 	}
 
+	/**
+	 * Returns a copy of the frames of this bullet type, which can be modified freely.
+	 */
 	@Override
 	public Animation getAnimation()
+	{
+		Animation ani = getSharedAnimation();
+		
+		if(ani == null)
+			return null;
+		
+		return AnimationUtil.copyAnimation(ani);
+	}
+	
+	/**
+	 * Returns the frames of this bullet type, shared by every bullet of the same type and color.
+	 * Never modify these, bullets keep their own rotation, scale and alpha and apply it when drawing. (See {@link java2hu.object.bullet.Bullet#getCurrentFrame()})
+	 */
+	public Animation getSharedAnimation()
 	{
 		String identifier = type.name() + " " + color.name();
 		
 		if(animations.containsKey(identifier))
 		{
-			return AnimationUtil.copyAnimation(animations.get(identifier));
+			return animations.get(identifier);
 		}
 		
-		float modifierX = 1f;
-		float modifierY = 1f;
+		// Packed and cached at startup, else read from the files.
+		ThBulletAtlas.Entry entry = ThBulletAtlas.getEntry(type, color);
+		
+		if(entry == null)
+			entry = readEntry(type, color);
 		
-		if(type instanceof ThBulletType)
+		if(entry == null)
+			return null;
+		
+		float modifierX = type.getOffsetModifierX();
+		float modifierY = type.getOffsetModifierY();
+		
+		FileHandle folder = Gdx.files.internal("bullets/" + type.name() + "/" + color.name());
+		
+		Array<HitboxSprite> frames = new Array<HitboxSprite>();
+		
+		for(int i = 0; i < entry.frames.length; i++)
 		{
-			ThBulletType bt = type;
+			ThBulletAtlas.Frame frame = entry.frames[i];
 			
-			modifierX = bt.getOffsetModifierX();
-			modifierY = bt.getOffsetModifierY();
+			try
+			{
+				TextureRegion region = frame.getRegion();
+				
+				if(region == null)
+				{
+					Texture text = Loader.texture(folder.child((i + 1) + ".png"));
+					text.setFilter(TextureFilter.MipMapLinearNearest, TextureFilter.Nearest);
+					
+					region = new TextureRegion(text);
+				}
+				
+				HitboxSprite sprite = new HitboxSprite(new Sprite(region));
+				
+				if(frame.getHitbox() != null)
+				{
+					sprite.setHitbox(copyHitbox(frame.getHitbox()));
+					
+					sprite.setHitboxScaleOffsetModifierX(modifierX);
+					sprite.setHitboxScaleOffsetModifierY(modifierY);
+				}
+				
+				frames.add(sprite);
+			}
+			catch(Exception e)
+			{
+				e.printStackTrace();
+				return null;
+			}
 		}
 		
+		Animation ani = new Animation(entry.getFrameInterval(), frames);
+		
+		animations.put(identifier, ani);
+		
+		return ani;
+	}
+	
+	private static Polygon copyHitbox(Polygon hitbox)
+	{
+		Polygon copy = new Polygon(hitbox.getVertices().clone());
+		
+		copy.setPosition(hitbox.getX(), hitbox.getY());
+		copy.setOrigin(hitbox.getOriginX(), hitbox.getOriginY());
+		copy.setRotation(hitbox.getRotation());
+		copy.setScale(hitbox.getScaleX(), hitbox.getScaleY());
+		
+		return copy;
+	}
+	
+	/**
+	 * Reads the frame timing and hitboxes of a bullet from it's files, without loading any images.
+	 * Returns null if there is no such bullet.
+	 */
+	static ThBulletAtlas.Entry readEntry(ThBulletType type, ThBulletColor color)
+	{
 		FileHandle textureFolder = Gdx.files.internal("bullets/" + type.name() + "/");
 		FileHandle folder = textureFolder.child(color.name());
 		
@@ -143,7 +246,7 @@ public class ThBullet implements IBulletType
 		
 		int id = 1;
 		
-		Array<HitboxSprite> frames = new Array<HitboxSprite>();
+		Array<ThBulletAtlas.Frame> frames = new Array<ThBulletAtlas.Frame>();
 		
 		Gson gson = HitboxUtil.gson;
 		
@@ -192,20 +295,10 @@ public class ThBullet implements IBulletType
 					poly.setOrigin(b.width / 2f, b.height / 2f);
 				}
 
-				Texture text = Loader.texture(frame);
-				text.setFilter(TextureFilter.MipMapLinearNearest, TextureFilter.Nearest);
-				
-				HitboxSprite sprite = new HitboxSprite(new Sprite(text));
-				
-				if(poly != null)
-				{
-					sprite.setHitbox(poly);
-					
-					sprite.setHitboxScaleOffsetModifierX(modifierX);
-					sprite.setHitboxScaleOffsetModifierY(modifierY);
-				}
+				ThBulletAtlas.Frame frameData = new ThBulletAtlas.Frame();
+				frameData.hitbox = poly;
 
-				frames.add(sprite);
+				frames.add(frameData);
 				id++;
 			}
 			catch(Exception e)
@@ -215,11 +308,11 @@ public class ThBullet implements IBulletType
 			}
 		}
 		
-		Animation ani = new Animation(frameInterval, frames);
-		
-		animations.put(identifier, ani);
+		ThBulletAtlas.Entry entry = new ThBulletAtlas.Entry();
+		entry.frameInterval = frameInterval;
+		entry.frames = frames.toArray(ThBulletAtlas.Frame.class);
 		
-		return getAnimation(); // It's now in the hashmap, and will load from that (also so it clones it).
+		return entry;
 	}
 
 	@Override
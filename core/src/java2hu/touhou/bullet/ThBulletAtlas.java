@@ -0,0 +1,403 @@
+package java2hu.touhou.bullet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+import java2hu.StartLoader;
+import java2hu.StartLoader.LoadOnStartup;
+import java2hu.overwrite.J2hObject;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Blending;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Packs the frames of all Touhou bullets (bullets/TYPE/COLOR/N.png) into a few big textures at startup.
+ * Bullets of different types and colors then use the same texture, so the sprite batch doesn't have to flush every time the next bullet looks different.
+ *
+ * The packed pages, hitboxes and frame timing are kept in a cache file (see {@link ThBulletCache}), keyed by a hash of the source files.
+ * Next startup only the bullets whose files changed are read and decoded again, if nothing changed the pages are used as they are.
+ *
+ * The pixmaps are packed on the startup loader thread, the textures are made on the GL thread once that's done.
+ * Until then (or if it's disabled) {@link ThBullet} reads the files and loads every frame as it's own texture, like before.
+ */
+public class ThBulletAtlas extends J2hObject
+{
+	private static final int PAGE_SIZE = 2048;
+	private static final int PADDING = 2;
+
+	/**
+	 * The frame timing and frames of one bullet type and color.
+	 */
+	public static class Entry
+	{
+		String name;
+		ThBulletType type;
+		ThBulletColor color;
+		long hash;
+		float frameInterval = 1;
+		Frame[] frames;
+
+		public float getFrameInterval()
+		{
+			return frameInterval;
+		}
+
+		public Frame[] getFrames()
+		{
+			return frames;
+		}
+	}
+
+	public static class Frame
+	{
+		/**
+		 * Page and place in the atlas, page is -1 if it's not packed.
+		 */
+		int page = -1;
+		int x, y, width, height;
+
+		Polygon hitbox;
+		TextureRegion region;
+
+		/**
+		 * Hitbox from the bullet files, or null if it has none. Don't modify, copy it.
+		 */
+		public Polygon getHitbox()
+		{
+			return hitbox;
+		}
+
+		/**
+		 * Region in the atlas, or null if it's not packed.
+		 */
+		public TextureRegion getRegion()
+		{
+			return region;
+		}
+	}
+
+	private static boolean enabled = true;
+	private static volatile TextureAtlas atlas;
+	private static volatile HashMap<String, Entry> entries;
+
+	@LoadOnStartup
+	public static void load()
+	{
+		if(!enabled || atlas != null)
+			return;
+
+		long start = System.currentTimeMillis();
+
+		FileHandle cacheFile = getCacheFile();
+		ThBulletCache.Contents cache = ThBulletCache.read(cacheFile);
+
+		final ArrayList<Entry> list = new ArrayList<Entry>();
+		boolean changed = cache == null;
+		int rebuilt = 0;
+
+		for(ThBulletType type : ThBulletType.values())
+		{
+			for(ThBulletColor color : ThBulletColor.values())
+			{
+				if(!getFolder(type, color).exists())
+					continue;
+
+				String name = getName(type, color);
+				long hash = hash(type, color);
+
+				Entry entry = cache != null ? cache.getEntry(name) : null;
+
+				if(entry == null || entry.hash != hash || isPacked(entry) != canPack(type))
+				{
+					entry = ThBullet.readEntry(type, color);
+
+					if(entry == null)
+						continue;
+
+					entry.hash = hash;
+
+					changed = true;
+					rebuilt++;
+				}
+
+				entry.name = name;
+				entry.type = type;
+				entry.color = color;
+
+				list.add(entry);
+			}
+		}
+
+		// Bullets that no longer exist.
+		if(cache != null && cache.getEntryCount() != list.size())
+			changed = true;
+
+		final Array<Pixmap> pages = new Array<Pixmap>();
+
+		if(!changed)
+		{
+			for(int i = 0; i < cache.getPageCount(); i++)
+			{
+				pages.add(cache.getPage(i));
+			}
+		}
+		else
+		{
+			pack(list, cache, pages);
+
+			ThBulletCache.write(cacheFile, list, pages);
+		}
+
+		System.out.println("Loaded " + list.size() + " bullets (" + rebuilt + " from source) into " + pages.size + " atlas page(s) in " + (System.currentTimeMillis() - start) + "ms.");
+
+		// Textures can only be made on the GL thread.
+		StartLoader.upload(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				TextureAtlas newAtlas = new TextureAtlas();
+				Texture[] textures = new Texture[pages.size];
+
+				for(int i = 0; i < pages.size; i++)
+				{
+					Pixmap page = pages.get(i);
+
+					textures[i] = new Texture(page, true);
+					textures[i].setFilter(TextureFilter.MipMapLinearNearest, TextureFilter.Nearest);
+
+					page.dispose();
+				}
+
+				HashMap<String, Entry> map = new HashMap<String, Entry>();
+
+				for(Entry entry : list)
+				{
+					for(int i = 0; i < entry.frames.length; i++)
+					{
+						Frame frame = entry.frames[i];
+
+						if(frame.page >= 0)
+							frame.region = newAtlas.addRegion(entry.name + "/" + (i + 1), textures[frame.page], frame.x, frame.y, frame.width, frame.height);
+					}
+
+					map.put(entry.name, entry);
+				}
+
+				entries = map;
+				atlas = newAtlas;
+
+				// Anything loaded before this used it's own textures.
+				ThBullet.clearCache();
+			}
+		});
+	}
+
+	/**
+	 * Packs the frames of all entries, decoding the images of new entries and copying the rest out of the cached pages.
+	 */
+	private static void pack(ArrayList<Entry> list, ThBulletCache.Contents cache, Array<Pixmap> pages)
+	{
+		PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Format.RGBA8888, PADDING, true);
+
+		Pixmap[] cachedPages = cache != null ? new Pixmap[cache.getPageCount()] : null;
+
+		for(Entry entry : list)
+		{
+			if(!canPack(entry.type))
+				continue;
+
+			FileHandle folder = getFolder(entry.type, entry.color);
+
+			for(int i = 0; i < entry.frames.length; i++)
+			{
+				Frame frame = entry.frames[i];
+				Pixmap pixmap;
+
+				try
+				{
+					if(frame.page >= 0)
+					{
+						// Unchanged, copy it from the old page.
+						if(cachedPages[frame.page] == null)
+							cachedPages[frame.page] = cache.getPage(frame.page);
+
+						pixmap = new Pixmap(frame.width, frame.height, Format.RGBA8888);
+
+						Blending blending = Pixmap.getBlending();
+						Pixmap.setBlending(Blending.None);
+						pixmap.drawPixmap(cachedPages[frame.page], 0, 0, frame.x, frame.y, frame.width, frame.height);
+						Pixmap.setBlending(blending);
+					}
+					else
+					{
+						pixmap = new Pixmap(folder.child((i + 1) + ".png"));
+					}
+				}
+				catch(Exception e)
+				{
+					e.printStackTrace();
+					frame.page = -1;
+					continue;
+				}
+
+				String name = entry.name + "/" + (i + 1);
+
+				Rectangle rect = packer.pack(name, pixmap);
+
+				frame.page = packer.getPageIndex(name);
+				frame.x = (int) rect.x;
+				frame.y = (int) rect.y;
+				frame.width = (int) rect.width;
+				frame.height = (int) rect.height;
+
+				pixmap.dispose();
+			}
+		}
+
+		if(cachedPages != null)
+		{
+			for(Pixmap page : cachedPages)
+			{
+				if(page != null)
+					page.dispose();
+			}
+		}
+
+		// The page pixmaps are disposed once they're turned into textures, so the packer itself isn't.
+		for(Page page : packer.getPages())
+		{
+			pages.add(page.getPixmap());
+		}
+	}
+
+	private static boolean isPacked(Entry entry)
+	{
+		return entry.frames.length > 0 && entry.frames[0].page >= 0;
+	}
+
+	/**
+	 * Hash of all files a bullet is made from, to tell if the cached version is still up to date.
+	 */
+	private static long hash(ThBulletType type, ThBulletColor color)
+	{
+		FileHandle typeFolder = Gdx.files.internal("bullets/" + type.name() + "/");
+		FileHandle folder = typeFolder.child(color.name());
+
+		CRC32 crc = new CRC32();
+		long length = 0;
+
+		FileHandle[] shared = { typeFolder.child("general.vertices"), typeFolder.child("animation.data") };
+
+		for(FileHandle file : shared)
+		{
+			length += hash(crc, file);
+		}
+
+		for(int id = 1; ; id++)
+		{
+			FileHandle frame = folder.child(id + ".png");
+
+			if(!frame.exists())
+				break;
+
+			length += hash(crc, frame);
+			length += hash(crc, folder.child(id + ".json"));
+		}
+
+		return (length << 32) ^ crc.getValue();
+	}
+
+	private static long hash(CRC32 crc, FileHandle file)
+	{
+		crc.update(file.name().getBytes());
+
+		if(!file.exists())
+		{
+			crc.update(0);
+			return 0;
+		}
+
+		byte[] bytes = file.readBytes();
+
+		crc.update(bytes);
+
+		return bytes.length;
+	}
+
+	private static FileHandle getCacheFile()
+	{
+		return Gdx.files.local("cache/bullets.cache");
+	}
+
+	private static FileHandle getFolder(ThBulletType type, ThBulletColor color)
+	{
+		return Gdx.files.internal("bullets/" + type.name() + "/" + color.name());
+	}
+
+	/**
+	 * The stationary laser textures are used as a whole by laser animations, so they keep their own texture.
+	 */
+	private static boolean canPack(ThBulletType type)
+	{
+		return type != ThBulletType.LAZER_STATIONARY;
+	}
+
+	private static String getName(ThBulletType type, ThBulletColor color)
+	{
+		return type.name() + " " + color.name();
+	}
+
+	/**
+	 * Returns the frame timing, hitboxes and atlas regions of this bullet, or null if the atlas isn't loaded (yet).
+	 */
+	public static Entry getEntry(ThBulletType type, ThBulletColor color)
+	{
+		HashMap<String, Entry> entries = ThBulletAtlas.entries;
+
+		if(entries == null)
+			return null;
+
+		return entries.get(getName(type, color));
+	}
+
+	public static boolean isLoaded()
+	{
+		return atlas != null;
+	}
+
+	/**
+	 * Amount of textures in the atlas, 0 if it isn't loaded.
+	 */
+	public static int getPageCount()
+	{
+		TextureAtlas atlas = ThBulletAtlas.atlas;
+
+		return atlas != null ? atlas.getTextures().size : 0;
+	}
+
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Turn packing off (before startup loading) to compare draw calls without the atlas.
+	 */
+	public static void setEnabled(boolean enabled)
+	{
+		ThBulletAtlas.enabled = enabled;
+	}
+}
@@ -0,0 +1,363 @@
+package java2hu.touhou.bullet;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java2hu.overwrite.J2hObject;
+import java2hu.touhou.bullet.ThBulletAtlas.Entry;
+import java2hu.touhou.bullet.ThBulletAtlas.Frame;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Binary cache of the bullet atlas and the bullet frame data (see {@link ThBulletAtlas}), so the bullet images, hitboxes and animation data don't have to be read, parsed and packed every startup.
+ *
+ * Layout (big endian):
+ * int magic, int version, long generation,
+ * int entry count, per entry: name, long source hash, float frame interval, int frame count,
+ * - per frame: int page (-1 if not packed), int x, y, width, height, byte has hitbox,
+ * - if it has a hitbox: int vertex count, the vertices, float x, y, origin x, origin y, rotation, scale x, scale y.
+ * int page count, per page: int width, height, followed by the RGBA8888 pixels.
+ *
+ * The file is memory mapped when read, the pixels of the pages are copied straight from the mapping into pixmaps.
+ * A mapped file can't be deleted or replaced on windows until the mapping is garbage collected, so there are two files (the given one and one ending in .1),
+ * a new cache is written to the one that wasn't read, and the one with the highest generation is read.
+ */
+public class ThBulletCache extends J2hObject
+{
+	private static final int MAGIC = 0x4A324842; // "J2HB"
+	private static final int VERSION = 2;
+
+	/**
+	 * What was read from the cache file.
+	 */
+	public static class Contents
+	{
+		private HashMap<String, Entry> entries = new HashMap<String, Entry>();
+		private ByteBuffer[] pages;
+		private int[] widths;
+		private int[] heights;
+
+		public Entry getEntry(String name)
+		{
+			return entries.get(name);
+		}
+
+		public int getEntryCount()
+		{
+			return entries.size();
+		}
+
+		public int getPageCount()
+		{
+			return pages.length;
+		}
+
+		/**
+		 * Creates a new pixmap with the pixels of this page, which has to be disposed.
+		 */
+		public Pixmap getPage(int page)
+		{
+			Pixmap pixmap = new Pixmap(widths[page], heights[page], Format.RGBA8888);
+
+			ByteBuffer pixels = pixmap.getPixels();
+			pixels.position(0);
+			pixels.put(pages[page].duplicate());
+			pixels.position(0);
+
+			return pixmap;
+		}
+	}
+
+	/**
+	 * The two files the cache alternates between.
+	 */
+	private static File[] getFiles(FileHandle handle)
+	{
+		File file = handle.file();
+
+		return new File[] { file, new File(file.getPath() + ".1") };
+	}
+
+	/**
+	 * Generation of the cache in the file, -1 if it doesn't exist or isn't a cache of this version.
+	 */
+	private static long getGeneration(File file)
+	{
+		if(!file.exists())
+			return -1;
+
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r"))
+		{
+			if(raf.length() < 16 || raf.readInt() != MAGIC || raf.readInt() != VERSION)
+				return -1;
+
+			return raf.readLong();
+		}
+		catch(IOException e)
+		{
+			return -1;
+		}
+	}
+
+	/**
+	 * Index in {@link #getFiles(FileHandle)} of the newest cache, -1 if there is none.
+	 */
+	private static int getNewest(File[] files)
+	{
+		int newest = -1;
+		long generation = -1;
+
+		for(int i = 0; i < files.length; i++)
+		{
+			long g = getGeneration(files[i]);
+
+			if(g > generation)
+			{
+				newest = i;
+				generation = g;
+			}
+		}
+
+		return newest;
+	}
+
+	/**
+	 * Reads the newest cache, returns null if there is none or it can't be used.
+	 */
+	public static Contents read(FileHandle handle)
+	{
+		File[] files = getFiles(handle);
+		int newest = getNewest(files);
+
+		if(newest < 0)
+			return null;
+
+		File file = files[newest];
+
+		MappedByteBuffer buffer;
+
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r"))
+		{
+			FileChannel channel = raf.getChannel();
+
+			// The mapping stays valid after the file is closed.
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			return null;
+		}
+
+		try
+		{
+			if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				return null;
+
+			buffer.getLong(); // Generation
+
+			Contents contents = new Contents();
+
+			int entryCount = buffer.getInt();
+
+			for(int i = 0; i < entryCount; i++)
+			{
+				Entry entry = new Entry();
+
+				String name = readString(buffer);
+
+				entry.hash = buffer.getLong();
+				entry.frameInterval = buffer.getFloat();
+				entry.frames = new Frame[buffer.getInt()];
+
+				for(int f = 0; f < entry.frames.length; f++)
+				{
+					Frame frame = new Frame();
+
+					frame.page = buffer.getInt();
+					frame.x = buffer.getInt();
+					frame.y = buffer.getInt();
+					frame.width = buffer.getInt();
+					frame.height = buffer.getInt();
+
+					if(buffer.get() != 0)
+					{
+						float[] vertices = new float[buffer.getInt()];
+
+						for(int v = 0; v < vertices.length; v++)
+						{
+							vertices[v] = buffer.getFloat();
+						}
+
+						Polygon hitbox = new Polygon(vertices);
+						hitbox.setPosition(buffer.getFloat(), buffer.getFloat());
+						hitbox.setOrigin(buffer.getFloat(), buffer.getFloat());
+						hitbox.setRotation(buffer.getFloat());
+						hitbox.setScale(buffer.getFloat(), buffer.getFloat());
+
+						frame.hitbox = hitbox;
+					}
+
+					entry.frames[f] = frame;
+				}
+
+				contents.entries.put(name, entry);
+			}
+
+			int pageCount = buffer.getInt();
+
+			contents.pages = new ByteBuffer[pageCount];
+			contents.widths = new int[pageCount];
+			contents.heights = new int[pageCount];
+
+			for(int i = 0; i < pageCount; i++)
+			{
+				int width = buffer.getInt();
+				int height = buffer.getInt();
+				int length = width * height * 4;
+
+				ByteBuffer page = buffer.slice();
+				page.limit(length);
+
+				buffer.position(buffer.position() + length);
+
+				contents.pages[i] = page;
+				contents.widths[i] = width;
+				contents.heights[i] = height;
+			}
+
+			return contents;
+		}
+		catch(RuntimeException e)
+		{
+			// Cut off or otherwise broken, it'll just be rebuilt.
+			System.out.println("Bullet cache " + file + " can't be read (" + e + "), rebuilding it.");
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the cache, the pages have to be RGBA8888.
+	 * It goes in the file that isn't the newest one, since that one may still be mapped by {@link #read(FileHandle)}.
+	 */
+	public static void write(FileHandle handle, Collection<Entry> entries, Array<Pixmap> pages)
+	{
+		File[] files = getFiles(handle);
+		int newest = getNewest(files);
+
+		long generation = newest < 0 ? 0 : getGeneration(files[newest]) + 1;
+
+		File file = files[newest == 0 ? 1 : 0];
+		File temp = new File(file.getPath() + ".tmp");
+
+		if(file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16)))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(generation);
+
+			out.writeInt(entries.size());
+
+			for(Entry entry : entries)
+			{
+				out.writeUTF(entry.name);
+				out.writeLong(entry.hash);
+				out.writeFloat(entry.frameInterval);
+				out.writeInt(entry.frames.length);
+
+				for(Frame frame : entry.frames)
+				{
+					out.writeInt(frame.page);
+					out.writeInt(frame.x);
+					out.writeInt(frame.y);
+					out.writeInt(frame.width);
+					out.writeInt(frame.height);
+
+					Polygon hitbox = frame.hitbox;
+
+					out.writeByte(hitbox != null ? 1 : 0);
+
+					if(hitbox != null)
+					{
+						float[] vertices = hitbox.getVertices();
+
+						out.writeInt(vertices.length);
+
+						for(float vertex : vertices)
+						{
+							out.writeFloat(vertex);
+						}
+
+						out.writeFloat(hitbox.getX());
+						out.writeFloat(hitbox.getY());
+						out.writeFloat(hitbox.getOriginX());
+						out.writeFloat(hitbox.getOriginY());
+						out.writeFloat(hitbox.getRotation());
+						out.writeFloat(hitbox.getScaleX());
+						out.writeFloat(hitbox.getScaleY());
+					}
+				}
+			}
+
+			out.writeInt(pages.size);
+
+			byte[] chunk = new byte[1 << 16];
+
+			for(Pixmap page : pages)
+			{
+				out.writeInt(page.getWidth());
+				out.writeInt(page.getHeight());
+
+				ByteBuffer pixels = page.getPixels().duplicate();
+				pixels.position(0);
+				pixels.limit(page.getWidth() * page.getHeight() * 4);
+
+				while(pixels.hasRemaining())
+				{
+					int length = Math.min(chunk.length, pixels.remaining());
+
+					pixels.get(chunk, 0, length);
+					out.write(chunk, 0, length);
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			temp.delete();
+			return;
+		}
+
+		if((file.exists() && !file.delete()) || !temp.renameTo(file))
+		{
+			System.out.println("Couldn't replace bullet cache " + file + ".");
+			temp.delete();
+		}
+	}
+
+	private static String readString(ByteBuffer buffer)
+	{
+		// Same format as DataOutputStream.writeUTF, fine for the ascii names in here.
+		byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
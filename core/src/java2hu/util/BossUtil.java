@@ -9,6 +9,7 @@ import java2hu.Loader;
 import java2hu.Position;
 import java2hu.SmartTimer;
 import java2hu.object.DrawObject;
+import java2hu.object.ObjectPool;
 import java2hu.object.StageObject;
 import java2hu.object.bullet.Bullet;
 import java2hu.object.enemy.greater.Boss;
@@ -27,6 +28,7 @@ import com.badlogic.gdx.graphics.Texture.TextureWrap;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
@@ -91,8 +93,8 @@ public class BossUtil extends J2hObject
 	 */
 	public static void moveAroundRandomly(final Boss boss, final Rectangle box, final int millis, boolean drawBox)
 	{
-		float destinationX = (float) (box.getX() + box.getWidth() * Math.random());
-		float destinationY = (float) (box.getY() + box.getHeight() * Math.random());
+		float destinationX = (float) (box.getX() + box.getWidth() * MathUtil.random());
+		float destinationY = (float) (box.getY() + box.getHeight() * MathUtil.random());
 		
 		moveTo(boss, destinationX, destinationY, millis);
 		
@@ -203,154 +205,13 @@ public class BossUtil extends J2hObject
 	{
 		TouhouSounds.Enemy.EXPLOSION_2.play(0.1F);
 		
-		final TextureRegion leaf;
-		final TextureRegion leafWhite;
-		
-		final Texture sprite = Loader.texture(Gdx.files.internal("sprites/explosion_maple.png"));
-
-		leaf = new TextureRegion(sprite, 0, 0, 64, 64);
-		leafWhite = new TextureRegion(sprite, 64, 0, 64, 64);
-		
-		final ArrayList<StageObject> objects = new ArrayList<StageObject>();
-
 		for(int i = 0; i < amount; i++)
 		{
-			Game.getGame().spawn(new StageObject(pos.getX(), pos.getY())
-			{
-				{
-					objects.add(this);
-					
-					setName("Maple Explosion");
-				}
-
-				{
-					this.setZIndex(99999);
-				}
-				
-				@Override
-				public void onDelete()
-				{
-					super.onDelete();
-					
-					boolean canDispose = true;
-					
-					for(StageObject obj : objects)
-					{
-						if(obj == this)
-							continue;
-						
-						if(obj.isOnStage())
-						{
-							canDispose = false;
-							break;
-						}
-					}
-					
-					if(canDispose)
-						sprite.dispose();
-				};
-
-				TextureRegion textureBack = new TextureRegion(leafWhite);
-				TextureRegion textureFront =  new TextureRegion(leaf);
-				float directionX = 0;
-				float directionY = 0;
-				float scale = 0f;
-				float scaleX = 3F;
-				float scaleY = 3F;
-				float alpha = 0.5F;
-				float rotation = 0F;
-
-				float yRotation = (float) (360 * Math.random());
-
-				@Override
-				public void onUpdate(long tick)
-				{
-					if(alpha <= 0)
-						Game.getGame().delete(this);
-
-					yRotation += 4f * Math.random();
-
-					if(directionX == 0 || directionY == 0)
-					{
-						scale = minSize;
-
-						directionX = (float) ((Math.random() > 0.5 ? -Math.random() : Math.random()) * spread);
-						directionY = (float) ((Math.random() > 0.5 ? -Math.random() : Math.random()) * spread);
-
-						scale += (Math.random() > 0.5 ? -Math.random() : Math.random()) * (maxSize - minSize);
-
-						directionX *= scale;
-						directionY *= scale;
-					}
-
-					float rad = (float) Math.toRadians(yRotation);
-
-					scaleX = (float) (scale * Math.cos(rad));
-					scaleY = (float) (scale * Math.sin(rad));
-
-					if(getTicksAlive() > 50)
-					{
-						alpha -= 0.03F;
-					}
-
-					rotation += 5F + 8F * Math.random();
-
-					setX(getX() + directionX);
-					setY(getY() + directionY);
-				}
-
-				@Override
-				public float getWidth()
-				{
-					return 0;
-				}
-
-				@Override
-				public float getHeight()
-				{
-					return 0;
-				}
-
-				@Override
-				public void setX(float x)
-				{
-					this.x = x;
-				}
-
-				@Override
-				public void setY(float y)
-				{
-					this.y = y;
-				}
-
-				@Override
-				public void onDraw()
-				{
-					Sprite textureBack;
-					Sprite textureFront;
-
-					textureBack = new Sprite(new TextureRegion(this.textureBack));
-					textureFront = new Sprite(new TextureRegion(this.textureFront));
-
-					textureFront.setRotation(rotation);
-					textureFront.setAlpha(Math.max(alpha, 0F));
-					textureFront.setScale(scaleX, scaleY);
-					textureFront.setPosition(getX() - textureBack.getWidth() / 2, getY() - textureBack.getHeight() / 2);
-					textureFront.draw(Game.getGame().batch);
-
-					textureBack.setRotation(rotation);
-					textureBack.setAlpha(Math.max(alpha - 0.1F, 0F));
-					textureBack.setScale(scaleX, scaleY);
-					textureBack.setPosition(getX() - textureBack.getWidth() / 2, getY() - textureBack.getHeight() / 2);
-					textureBack.draw(Game.getGame().batch);
-				}
-
-				@Override
-				public boolean isPersistant()
-				{
-					return true;
-				}
-			});
+			MapleLeaf leaf = MapleLeaf.POOL.acquire();
+			
+			leaf.explode(pos, spread, maxSize, minSize);
+			
+			Game.getGame().spawn(leaf);
 		}
 	}
 	
@@ -363,173 +224,238 @@ public class BossUtil extends J2hObject
 	 */
 	public static void mapleImplosion(final IPosition pos, final int amount, final float radius, final float maxSize, final float minSize)
 	{
-		final TextureRegion leaf;
-		final TextureRegion leafWhite;
+		for(int i = 0; i < amount; i++)
+		{
+			float angle = (float) (MathUtil.random() * 360);
+			
+			MapleLeaf leaf = MapleLeaf.POOL.acquire();
+			
+			leaf.implode(pos, (float) Math.toRadians(angle), radius, maxSize, minSize);
+			
+			Game.getGame().spawn(leaf);
+		}
+	}
+	
+	/**
+	 * Single leaf of {@link BossUtil#mapleExplosion(IPosition, int, float, float, float)} and {@link BossUtil#mapleImplosion(IPosition, int, float, float, float)}.
+	 * These come by the dozen every explosion, so they're pooled, and share one texture.
+	 */
+	public static class MapleLeaf extends StageObject
+	{
+		public static final ObjectPool<MapleLeaf> POOL = new ObjectPool<MapleLeaf>(MapleLeaf.class, 512)
+		{
+			@Override
+			protected MapleLeaf newObject()
+			{
+				return new MapleLeaf();
+			}
+		};
 		
-		final Texture sprite = Loader.texture(Gdx.files.internal("sprites/explosion_maple.png"));
-
-		leaf = new TextureRegion(sprite, 0, 0, 64, 64);
-		leafWhite = new TextureRegion(sprite, 64, 0, 64, 64);
+		private static TextureRegion LEAF = null;
+		private static TextureRegion LEAF_WHITE = null;
 		
-		final ArrayList<StageObject> objects = new ArrayList<StageObject>();
-
-		for(int i = 0; i < amount; i++)
+		private boolean implosion;
+		private IPosition pos;
+		private float spread;
+		private float radius;
+		private float rotationRad;
+		private float maxSize;
+		private float minSize;
+		
+		private float directionX;
+		private float directionY;
+		private float scale;
+		private float scaleX;
+		private float scaleY;
+		private float alpha;
+		private float rotation;
+		private float yRotation;
+		
+		public MapleLeaf()
 		{
-			float angle = (float) (Math.random() * 360);
-			final float rotationRad = (float) Math.toRadians(angle);
+			super(0, 0);
 			
-			Game.getGame().spawn(new StageObject(pos.getX(), pos.getY())
+			if(LEAF == null)
 			{
-				{
-					objects.add(this);
-					
-					setName("Maple Explosion");
-				}
-
-				{
-					this.setZIndex(99999);
-				}
+				Texture sprite = Loader.texture(Gdx.files.internal("sprites/explosion_maple.png"));
 				
-				@Override
-				public void onDelete()
+				LEAF = new TextureRegion(sprite, 0, 0, 64, 64);
+				LEAF_WHITE = new TextureRegion(sprite, 64, 0, 64, 64);
+			}
+			
+			reset();
+		}
+		
+		/**
+		 * Flies outwards from the position.
+		 */
+		public void explode(IPosition pos, float spread, float maxSize, float minSize)
+		{
+			this.implosion = false;
+			this.pos = pos;
+			this.spread = spread;
+			this.maxSize = maxSize;
+			this.minSize = minSize;
+			
+			setX(pos.getX());
+			setY(pos.getY());
+		}
+		
+		/**
+		 * Starts somewhere on the radius, and flies towards the position.
+		 */
+		public void implode(IPosition pos, float rotationRad, float radius, float maxSize, float minSize)
+		{
+			this.implosion = true;
+			this.pos = pos;
+			this.rotationRad = rotationRad;
+			this.radius = radius;
+			this.maxSize = maxSize;
+			this.minSize = minSize;
+			
+			setX(pos.getX());
+			setY(pos.getY());
+		}
+		
+		@Override
+		protected void reset()
+		{
+			super.reset();
+			
+			pos = null;
+			directionX = 0;
+			directionY = 0;
+			scale = 0f;
+			scaleX = 3F;
+			scaleY = 3F;
+			alpha = 0.5F;
+			rotation = 0F;
+			yRotation = (float) (360 * MathUtil.random());
+			
+			setName("Maple Explosion");
+			setZIndex(99999);
+		}
+		
+		@Override
+		public void onUpdate(long tick)
+		{
+			if(alpha <= 0)
+				Game.getGame().delete(this);
+
+			yRotation += 4f * MathUtil.random();
+
+			if(directionX == 0 || directionY == 0)
+			{
+				scale = minSize;
+
+				if(implosion)
 				{
-					super.onDelete();
+					scale += (MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * (maxSize - minSize);
 					
-					boolean canDispose = true;
+					setX((float) (pos.getX() + Math.cos(rotationRad) * (radius * MathUtil.random())));
+					setY((float) (pos.getY() + Math.sin(rotationRad) * (radius * MathUtil.random())));
 					
-					for(StageObject obj : objects)
-					{
-						if(obj == this)
-							continue;
-						
-						if(obj.isOnStage())
-						{
-							canDispose = false;
-							break;
-						}
-					}
+					float distance = MathUtil.getDistance(this, pos);
+
+					float x = (pos.getX() - getX()) / distance * 1.8F;
+					float y = (pos.getY() - getY()) / distance * 1.8F;
 					
-					if(canDispose)
-						sprite.dispose();
-				};
-
-				TextureRegion textureBack = new TextureRegion(leafWhite);
-				TextureRegion textureFront =  new TextureRegion(leaf);
-				float directionX = 0;
-				float directionY = 0;
-				float scale = 0f;
-				float scaleX = 3F;
-				float scaleY = 3F;
-				float alpha = 0.5F;
-				float rotation = 0F;
-
-				float yRotation = (float) (360 * Math.random());
+					x *= 6f;
+					y *= 6f;
 
-				@Override
-				public void onUpdate(long tick)
+					directionX = x;
+					directionY = y;
+				}
+				else
 				{
-					if(alpha <= 0)
-						Game.getGame().delete(this);
-
-					yRotation += 4f * Math.random();
-
-					if(directionX == 0 || directionY == 0)
-					{
-						scale = minSize;
-
-						scale += (Math.random() > 0.5 ? -Math.random() : Math.random()) * (maxSize - minSize);
-						
-						setX((float) (pos.getX() + Math.cos(rotationRad) * (radius * Math.random())));
-						setY((float) (pos.getY() + Math.sin(rotationRad) * (radius * Math.random())));
-						
-						float distance = MathUtil.getDistance(this, pos);
+					directionX = (float) ((MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * spread);
+					directionY = (float) ((MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * spread);
 
-						float x = (pos.getX() - getX()) / distance * 1.8F;
-						float y = (pos.getY() - getY()) / distance * 1.8F;
-						
-						x *= 6f;
-						y *= 6f;
+					scale += (MathUtil.random() > 0.5 ? -MathUtil.random() : MathUtil.random()) * (maxSize - minSize);
 
-						directionX = x;
-						directionY = y;
-					}
-					
-					if(MathUtil.getDistance(this, pos) < 20)
-					{
-						directionX *= 0.01f;
-						directionY *= 0.01f;
-						
-						alpha -= 0.1F;
-					}
+					directionX *= scale;
+					directionY *= scale;
+				}
+			}
+			
+			if(implosion && MathUtil.getDistance(this, pos) < 20)
+			{
+				directionX *= 0.01f;
+				directionY *= 0.01f;
+				
+				alpha -= 0.1F;
+			}
 
-					float rad = (float) Math.toRadians(yRotation);
+			float rad = (float) Math.toRadians(yRotation);
 
-					scaleX = (float) (scale * Math.cos(rad));
-					scaleY = (float) (scale * Math.sin(rad));
+			scaleX = (float) (scale * Math.cos(rad));
+			scaleY = (float) (scale * Math.sin(rad));
 
-					if(getTicksAlive() > 50)
-					{
-						alpha -= 0.03F;
-					}
+			if(getTicksAlive() > 50)
+			{
+				alpha -= 0.03F;
+			}
 
-					rotation += 5F + 8F * Math.random();
+			rotation += 5F + 8F * MathUtil.random();
 
-					setX(getX() + directionX);
-					setY(getY() + directionY);
-				}
+			setX(getX() + directionX);
+			setY(getY() + directionY);
+		}
 
-				@Override
-				public float getWidth()
-				{
-					return 0;
-				}
+		@Override
+		public float getWidth()
+		{
+			return 0;
+		}
 
-				@Override
-				public float getHeight()
-				{
-					return 0;
-				}
+		@Override
+		public float getHeight()
+		{
+			return 0;
+		}
 
-				@Override
-				public void setX(float x)
-				{
-					this.x = x;
-				}
+		@Override
+		public void setX(float x)
+		{
+			this.x = x;
+		}
 
-				@Override
-				public void setY(float y)
-				{
-					this.y = y;
-				}
+		@Override
+		public void setY(float y)
+		{
+			this.y = y;
+		}
 
-				@Override
-				public void onDraw()
-				{
-					Sprite textureBack;
-					Sprite textureFront;
-
-					textureBack = new Sprite(new TextureRegion(this.textureBack));
-					textureFront = new Sprite(new TextureRegion(this.textureFront));
-
-					textureFront.setRotation(rotation);
-					textureFront.setAlpha(Math.max(alpha, 0F));
-					textureFront.setScale(scaleX, scaleY);
-					textureFront.setPosition(getX() - textureBack.getWidth() / 2, getY() - textureBack.getHeight() / 2);
-					textureFront.draw(Game.getGame().batch);
-
-					textureBack.setRotation(rotation);
-					textureBack.setAlpha(Math.max(alpha - 0.1F, 0F));
-					textureBack.setScale(scaleX, scaleY);
-					textureBack.setPosition(getX() - textureBack.getWidth() / 2, getY() - textureBack.getHeight() / 2);
-					textureBack.draw(Game.getGame().batch);
-				}
+		@Override
+		public void onDraw()
+		{
+			Batch batch = Game.getGame().batch;
+			
+			float width = LEAF.getRegionWidth();
+			float height = LEAF.getRegionHeight();
+			
+			float oldColor = batch.getPackedColor();
+			
+			batch.setColor(1f, 1f, 1f, Math.max(alpha, 0F));
+			batch.draw(LEAF, getX() - width / 2, getY() - height / 2, width / 2, height / 2, width, height, scaleX, scaleY, rotation);
+			
+			batch.setColor(1f, 1f, 1f, Math.max(alpha - 0.1F, 0F));
+			batch.draw(LEAF_WHITE, getX() - width / 2, getY() - height / 2, width / 2, height / 2, width, height, scaleX, scaleY, rotation);
+			
+			batch.setColor(oldColor);
+		}
+		
+		@Override
+		public void onDelete()
+		{
+			// The texture is shared by all leafs.
+			release();
+		}
 
-				@Override
-				public boolean isPersistant()
-				{
-					return true;
-				}
-			});
+		@Override
+		public boolean isPersistant()
+		{
+			return true;
 		}
 	}
 	
@@ -689,10 +615,10 @@ public class BossUtil extends J2hObject
 					
 					Animation aura = AnimationUtil.copyAnimation(ba.aura);
 					
-					float xMod = Math.random() > 0.5 ? -1 : 1;
-					float yMod = Math.random() > 0.5 ? -1 : 1;
-					float x = (float) (xMod * 150 * Math.cos(Math.toRadians(Math.random() * 360)));
-					float y = (float) (yMod * 150 * Math.sin(Math.toRadians(Math.random() * 360)));
+					float xMod = MathUtil.random() > 0.5 ? -1 : 1;
+					float yMod = MathUtil.random() > 0.5 ? -1 : 1;
+					float x = (float) (xMod * 150 * Math.cos(Math.toRadians(MathUtil.random() * 360)));
+					float y = (float) (yMod * 150 * Math.sin(Math.toRadians(MathUtil.random() * 360)));
 					
 					float velX = 0;
 					float velY = 0;
@@ -740,16 +666,16 @@ public class BossUtil extends J2hObject
 					
 					Sprite leak = new Sprite(energyLeak);
 					
-					float x = (float) (-leak.getWidth() / 2 + (Math.random() > 0.5 ? -1 : 1) * (Math.random() * 5));
-					float y = (float) (-leak.getHeight() / 2 + (Math.random() > 0.5 ? -1 : 1) * (Math.random() * 5));
+					float x = (float) (-leak.getWidth() / 2 + (MathUtil.random() > 0.5 ? -1 : 1) * (MathUtil.random() * 5));
+					float y = (float) (-leak.getHeight() / 2 + (MathUtil.random() > 0.5 ? -1 : 1) * (MathUtil.random() * 5));
 					
 					float height = 0f;
-					float heightIncrease = (float)(0.1f + 0.01f * Math.random());
+					float heightIncrease = (float)(0.1f + 0.01f * MathUtil.random());
 					
 					{
 						leak.setPosition(boss.getX() + x, boss.getY() + y);
 						leak.setOrigin(leak.getOriginX(), 0);
-						leak.setScale((float) (2f + Math.random() * 1), 0);
+						leak.setScale((float) (2f + MathUtil.random() * 1), 0);
 						leak.setAlpha(0.4f);
 					}
 					
@@ -1324,8 +1250,8 @@ public class BossUtil extends J2hObject
 
 			float rad = (float) Math.toRadians(angleOffset);
 
-			float offsetVertical = (float) (verticalSpread * ((Math.random() - 0.5f) * 2f));
-			float offsetHorizontal = (float) (horizontalSpread * ((Math.random() - 0.5f) * 2f));
+			float offsetVertical = (float) (verticalSpread * ((MathUtil.random() - 0.5f) * 2f));
+			float offsetHorizontal = (float) (horizontalSpread * ((MathUtil.random() - 0.5f) * 2f));
 
 			Position pos = new Position(start);
 
@@ -1333,10 +1259,10 @@ public class BossUtil extends J2hObject
 			pos.setY((float) (pos.getY() + Math.sin(rad) * offsetVertical));
 
 			Cloud cloud = new Cloud(pos.getX(), pos.getY(), to, startAngle, clockWise);
-			cloud.setSpeed((float) (10f + 5f * Math.random()));
+			cloud.setSpeed((float) (10f + 5f * MathUtil.random()));
 			cloud.getCurrentSprite().setColor(Color.BLACK.cpy());
 
-			boolean firstBefore = Math.random() > 0.5f;
+			boolean firstBefore = MathUtil.random() > 0.5f;
 
 			int first = zIndexTo - 11;
 			int second = zIndexTo - 12;
@@ -1347,15 +1273,15 @@ public class BossUtil extends J2hObject
 
 			pos = new Position(start);
 
-			offsetVertical = (float) (verticalSpread * ((Math.random() - 0.5f) * 2f));
-			offsetHorizontal = (float) (horizontalSpread * ((Math.random() - 0.5f) * 2f));
+			offsetVertical = (float) (verticalSpread * ((MathUtil.random() - 0.5f) * 2f));
+			offsetHorizontal = (float) (horizontalSpread * ((MathUtil.random() - 0.5f) * 2f));
 
 			pos.setX((float) (pos.getX() + Math.cos(rad) * offsetHorizontal));
 			pos.setY((float) (pos.getY() + Math.sin(rad) * offsetVertical));
 
 			cloud = new Cloud(pos.getX(), pos.getY(), to, startAngle, clockWise);
-			cloud.setSpeed((float) (10f + 5f * Math.random()));
-			cloud.getCurrentSprite().setColor(Math.random() > 0.5f ? color1 : color2);
+			cloud.setSpeed((float) (10f + 5f * MathUtil.random()));
+			cloud.getCurrentSprite().setColor(MathUtil.random() > 0.5f ? color1 : color2);
 
 			cloud.setZIndex(firstBefore ? second : first);
 
@@ -1447,8 +1373,8 @@ public class BossUtil extends J2hObject
 	{
 		public static CloudOld rotateTo(StageObject object, Sprite texture, float distance, float degree)
 		{
-			float beginX = (float) (object.getX() + (Math.random() < 0.5 ? -1 : 1) * (Math.random() * 60) + (float) Math.sin(Math.toRadians(degree)) * distance);
-			float beginY = (float) (object.getY() + (Math.random() < 0.5 ? -1 : 1) * (Math.random() * 200) + (float) Math.cos(Math.toRadians(degree)) * distance);
+			float beginX = (float) (object.getX() + (MathUtil.random() < 0.5 ? -1 : 1) * (MathUtil.random() * 60) + (float) Math.sin(Math.toRadians(degree)) * distance);
+			float beginY = (float) (object.getY() + (MathUtil.random() < 0.5 ? -1 : 1) * (MathUtil.random() * 200) + (float) Math.cos(Math.toRadians(degree)) * distance);
 			
 			boolean disposeTexture = false;
 			
@@ -1459,7 +1385,7 @@ public class BossUtil extends J2hObject
 				disposeTexture = true;
 			}
 			
-			texture.setRotation((float) (Math.random() * 360f));
+			texture.setRotation((float) (MathUtil.random() * 360f));
 			
 			CloudOld cloud = new CloudOld(texture, distance, degree, object.getX(), object.getY(), beginX, beginY);
 			
@@ -1603,7 +1529,7 @@ public class BossUtil extends J2hObject
 					scale += SCALE_INCREASE;
 			}
 			
-			sprite.setRotation((float) (Math.atan2(velY, velX) * (180 / Math.PI) + Math.random() * 20F));
+			sprite.setRotation((float) (Math.atan2(velY, velX) * (180 / Math.PI) + MathUtil.random() * 20F));
 		}
 		
 		public void setValues(float startRotation, float endRotation, float rotateSpeed, Color color)
@@ -1655,7 +1581,7 @@ public class BossUtil extends J2hObject
 			
 			HitboxSprite sprite = new HitboxSprite(new Sprite(texture, 0, 0, 46, 46));
 
-			sprite.setRotation((float) (Math.random() * 360f));
+			sprite.setRotation((float) (MathUtil.random() * 360f));
 			
 			setBullet(new Animation(1f, sprite));
 			
@@ -1664,7 +1590,7 @@ public class BossUtil extends J2hObject
 			this.startAngle = startAngle;
 			angle = MathUtil.getAngle(x, y, pos.getX(), pos.getY()) - startAngle;
 			
-			setScale((float) (0.3f + 0.7f * Math.random()));
+			setScale((float) (0.3f + 0.7f * MathUtil.random()));
 			
 			useDeathAnimation(false);
 			
@@ -4,8 +4,6 @@ import java2hu.object.StageObject;
 import java2hu.object.player.Player;
 import java2hu.overwrite.J2hObject;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Input.Keys;
 
 /**
@@ -15,13 +13,11 @@ public class InputUtil extends J2hObject
 {
 	public static void handleMovementArrowKeys(StageObject object, float speed, float shiftSpeed)
 	{
-		Input i = Gdx.input;
-		
-		boolean shift = i.isKeyPressed(Keys.SHIFT_LEFT) || i.isKeyPressed(Keys.SHIFT_RIGHT);
-		boolean up = i.isKeyPressed(Keys.UP);
-		boolean down = i.isKeyPressed(Keys.DOWN);
-		boolean left = i.isKeyPressed(Keys.LEFT);
-		boolean right = i.isKeyPressed(Keys.RIGHT);
+		boolean shift = game.isKeyPressed(Keys.SHIFT_LEFT) || game.isKeyPressed(Keys.SHIFT_RIGHT);
+		boolean up = game.isKeyPressed(Keys.UP);
+		boolean down = game.isKeyPressed(Keys.DOWN);
+		boolean left = game.isKeyPressed(Keys.LEFT);
+		boolean right = game.isKeyPressed(Keys.RIGHT);
 
 		if(shift)
 			speed = shiftSpeed;
@@ -55,9 +51,7 @@ public class InputUtil extends J2hObject
 	
 	public static void handleMovementArrowKeys(Player player, float speed, float shiftSpeed)
 	{
-		Input i = Gdx.input;
-		
-		boolean shift = i.isKeyPressed(Keys.SHIFT_LEFT) || i.isKeyPressed(Keys.SHIFT_RIGHT);
+		boolean shift = game.isKeyPressed(Keys.SHIFT_LEFT) || game.isKeyPressed(Keys.SHIFT_RIGHT);
 		
 		if(shift)
 		{
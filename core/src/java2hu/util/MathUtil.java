@@ -87,6 +87,18 @@ public class MathUtil extends J2hObject
 		return Math.abs(a-b);
 	}
 	
+	/**
+	 * Same as Math.random(), but from the game's random (see {@link java2hu.J2hGame#getRandom()}), so it goes the same way in a replay.
+	 * Use this for anything that changes how the game goes.
+	 */
+	public static double random()
+	{
+		if(game == null)
+			return Math.random();
+		
+		return game.getRandom().nextDouble();
+	}
+	
 	public static class SinCosTable
 	{
 		public int precision; // gradations per degree
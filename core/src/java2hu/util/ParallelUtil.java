@@ -0,0 +1,99 @@
+package java2hu.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java2hu.overwrite.J2hObject;
+
+/**
+ * Splits loops over index ranges across the cores, on a fork join pool shared by the whole game.
+ *
+ * Only meant for work where every index only touches it's own data (like the arrays of the {@link java2hu.object.bullet.BulletStore}),
+ * anything that touches the game (spawning, deleting, callbacks) has to happen afterwards on the game thread, in index order, so the result is the same as a single threaded run.
+ */
+public class ParallelUtil extends J2hObject
+{
+	/**
+	 * Work on a range of indices, from (inclusive) to (exclusive).
+	 */
+	public static abstract class RangeTask
+	{
+		public abstract void run(int from, int to);
+	}
+
+	private static class RangeAction extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final RangeTask task;
+		private final int from;
+		private final int to;
+		private final int grain;
+
+		public RangeAction(RangeTask task, int from, int to, int grain)
+		{
+			this.task = task;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if(to - from <= grain)
+			{
+				task.run(from, to);
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+
+			invokeAll(new RangeAction(task, from, middle, grain), new RangeAction(task, middle, to, grain));
+		}
+	}
+
+	private static ForkJoinPool pool;
+	private static boolean enabled = Runtime.getRuntime().availableProcessors() > 1;
+
+	/**
+	 * The pool, created the first time it's needed. It's threads are daemons, so it never keeps the game from closing.
+	 */
+	public static synchronized ForkJoinPool getPool()
+	{
+		if(pool == null)
+			pool = new ForkJoinPool();
+
+		return pool;
+	}
+
+	/**
+	 * If false everything runs on the calling thread, to compare against (on by default if there's more than one core).
+	 */
+	public static void setEnabled(boolean enabled)
+	{
+		ParallelUtil.enabled = enabled;
+	}
+
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Runs the task over 0 - size, split in parts of at most grain indices.
+	 * Less than two parts aren't worth the hand off, and run on the calling thread. Returns when all parts are done.
+	 */
+	public static void forRange(int size, int grain, RangeTask task)
+	{
+		if(size <= 0)
+			return;
+
+		if(!enabled || size < grain * 2)
+		{
+			task.run(0, size);
+			return;
+		}
+
+		getPool().invoke(new RangeAction(task, 0, size, grain));
+	}
+}
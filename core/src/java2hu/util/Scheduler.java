@@ -5,6 +5,7 @@ import java.util.WeakHashMap;
 
 import java2hu.Game;
 import java2hu.J2hGame;
+import java2hu.TaskQueue;
 import java2hu.overwrite.J2hObject;
 
 /**
@@ -14,9 +15,9 @@ public class Scheduler extends J2hObject
 {
 	public static WeakHashMap<Object, WeakHashMap<Object, Long>> trackers = new WeakHashMap<Object, WeakHashMap<Object, Long>>();
 	
-	public static void delay(J2hGame stage, final Runnable task, int ticks)
+	public static TaskQueue.Handle delay(J2hGame stage, final Runnable task, int ticks)
 	{
-		stage.addTaskGame(task, ticks);
+		return stage.addTaskGame(task, ticks);
 	}
 	
 	/**
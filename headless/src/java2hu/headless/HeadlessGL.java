@@ -0,0 +1,122 @@
+package java2hu.headless;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * A GL20 that does nothing, for running the game without a GPU.
+ * The headless backend doesn't come with one, but the game makes sprite batches, shaders, textures and frame buffers while loading.
+ *
+ * Every call returns a default value, except for the few that libGDX checks:
+ * glGen and glCreate calls hand out new ids, shaders always compile and link, and frame buffers are always complete.
+ */
+public class HeadlessGL implements InvocationHandler
+{
+	public static GL20 create()
+	{
+		return (GL20) Proxy.newProxyInstance(HeadlessGL.class.getClassLoader(), new Class<?>[] { GL20.class }, new HeadlessGL());
+	}
+
+	private int nextId = 1;
+
+	@Override
+	public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		String name = method.getName();
+		Class<?> type = method.getReturnType();
+
+		if(method.getDeclaringClass() == Object.class)
+		{
+			if(name.equals("equals"))
+				return proxy == args[0];
+
+			if(name.equals("hashCode"))
+				return System.identityHashCode(proxy);
+
+			return "HeadlessGL";
+		}
+
+		if(name.startsWith("glGen") || name.startsWith("glCreate"))
+		{
+			// glGenTextures(int n, IntBuffer textures) and friends.
+			if(args != null && args.length == 2 && args[1] instanceof IntBuffer)
+			{
+				IntBuffer ids = (IntBuffer) args[1];
+
+				for(int i = 0; i < (Integer) args[0]; i++)
+				{
+					ids.put(ids.position() + i, nextId++);
+				}
+
+				return null;
+			}
+
+			return nextId++;
+		}
+
+		if(name.equals("glGetShaderiv") || name.equals("glGetProgramiv"))
+		{
+			int param = (Integer) args[1];
+			IntBuffer params = (IntBuffer) args[2];
+
+			boolean ok = param == GL20.GL_COMPILE_STATUS || param == GL20.GL_LINK_STATUS;
+
+			// No active attributes or uniforms, ShaderProgram looks them up one by one when they're used.
+			params.put(params.position(), ok ? 1 : 0);
+
+			return null;
+		}
+
+		if(name.equals("glGetIntegerv"))
+		{
+			IntBuffer params = (IntBuffer) args[1];
+
+			params.put(params.position(), getInteger((Integer) args[0]));
+
+			return null;
+		}
+
+		if(name.equals("glCheckFramebufferStatus"))
+			return GL20.GL_FRAMEBUFFER_COMPLETE;
+
+		if(type == String.class)
+			return "";
+
+		if(type == boolean.class)
+			return false;
+
+		if(type == int.class)
+			return 0;
+
+		if(type == float.class)
+			return 0f;
+
+		if(type == long.class)
+			return 0L;
+
+		return null;
+	}
+
+	/**
+	 * Limits that are asked for, anything else is 0.
+	 */
+	private static int getInteger(int param)
+	{
+		switch(param)
+		{
+			case GL20.GL_MAX_TEXTURE_SIZE:
+				return 8192;
+			case GL20.GL_MAX_TEXTURE_IMAGE_UNITS:
+			case GL20.GL_MAX_VERTEX_ATTRIBS:
+				return 16;
+			case GL20.GL_MAX_COMBINED_TEXTURE_IMAGE_UNITS:
+				return 32;
+			default:
+				return 0;
+		}
+	}
+}
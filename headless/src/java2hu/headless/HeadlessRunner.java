@@ -0,0 +1,557 @@
+package java2hu.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java2hu.Game;
+import java2hu.allstar.AllStarGame;
+import java2hu.allstar.AllStarStageScheme;
+import java2hu.allstar.Days;
+import java2hu.allstar.Days.CharacterData;
+import java2hu.allstar.enemies.AllStarBoss;
+import java2hu.gameflow.GameFlowScheme;
+import java2hu.gameflow.SpecialFlowScheme;
+import java2hu.replay.Replay;
+import java2hu.spellcard.Spellcard;
+import java2hu.system.SaveableObject;
+import java2hu.util.Getter;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Runs a boss fight (or a single spell card of a boss) without a screen or GPU, as fast as the logic can go.
+ * Nothing is drawn, every tick (logic and a tick of movement, see {@link java2hu.J2hGame#step()}) is ran right after the other, so a run of the same fight always goes through the same ticks no matter how fast the machine is.
+ * Prints the ticks per second, the amount of bullets and objects on the stage and how much is allocated every so often, and a summary at the end.
+ *
+ * Arguments:
+ * --day N, --boss NAME: The fight to run, as registered in {@link Days} (without --boss the characters of the day are listed).
+ * --spellcard CLASS: Only run this spell card (binary class name, like java2hu.allstar.enemies.day1.Cirno$Spell) with the boss as it's owner.
+ * --ticks N: Amount of logic ticks to run at most, 6000 (100 seconds of game time) by default. The run also stops once the fight is over.
+ * --report N: Print the statistics every N ticks, 600 by default.
+ * --cards FILE: Append the metrics of every spell card that ran to this CSV file (see {@link java2hu.spellcard.SpellcardMetrics}), for ranking them by cost.
+ * --seed N: Seed of the game's random, a run with the same seed goes the same way every time. Random by default.
+ * --record FILE: Save the run as a replay (see {@link Replay}), it has no input but keeps the seed and the fight.
+ * --replay FILE: Play back a replay of a spell practice (recorded in the game, or with --record), the fight and seed come from the replay.
+ *   Runs until the replay is over, or --ticks.
+ *
+ * Run it with the core assets as working directory, and the allstar assets on the classpath (the gradle run task does this).
+ */
+public class HeadlessRunner extends AllStarGame
+{
+	public static void main(String[] args)
+	{
+		HeadlessRunner runner = new HeadlessRunner();
+
+		for(int i = 0; i < args.length; i++)
+		{
+			String arg = args[i];
+
+			if(i + 1 >= args.length)
+			{
+				System.out.println("Missing value for " + arg);
+				System.exit(1);
+			}
+
+			String value = args[++i];
+
+			if(arg.equals("--day"))
+				runner.day = Integer.parseInt(value);
+			else if(arg.equals("--boss"))
+				runner.boss = value;
+			else if(arg.equals("--spellcard"))
+				runner.spellcard = value;
+			else if(arg.equals("--ticks"))
+				runner.maxTicks = Long.parseLong(value);
+			else if(arg.equals("--report"))
+				runner.reportInterval = Long.parseLong(value);
+			else if(arg.equals("--cards"))
+				runner.cardReport = value;
+			else if(arg.equals("--seed"))
+				runner.seed = Long.parseLong(value);
+			else if(arg.equals("--record"))
+				runner.recordFile = value;
+			else if(arg.equals("--replay"))
+				runner.loadReplay(value);
+			else
+			{
+				System.out.println("Unknown argument " + arg);
+				System.exit(1);
+			}
+		}
+
+		// The headless backend has no GL at all, but loading the game makes textures, shaders and the like.
+		Gdx.gl = Gdx.gl20 = HeadlessGL.create();
+
+		new HeadlessApplication(runner, new HeadlessApplicationConfiguration());
+	}
+
+	private static final long LOAD_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
+	/**
+	 * How often (in ticks) the render queue is cleaned up, since nothing draws.
+	 */
+	private static final int SKIP_DRAW_INTERVAL = 60;
+
+	private int day = 1;
+	private String boss;
+	private String spellcard;
+	private static final long DEFAULT_TICKS = 6000;
+
+	private long maxTicks = DEFAULT_TICKS;
+	private long reportInterval = 600;
+	private String cardReport;
+	private long seed = System.nanoTime();
+	private String recordFile;
+	private Replay replay;
+
+	private volatile boolean loaded = false;
+
+	private void loadReplay(String file)
+	{
+		try
+		{
+			replay = Replay.load(new FileHandle(new File(file)));
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			System.exit(1);
+		}
+
+		if(replay.getScenario("day") == null || replay.getScenario("boss") == null)
+		{
+			System.out.println(file + " isn't a replay of a fight: " + replay.getScenario());
+			System.exit(1);
+		}
+
+		day = Integer.parseInt(replay.getScenario("day"));
+		boss = replay.getScenario("boss");
+		spellcard = replay.getScenario("spellcard");
+
+		if(maxTicks == DEFAULT_TICKS)
+			maxTicks = Long.MAX_VALUE;
+
+		System.out.println("Playing " + replay);
+	}
+
+	public HeadlessRunner()
+	{
+		super(1920, 1080);
+	}
+
+	/**
+	 * Everything is done in here, on the application thread, the render loop of the backend never gets to run.
+	 */
+	@Override
+	public void create()
+	{
+		super.create();
+
+		int exitCode = 1;
+
+		try
+		{
+			waitForLoading();
+
+			CharacterData data = findCharacter();
+
+			if(data != null)
+			{
+				GameFlowScheme scheme = getScheme(data);
+
+				setPaused(false);
+				setOutOfGame(false);
+
+				setScheme(scheme);
+
+				if(replay != null)
+				{
+					startPlayback(replay);
+				}
+				else if(recordFile != null)
+				{
+					Replay recording = new Replay(seed);
+					recording.setScenario("day", "" + day);
+					recording.setScenario("boss", data.name);
+
+					if(spellcard != null)
+						recording.setScenario("spellcard", spellcard);
+
+					startRecording(recording);
+				}
+				else
+				{
+					setSeed(seed);
+				}
+
+				scheme.start();
+
+				run(scheme);
+
+				exitCode = 0;
+			}
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+		}
+
+		System.exit(exitCode);
+	}
+
+	@Override
+	public void onLoadStart()
+	{
+		// No loading screen.
+	}
+
+	@Override
+	public void onLoadFinished()
+	{
+		// No main menu either.
+		loaded = true;
+	}
+
+	private void waitForLoading() throws InterruptedException
+	{
+		long start = System.currentTimeMillis();
+
+		// The startup loader finishes through a task, so the tickers have to keep going.
+		while(!loaded)
+		{
+			if(System.currentTimeMillis() - start > LOAD_TIMEOUT_MILLIS)
+				throw new IllegalStateException("Loading took longer than " + LOAD_TIMEOUT_MILLIS / 1000 + " seconds.");
+
+			stepLogic();
+			Thread.sleep(1);
+		}
+
+		System.out.println("Loaded in " + (System.currentTimeMillis() - start) + "ms.");
+	}
+
+	private CharacterData findCharacter()
+	{
+		ArrayList<CharacterData> datas = Days.getDay(day);
+
+		if(boss != null)
+		{
+			for(CharacterData data : datas)
+			{
+				if(data.name.equalsIgnoreCase(boss))
+					return data;
+			}
+
+			System.out.println("No character called " + boss + " on day " + day + ".");
+		}
+
+		System.out.println("Characters on day " + day + ":");
+
+		for(CharacterData data : datas)
+		{
+			System.out.println(" " + data.name + (data.specialGetter != null ? " (special)" : ""));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Same as spell practice, but without the background, which needs a screen to be of any use.
+	 */
+	private GameFlowScheme getScheme(final CharacterData data) throws Exception
+	{
+		if(data.specialGetter != null)
+		{
+			if(spellcard != null)
+				throw new IllegalArgumentException(data.name + " is a special fight, it doesn't have spell cards to run on their own.");
+
+			return new AllStarStageScheme(0)
+			{
+				@Override
+				public void runScheme()
+				{
+					loadBossAura();
+					spawnPlayer();
+
+					SpecialFlowScheme<AllStarStageScheme> special = create(this, data.specialGetter, data.environment.getSpawnAnimationDelay());
+
+					special.executeFight(this);
+				}
+			};
+		}
+
+		final Constructor<? extends Spellcard> constructor = spellcard != null ? getSpellcardConstructor(Class.forName(spellcard)) : null;
+
+		return new AllStarStageScheme(0)
+		{
+			@Override
+			public void runScheme()
+			{
+				loadBossAura();
+				spawnPlayer();
+
+				final AllStarBoss boss = create(this, new Getter<AllStarBoss>()
+				{
+					@Override
+					public AllStarBoss get()
+					{
+						AllStarBoss boss = data.bossGetter.get();
+						setPC98(boss.isPC98());
+
+						return boss;
+					}
+				}, data.environment.getSpawnAnimationDelay());
+
+				if(constructor == null)
+				{
+					if(boss.isPC98())
+						waitTicks(20);
+
+					boss.executeFight(this);
+					return;
+				}
+
+				Game.getGame().addTaskGame(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						Game.getGame().spawn(boss);
+						boss.healUp();
+
+						try
+						{
+							Game.getGame().startSpellCard(constructor.newInstance(boss));
+						}
+						catch(Exception e)
+						{
+							e.printStackTrace();
+							Game.getGame().delete(boss);
+						}
+					}
+				}, 1);
+
+				waitTicks(2);
+
+				// The spell card is done once the boss is gone.
+				wait(new WaitConditioner()
+				{
+					@Override
+					public boolean returnTrueToWait()
+					{
+						return boss.isOnStage();
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Runs the getter on the game thread (bosses make their textures in their constructor) and waits for it.
+	 * Waits the same amount of ticks as spell practice does with it's background, so replays of it line up.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T create(GameFlowScheme scheme, final Getter<?> getter, final int delay)
+	{
+		final SaveableObject<Object> save = new SaveableObject<Object>();
+
+		Game.getGame().addTaskGame(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				Game.getGame().addTaskGame(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						save.setObject(getter.get());
+					}
+				}, delay);
+			}
+		}, 1);
+
+		scheme.setWait(new GameFlowScheme.WaitConditioner()
+		{
+			@Override
+			public boolean returnTrueToWait()
+			{
+				return save.getObject() == null;
+			}
+		});
+
+		scheme.doWait();
+
+		return (T) save.getObject();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Constructor<? extends Spellcard> getSpellcardConstructor(Class<?> clazz)
+	{
+		if(!Spellcard.class.isAssignableFrom(clazz))
+			throw new IllegalArgumentException(clazz.getName() + " is not a spell card.");
+
+		for(Constructor<?> constructor : clazz.getConstructors())
+		{
+			Class<?>[] parameters = constructor.getParameterTypes();
+
+			if(parameters.length == 1 && AllStarBoss.class.isAssignableFrom(parameters[0]))
+				return (Constructor<? extends Spellcard>) constructor;
+		}
+
+		throw new IllegalArgumentException(clazz.getName() + " has no public constructor that only takes the boss.");
+	}
+
+	/**
+	 * Runs the logic until the scheme is done or the maximum amount of ticks is reached, printing the statistics on the way.
+	 */
+	private void run(GameFlowScheme scheme)
+	{
+		System.out.println("Running " + (spellcard != null ? spellcard : boss) + " for at most " + maxTicks + " ticks.");
+
+		if(cardReport != null)
+			setSpellcardReport(Gdx.files.absolute(new File(cardReport).getAbsolutePath()));
+
+		long startTime = System.nanoTime();
+		long startAllocated = getAllocatedBytes();
+		long startGcCount = getGcCount();
+		long startGcTime = getGcTime();
+
+		long lastTime = startTime;
+		long lastAllocated = startAllocated;
+		long lastTicks = 0;
+
+		int maxBullets = 0;
+		long ticks = 0;
+
+		while(ticks < maxTicks && scheme.isAlive() && (replay == null || isPlayingBack()))
+		{
+			// Logic and movement, exactly a tick long.
+			step();
+
+			ticks++;
+
+			if(ticks % SKIP_DRAW_INTERVAL == 0)
+				getRenderQueue().skipDraw();
+
+			maxBullets = Math.max(maxBullets, getBullets().size());
+
+			if(ticks % reportInterval == 0)
+			{
+				long time = System.nanoTime();
+				long allocated = getAllocatedBytes();
+
+				report(ticks, ticks - lastTicks, time - lastTime, allocated - lastAllocated);
+
+				lastTime = time;
+				lastAllocated = allocated;
+				lastTicks = ticks;
+			}
+		}
+
+		long time = System.nanoTime() - startTime;
+		long allocated = getAllocatedBytes() - startAllocated;
+
+		System.out.println((scheme.isAlive() ? "Stopped" : "Finished") + " after " + ticks + " ticks:");
+		System.out.println(" " + String.format("%.1f", ticks / (time / 1000000000d)) + " ticks/s on average (" + time / 1000000 + "ms)");
+		System.out.println(" " + maxBullets + " bullets at most, " + getBullets().size() + " at the end");
+		System.out.println(" " + formatBytes(allocated) + " allocated, " + formatBytes(ticks > 0 ? allocated / ticks : 0) + " per tick");
+		System.out.println(" " + (getGcCount() - startGcCount) + " garbage collections, " + (getGcTime() - startGcTime) + "ms");
+
+		// Cards still running when the ticks ran out get reported too.
+		for(Spellcard card : new ArrayList<Spellcard>(getSpellcards()))
+		{
+			stopSpellCard(card);
+			System.out.println(" " + card.getMetrics());
+		}
+
+		Replay recording = stopRecording();
+
+		if(recording != null)
+		{
+			try
+			{
+				recording.save(new FileHandle(new File(recordFile)));
+				System.out.println("Saved " + recording + " to " + recordFile);
+			}
+			catch(IOException e)
+			{
+				e.printStackTrace();
+			}
+		}
+
+		scheme.stopScheme();
+	}
+
+	private void report(long tick, long ticks, long nanos, long allocated)
+	{
+		double seconds = nanos / 1000000000d;
+
+		System.out.println("Tick " + tick + ": " + String.format("%.1f", ticks / seconds) + " ticks/s, "
+				+ getBullets().size() + " bullets, " + getStageObjects().size() + " objects, "
+				+ formatBytes((long) (allocated / seconds)) + "/s allocated");
+	}
+
+	/**
+	 * Bytes allocated by all running threads so far (the game thread, the scheme, the music thread...), -1 if the JVM can't tell.
+	 */
+	private static long getAllocatedBytes()
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		if(!(bean instanceof com.sun.management.ThreadMXBean))
+			return -1;
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+
+		long total = 0;
+
+		for(long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+		{
+			if(bytes > 0)
+				total += bytes;
+		}
+
+		return total;
+	}
+
+	private static long getGcCount()
+	{
+		long count = 0;
+
+		for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			count += Math.max(0, bean.getCollectionCount());
+		}
+
+		return count;
+	}
+
+	private static long getGcTime()
+	{
+		long time = 0;
+
+		for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			time += Math.max(0, bean.getCollectionTime());
+		}
+
+		return time;
+	}
+
+	private static String formatBytes(long bytes)
+	{
+		if(bytes < 0)
+			return "?";
+
+		if(bytes < 1024 * 1024)
+			return String.format("%.1fKB", bytes / 1024d);
+
+		return String.format("%.1fMB", bytes / (1024d * 1024d));
+	}
+}
@@ -0,0 +1,104 @@
+package java2hu.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of all methods with the @LoadOnStartup annotation (java2hu.StartLoader.LoadOnStartup) while compiling.
+ * The StartLoader reads this index at startup, instead of scanning the whole classpath for the annotation.
+ *
+ * The index is a resource (see {@link #INDEX}) with one method per line: the binary name of the class, a # and the method name.
+ * Every project that's compiled with this processor gets it's own index, the StartLoader reads all of them.
+ */
+public class LoadOnStartupProcessor extends AbstractProcessor
+{
+	public static final String ANNOTATION = "java2hu.StartLoader.LoadOnStartup";
+	public static final String INDEX = "META-INF/java2hu/load-on-startup.index";
+
+	private ArrayList<String> methods = new ArrayList<String>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes()
+	{
+		return Collections.singleton(ANNOTATION);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round)
+	{
+		for(TypeElement annotation : annotations)
+		{
+			for(Element element : round.getElementsAnnotatedWith(annotation))
+			{
+				if(element.getKind() != ElementKind.METHOD)
+					continue;
+
+				ExecutableElement method = (ExecutableElement) element;
+
+				// Same checks the StartLoader does, but while compiling.
+				if(!method.getModifiers().contains(Modifier.STATIC))
+				{
+					processingEnv.getMessager().printMessage(Kind.WARNING, "Method " + method + " is not static and contains LoadOnStartup annotation, it won't be loaded.", method);
+					continue;
+				}
+
+				if(!method.getParameters().isEmpty())
+				{
+					processingEnv.getMessager().printMessage(Kind.WARNING, "Method " + method + " has arguments and contains LoadOnStartup annotation, it won't be loaded.", method);
+					continue;
+				}
+
+				TypeElement type = (TypeElement) method.getEnclosingElement();
+
+				methods.add(processingEnv.getElementUtils().getBinaryName(type) + "#" + method.getSimpleName());
+			}
+		}
+
+		if(round.processingOver())
+			writeIndex();
+
+		return false;
+	}
+
+	private void writeIndex()
+	{
+		try
+		{
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+
+			try(Writer writer = file.openWriter())
+			{
+				for(String method : methods)
+				{
+					writer.write(method);
+					writer.write('\n');
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Couldn't write " + INDEX + ": " + e);
+		}
+	}
+}